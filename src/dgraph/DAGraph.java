@@ -11,11 +11,12 @@ package dgraph;
  * it under the terms of CeCILL-B license.
  */
 
-import java.util.ArrayList;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.Set;
 
+import utils.BitSetUtils;
+
 /**
  * This class extends the representation of a directed graph given by class
  * {@link DGraph} for directed acyclic graph (DAG).
@@ -122,9 +123,7 @@ public class DAGraph extends DGraph {
      * @return  the set of majorants
      */
     public TreeSet<Node> majorants(final Node node) {
-        DAGraph graph = new DAGraph(this);
-        graph.transitiveClosure();
-        return graph.getSuccessorNodes(node);
+        return this.freeze().majorants(node);
     }
 
     /**
@@ -137,9 +136,7 @@ public class DAGraph extends DGraph {
      * @return  the set of minorants
      */
     public TreeSet<Node> minorants(final Node node) {
-        DAGraph graph = new DAGraph(this);
-        graph.transitiveClosure();
-        return graph.getPredecessorNodes(node);
+        return this.freeze().minorants(node);
     }
 
     /**
@@ -195,65 +192,32 @@ public class DAGraph extends DGraph {
      *
      * The transitive reduction is not uniquely defined only when the acyclic property
      * is verified. In this case, it corresponds to the Hasse diagram of the DAG.
+     * Otherwise, all the edges are removed.
      *
-     * This method is an implementation of the Goralcikova-Koubeck
-     * algorithm that can also compute the transitive closure.
-     * This tratment is performed in O(n+nm_r+nm_c),
-     * where n corresponds to the number of nodes,
-     * m_r to the numer of edges in the transitive closure,
-     * and m_r the number of edges in the transitive reduction.
+     * The edge from x to y is kept when y is not reachable from another successor of x,
+     * which is checked with word-parallel operations on the rows of a {@link ReachabilityMatrix}.
+     * Kept edges keep their content.
+     * This tratment is performed in O(n+mn/64), where n corresponds to the number of nodes,
+     * and m to the number of edges.
      *
-     * @return  the number of added edges
+     * @return  the number of removed edges
      */
     public int transitiveReduction() {
-
-        // copy this component in a new DAG graph
-        DAGraph graph = new DAGraph(this);
-        graph.reflexiveReduction();
-        // initalize this component with no edges
-        this.setSuccessors(new TreeMap<Node, TreeSet<Edge>>());
-        for (Node node : this.getNodes()) {
-            this.getSuccessors().put(node, new TreeSet<Edge>());
-        }
-        this.setPredecessors(new TreeMap<Node, TreeSet<Edge>>());
-        for (Node node : this.getNodes()) {
-            this.getPredecessors().put(node, new TreeSet<Edge>());
-        }
+        ReachabilityMatrix matrix = new ReachabilityMatrix(this);
+        FrozenDGraph graph = matrix.getGraph();
+        boolean acyclic = matrix.isAcyclic();
         int number = 0;
-        // mark each node to false
-        TreeMap<Node, Boolean> mark = new TreeMap<Node, Boolean>();
-        for (Node node : graph.getNodes()) {
-            mark.put(node, new Boolean(false));
-        }
-        // treatment of nodes according to a topological sort
-        ArrayList<Node> sort = graph.topologicalSort();
-        for (Node x : sort) {
-            TreeSet<Node> set = new TreeSet<Node>(graph.getSuccessorNodes(x));
-            while (!set.isEmpty()) {
-                // compute the smallest successor y of x according to the topological sort
-                int i = 0;
-                while (!set.contains(sort.get(i))) {
-                    i++;
-                }
-                Node y = sort.get(i);
-                // when y is not not marked, x->y is a reduced edge
-                if (y != null && !mark.get(y).booleanValue()) {
-                    this.addEdge(x, y);
-                    graph.addEdge(x, y);
-                }
-                for (Node z : graph.getSuccessorNodes(y)) {
-                    // treatment of z when not marked
-                    if (!mark.get(z).booleanValue()) {
-                        mark.put(z, new Boolean(true));
-                        graph.addEdge(x, z);
-                        number++;
-                        set.add(z);
-                    }
-                }
-                set.remove(y);
+        for (int x = 0; x < graph.sizeNodes(); x++) {
+            long[] reduced = null;
+            if (acyclic) {
+                reduced = matrix.getReducedRow(x);
             }
-            for (Node y : graph.getSuccessorNodes(x)) {
-                mark.put(y, new Boolean(false));
+            for (int k = 0; k < graph.outDegree(x); k++) {
+                int y = graph.getSuccessor(x, k);
+                if (reduced == null || !BitSetUtils.get(reduced, y)) {
+                    this.removeEdge(graph.getNode(x), graph.getNode(y));
+                    number++;
+                }
             }
         }
         return number;
@@ -263,47 +227,26 @@ public class DAGraph extends DGraph {
     * Computes the transitive closure of this component.
     *
     * This method overlaps the computation of the transitive closure for directed graph
-    * in class {@link DGraph} with an implementation of the Goralcikova-Koubeck
-    * algorithm dedicated to acyclic directed graph. This algorithm can also compute the
-    * transitive reduction of a directed acyclic graph.
+    * in class {@link DGraph} with the computation of a {@link ReachabilityMatrix},
+    * whose rows are computed in a reverse topological sort with word-parallel operations.
     *
-    * This treatment is performed in O(n+nm_r+nm_c), where n corresponds to the number of nodes,
-    * m_r to the numer of edges in the transitive closure,
-    * and m_r the number of edges in the transitive reduction.
+    * This treatment is performed in O(n+mn/64+m_c log(n)), where n corresponds to the number of nodes,
+    * m to the number of edges, and m_c to the number of edges in the transitive closure.
     *
     * @return  the number of added edges
     */
    public int transitiveClosure() {
+        ReachabilityMatrix matrix = new ReachabilityMatrix(this);
+        FrozenDGraph graph = matrix.getGraph();
         int number = 0;
-        // mark each node to false
-        TreeMap<Node, Boolean> mark = new TreeMap<Node, Boolean>();
-        for (Node node : this.getNodes()) {
-            mark.put(node, new Boolean(false));
-        }
-        // treatment of nodes according to a topological sort
-        ArrayList<Node> sort = this.topologicalSort();
-        for (Node x : sort) {
-            TreeSet<Node> set = new TreeSet<Node>(this.getSuccessorNodes(x));
-            while (!set.isEmpty()) {
-                // compute the smallest successor y of x according to the topological sort
-                int i = 0;
-                do {
-                    i++;
-                } while (!set.contains(sort.get(i)));
-                Node y = sort.get(i);
-                for (Node z : this.getSuccessorNodes(y)) {
-                    // treatment of z when not marked
-                    if (!mark.get(z).booleanValue()) {
-                        mark.put(z, new Boolean(true));
-                        this.addEdge(x, z);
-                        number++;
-                        set.add(z);
-                    }
-                }
-                set.remove(y);
+        for (int x = 0; x < graph.sizeNodes(); x++) {
+            long[] row = matrix.getRow(x);
+            for (int k = 0; k < graph.outDegree(x); k++) {
+                BitSetUtils.clear(row, graph.getSuccessor(x, k));
             }
-            for (Node y : this.getSuccessorNodes(x)) {
-                mark.put(y, new Boolean(false));
+            for (int y = BitSetUtils.nextSetBit(row, 0); y >= 0; y = BitSetUtils.nextSetBit(row, y + 1)) {
+                this.addEdge(graph.getNode(x), graph.getNode(y));
+                number++;
             }
         }
         return number;
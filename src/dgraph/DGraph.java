@@ -16,6 +16,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.SortedSet;
@@ -83,6 +84,23 @@ public class DGraph {
      */
     private TreeMap<Node, TreeSet<Edge>> predecessors;
 
+    /**
+     * An index associating each node to its identifier, or null if nodes are not indexed.
+     */
+    private HashMap<Integer, Node> identifierIndex;
+
+    /**
+     * An index associating the nodes having the same content to this content,
+     * or null if nodes are not indexed.
+     */
+    private HashMap<Object, TreeSet<Node>> contentIndex;
+
+    /**
+     * An index associating the nodes that are equal to each other to one of them,
+     * or null if nodes are not indexed.
+     */
+    private HashMap<Node, TreeSet<Node>> nodeIndex;
+
     /* ------------- CONSTRUCTORS ------------------ */
 
     /**
@@ -126,6 +144,9 @@ public class DGraph {
             this.successors.put(node, new TreeSet<Edge>(graph.successors.get(node)));
             this.predecessors.put(node, new TreeSet<Edge>(graph.predecessors.get(node)));
         }
+        if (graph.isIndexed()) {
+            this.reindex();
+        }
     }
 
     /* ----------- STATIC GENERATION METHODS ------------- */
@@ -188,6 +209,15 @@ public class DGraph {
         return copy;
     }
 
+    /**
+     * Returns an immutable and compact copy of this component.
+     *
+     * @return  the frozen copy of this component
+     */
+    public FrozenDGraph freeze() {
+        return new FrozenDGraph(this);
+    }
+
     /**
      * Returns the set of nodes of this component.
      *
@@ -206,6 +236,9 @@ public class DGraph {
      */
     protected DGraph setNodes(final TreeSet<Node> nodes) {
         this.nodes = nodes;
+        if (this.isIndexed()) {
+            this.reindex();
+        }
         return this;
     }
 
@@ -338,11 +371,26 @@ public class DGraph {
     /**
      * Returns the node that is equal to the specified one.
      *
+     * When nodes are indexed, this treatment is performed in O(1),
+     * otherwise in O(n) where n is the number of nodes.
+     * When several nodes are equal to the specified one,
+     * the node of lowest identifier is returned.
+     *
      * @param   search  The node to search for
      *
      * @return  the found node or null
      */
      public Node getNode(final Object search) {
+        if (this.isIndexed()) {
+            if (!(search instanceof Node)) {
+                return null;
+            }
+            TreeSet<Node> found = this.nodeIndex.get((Node) search);
+            if (found == null) {
+                return null;
+            }
+            return found.first();
+        }
         for (Node node : this.nodes) {
             if (node.equals(search)) {
                 return node;
@@ -354,15 +402,26 @@ public class DGraph {
     /**
      * Returns the node whose content is equal to the specified one.
      *
+     * When nodes are indexed, this treatment is performed in O(1),
+     * otherwise in O(n) where n is the number of nodes.
+     * When several nodes have the specified content,
+     * the node of lowest identifier is returned.
+     *
      * @param   content  The content to search for
      *
      * @return  the found node or null
-     *
-     * @todo  this method is not efficient. Do we remove it or add an index on Dgraph using content field?
      */
     public Node getNodeByContent(final Object content) {
+        if (this.isIndexed()) {
+            TreeSet<Node> found = this.contentIndex.get(content);
+            if (found == null) {
+                return null;
+            }
+            return found.first();
+        }
         for (Node node : this.nodes) {
-            if (node.getContent().equals(content)) {
+            Object nodeContent = node.getContent();
+            if (nodeContent == null ? content == null : nodeContent.equals(content)) {
                 return node;
             }
         }
@@ -372,11 +431,17 @@ public class DGraph {
     /**
      * Returns the node whose ident is equal to the specified one.
      *
+     * When nodes are indexed, this treatment is performed in O(1),
+     * otherwise in O(n) where n is the number of nodes.
+     *
      * @param  identifier  node identifier
      *
      * @return  the found node or null
      */
     public Node getNodeByIdentifier(int identifier) {
+        if (this.isIndexed()) {
+            return this.identifierIndex.get(identifier);
+        }
         for (Node node : this.nodes) {
             if (node.getIdentifier() == identifier) {
                 return node;
@@ -470,6 +535,9 @@ public class DGraph {
             this.nodes.add(node);
             this.successors.put(node, new TreeSet<Edge>());
             this.predecessors.put(node, new TreeSet<Edge>());
+            if (this.isIndexed()) {
+                this.index(node);
+            }
             return true;
         }
         return false;
@@ -508,6 +576,9 @@ public class DGraph {
             }
             // Remove node
             this.nodes.remove(node);
+            if (this.isIndexed()) {
+                this.unindex(node);
+            }
             return true;
         }
         return false;
@@ -530,6 +601,31 @@ public class DGraph {
         return all;
     }
 
+    /**
+     * Replaces the content of the specified node, and updates the index of contents.
+     *
+     * The content of an indexed node should be modified using this method
+     * rather than {@link Node#setContent}.
+     *
+     * @param   node     a node of this component
+     * @param   content  the new content of the node
+     *
+     * @return  true if the node belongs to this component
+     */
+    public boolean setContent(final Node node, final Object content) {
+        if (!this.containsNode(node)) {
+            return false;
+        }
+        if (this.isIndexed()) {
+            this.unindex(node);
+            node.setContent(content);
+            this.index(node);
+        } else {
+            node.setContent(content);
+        }
+        return true;
+    }
+
     /**
      * Checks if there exists an edge between the two specified nodes.
      *
@@ -653,6 +749,140 @@ public class DGraph {
         return false;
     }
 
+    /* --------------- NODES INDEXING METHODS ------------ */
+
+    /**
+     * Checks if the nodes of this component are indexed.
+     *
+     * @return  true if nodes are indexed by identifier, by content and by equality
+     */
+    public boolean isIndexed() {
+        return this.identifierIndex != null;
+    }
+
+    /**
+     * Enables or disables the indexes of nodes of this component.
+     *
+     * Indexed nodes are retrieved in constant time by {@link #getNode}, {@link #getNodeByContent}
+     * and {@link #getNodeByIdentifier}. Indexes are maintained by {@link #addNode}, {@link #removeNode}
+     * and {@link #setContent}. Since they rely on the hash code of the nodes and of their contents,
+     * {@link #reindex} has to be called when a node or its content is modified outside of this component.
+     *
+     * @param   indexed  true if nodes have to be indexed
+     *
+     * @return  this for chaining
+     */
+    public DGraph setIndexed(final boolean indexed) {
+        if (indexed) {
+            this.reindex();
+        } else {
+            this.identifierIndex = null;
+            this.contentIndex = null;
+            this.nodeIndex = null;
+        }
+        return this;
+    }
+
+    /**
+     * Rebuilds the indexes of nodes of this component, and enables them if needed.
+     *
+     * This treatment is performed in O(n) where n is the number of nodes.
+     *
+     * @return  this for chaining
+     */
+    public DGraph reindex() {
+        this.identifierIndex = new HashMap<Integer, Node>();
+        this.contentIndex = new HashMap<Object, TreeSet<Node>>();
+        this.nodeIndex = new HashMap<Node, TreeSet<Node>>();
+        for (Node node : this.nodes) {
+            this.index(node);
+        }
+        return this;
+    }
+
+    /**
+     * Removes the specified node from the indexes of this component, before a modification
+     * of the node outside of this component.
+     *
+     * The node has to be indexed again by {@link #indexNode} once modified,
+     * instead of rebuilding all the indexes with {@link #reindex}.
+     *
+     * @param   node  a node of this component
+     *
+     * @return  true if the node belongs to this component
+     */
+    public boolean unindexNode(final Node node) {
+        if (!this.containsNode(node)) {
+            return false;
+        }
+        if (this.isIndexed()) {
+            this.unindex(node);
+        }
+        return true;
+    }
+
+    /**
+     * Adds the specified node to the indexes of this component, after a modification
+     * of the node outside of this component started by {@link #unindexNode}.
+     *
+     * @param   node  a node of this component
+     *
+     * @return  true if the node belongs to this component
+     */
+    public boolean indexNode(final Node node) {
+        if (!this.containsNode(node)) {
+            return false;
+        }
+        if (this.isIndexed()) {
+            this.index(node);
+        }
+        return true;
+    }
+
+    /**
+     * Adds the specified node to the indexes of this component.
+     *
+     * @param   node  the node to index
+     */
+    private void index(final Node node) {
+        this.identifierIndex.put(node.getIdentifier(), node);
+        TreeSet<Node> sameContent = this.contentIndex.get(node.getContent());
+        if (sameContent == null) {
+            sameContent = new TreeSet<Node>();
+            this.contentIndex.put(node.getContent(), sameContent);
+        }
+        sameContent.add(node);
+        TreeSet<Node> equal = this.nodeIndex.get(node);
+        if (equal == null) {
+            equal = new TreeSet<Node>();
+            this.nodeIndex.put(node, equal);
+        }
+        equal.add(node);
+    }
+
+    /**
+     * Removes the specified node from the indexes of this component.
+     *
+     * @param   node  the node to remove from the indexes
+     */
+    private void unindex(final Node node) {
+        this.identifierIndex.remove(node.getIdentifier());
+        TreeSet<Node> sameContent = this.contentIndex.get(node.getContent());
+        if (sameContent != null) {
+            sameContent.remove(node);
+            if (sameContent.isEmpty()) {
+                this.contentIndex.remove(node.getContent());
+            }
+        }
+        TreeSet<Node> equal = this.nodeIndex.get(node);
+        if (equal != null) {
+            equal.remove(node);
+            if (equal.isEmpty()) {
+                this.nodeIndex.remove(node);
+            }
+        }
+    }
+
     /* --------------- ACYCLIC CHECKING METHODS ------------ */
 
     /**
@@ -966,49 +1196,28 @@ public class DGraph {
      * strongly connected component (SCC) of this component stored in a TreeSet of nodes.
      *
      * When two nodes in two different SCC are in relation, the same is for the SCC
-     * they belongs to.
+     * they belongs to: the returned graph is transitively closed and has no loops.
+     * Nodes of the returned graph are created according to a topological sort of the SCC.
+     *
+     * Components are computed by an iterative version of the Tarjan algorithm
+     * on a frozen copy of this component, see {@link FrozenDGraph#stronglyConnectedComponents}.
+     * This treatment is performed in O(n+m+cm_c), where n corresponds to the number of nodes,
+     * m to the number of edges, c to the number of components,
+     * and m_c to the number of edges of the returned graph.
      *
      * @return  The directed acyclic graph
      */
     public DAGraph getStronglyConnectedComponent() {
+        FrozenDGraph components = this.freeze().getStronglyConnectedComponent();
         DAGraph cc = new DAGraph();
-        // first depth first search
-        DGraph tmp = new DGraph(this);
-        tmp.transitiveClosure();
-        ArrayList<Node> last = tmp.depthFirstSearch()[1];
-        // transposition of the graph
-        DGraph transposedGraph = new DGraph(this);
-        transposedGraph.transpose();
-        // sort nodes according to the reverse last sort
-        ArrayList<Node> sort = new ArrayList();
-        Object [] array = last.toArray();
-        for (int i = array.length - 1; i >= 0; i--) {
-            sort.add((Node) array[i]);
-        }
-        // second depth first search according to sort
-        TreeSet<Node> visited = new TreeSet();
-        for (Node n : sort) {
-            if (!visited.contains(n)) {
-                last = transposedGraph.depthFirstSearch(n, visited, sort)[1];
-                visited.addAll(last);
-                TreeSet sCC = new TreeSet(last);
-                // a strongly connected component is generated
-                cc.addNode(new Node(sCC));    // addition of
-            }
+        for (int c = 0; c < components.sizeNodes(); c++) {
+            cc.addNode(components.getNode(c));
         }
-        // edges between strongly connected component
-        for (Node ccFrom : cc.getNodes()) {
-            for (Node ccTo : cc.getNodes()) {
-                for (Node from : (TreeSet<Node>) ccFrom.getContent()) {
-                    for (Node to : ((TreeSet<Node>) ccTo.getContent())) {
-                        if (tmp.getSuccessorNodes(from).contains(to)) {
-                            cc.addEdge(ccFrom, ccTo);
-                        }
-                    }
-                }
+        for (int c = 0; c < components.sizeNodes(); c++) {
+            for (int k = 0; k < components.outDegree(c); k++) {
+                cc.addEdge(components.getNode(c), components.getNode(components.getSuccessor(c, k)));
             }
         }
-        cc.reflexiveReduction();
         return cc;
     }
 }
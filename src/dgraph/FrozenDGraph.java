@@ -0,0 +1,787 @@
+package dgraph;
+
+/*
+ * FrozenDGraph.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * This class gives an immutable and compact representation of a directed graph,
+ * built from a {@link DGraph} once its construction is over.
+ *
+ * Nodes are identified by an integer between 0 and n-1 according to the order of their identifiers.
+ * Edges are stored in compressed sparse rows:
+ *
+ * - successors of node `u` are `targets[offsets[u]]`, ..., `targets[offsets[u+1]-1]`,
+ *   sorted by increasing integer, with the edge contents in a parallel array;
+ * - predecessors are stored in the same way.
+ *
+ * Contrary to {@link DGraph}, no object is allocated to browse the successors or the predecessors of a node.
+ *
+ * This class provides methods implementing classical operation on a directed graph
+ * that return new frozen graphs sharing the same nodes:
+ *
+ * - topological sort
+ * - transitive closure and reduction
+ * - majorants and minorants
+ * - strongly connected components
+ *
+ * ~~~Java
+ * FrozenDGraph frozen = graph.freeze();
+ * FrozenDGraph hasse = frozen.transitiveReduction();
+ * ~~~
+ *
+ * ![FrozenDGraph](FrozenDGraph.png)
+ *
+ * @uml FrozenDGraph.png
+ * !include src/dgraph/FrozenDGraph.iuml
+ * !include src/dgraph/DGraph.iuml
+ * !include src/dgraph/Node.iuml
+ *
+ * hide members
+ * show FrozenDGraph members
+ * class FrozenDGraph #LightCyan
+ * title FrozenDGraph UML graph
+ */
+public class FrozenDGraph {
+
+    /* ------------- FIELDS ------------------ */
+
+    /**
+     * The nodes sorted by identifier.
+     */
+    private Node[] nodes;
+
+    /**
+     * The index of the first successor of each node, followed by the number of edges.
+     */
+    private int[] successorOffsets;
+
+    /**
+     * The successors of the nodes.
+     */
+    private int[] successorTargets;
+
+    /**
+     * The contents of the edges to the successors.
+     */
+    private Object[] successorContents;
+
+    /**
+     * The index of the first predecessor of each node, followed by the number of edges.
+     */
+    private int[] predecessorOffsets;
+
+    /**
+     * The predecessors of the nodes.
+     */
+    private int[] predecessorSources;
+
+    /**
+     * The contents of the edges from the predecessors.
+     */
+    private Object[] predecessorContents;
+
+    /* ------------- CONSTRUCTORS ------------------ */
+
+    /**
+     * Constructs a frozen copy of the specified directed graph.
+     *
+     * This treatment is performed in O(n+m log(n)), where n corresponds to the number of nodes,
+     * and m corresponds to the number of edges.
+     *
+     * @param   graph  the directed graph to be copied
+     */
+    public FrozenDGraph(final DGraph graph) {
+        this.nodes = graph.getNodes().toArray(new Node[graph.sizeNodes()]);
+        int size = graph.sizeEdges();
+        int[] offsets = new int[this.nodes.length + 1];
+        int[] targets = new int[size];
+        Object[] contents = new Object[size];
+        int e = 0;
+        for (int u = 0; u < this.nodes.length; u++) {
+            offsets[u] = e;
+            // edges are sorted by identifier of their destination
+            for (Edge edge : graph.getSuccessorEdges(this.nodes[u])) {
+                targets[e] = this.getId(edge.getTo());
+                contents[e] = edge.getContent();
+                e++;
+            }
+        }
+        offsets[this.nodes.length] = e;
+        this.setSuccessors(offsets, targets, contents);
+    }
+
+    /**
+     * Constructs a frozen graph from the specified nodes and successor rows.
+     *
+     * Each row of successors has to be sorted.
+     *
+     * @param   nodes     the nodes sorted by identifier
+     * @param   offsets   the index of the first successor of each node, followed by the number of edges
+     * @param   targets   the successors of the nodes
+     * @param   contents  the contents of the edges
+     */
+    private FrozenDGraph(final Node[] nodes, final int[] offsets, final int[] targets, final Object[] contents) {
+        this.nodes = nodes;
+        this.setSuccessors(offsets, targets, contents);
+    }
+
+    /**
+     * Initialises the successor rows, and computes the predecessor rows.
+     *
+     * @param   offsets   the index of the first successor of each node, followed by the number of edges
+     * @param   targets   the successors of the nodes
+     * @param   contents  the contents of the edges
+     */
+    private void setSuccessors(final int[] offsets, final int[] targets, final Object[] contents) {
+        int n = this.nodes.length;
+        int m = offsets[n];
+        this.successorOffsets = offsets;
+        this.successorTargets = targets;
+        this.successorContents = contents;
+        // counting sort of the edges by destination
+        this.predecessorOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            this.predecessorOffsets[targets[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            this.predecessorOffsets[v + 1] += this.predecessorOffsets[v];
+        }
+        this.predecessorSources = new int[m];
+        this.predecessorContents = new Object[m];
+        int[] next = Arrays.copyOf(this.predecessorOffsets, n);
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                this.predecessorSources[next[v]] = u;
+                this.predecessorContents[next[v]] = contents[e];
+                next[v]++;
+            }
+        }
+    }
+
+    /* --------------- ACCESSOR METHODS ------------ */
+
+    /**
+     * Returns the number of nodes of this component.
+     *
+     * @return  the number of nodes
+     */
+    public int sizeNodes() {
+        return this.nodes.length;
+    }
+
+    /**
+     * Returns the number of edges of this component.
+     *
+     * @return  the number of edges
+     */
+    public int sizeEdges() {
+        return this.successorTargets.length;
+    }
+
+    /**
+     * Returns the node whose integer is specified.
+     *
+     * @param   u  the integer of a node
+     *
+     * @return  the node
+     */
+    public Node getNode(int u) {
+        return this.nodes[u];
+    }
+
+    /**
+     * Returns the integer of the specified node.
+     *
+     * This treatment is performed in O(log(n)), where n corresponds to the number of nodes.
+     *
+     * @param   node  a node
+     *
+     * @return  the integer of the node, or -1 if the node does not belong to this component
+     */
+    public int getId(final Node node) {
+        int u = Arrays.binarySearch(this.nodes, node);
+        if (u < 0) {
+            return -1;
+        }
+        return u;
+    }
+
+    /**
+     * Returns the set of nodes whose integers are specified.
+     *
+     * @param   ids  integers of nodes
+     *
+     * @return  the set of nodes
+     */
+    public TreeSet<Node> getNodes(final int[] ids) {
+        TreeSet<Node> set = new TreeSet<Node>();
+        for (int u : ids) {
+            set.add(this.nodes[u]);
+        }
+        return set;
+    }
+
+    /**
+     * Returns the number of successors of the specified node.
+     *
+     * @param   u  the integer of a node
+     *
+     * @return  the number of successors
+     */
+    public int outDegree(int u) {
+        return this.successorOffsets[u + 1] - this.successorOffsets[u];
+    }
+
+    /**
+     * Returns the k-th successor of the specified node.
+     *
+     * @param   u  the integer of a node
+     * @param   k  an integer lower than the number of successors of the node
+     *
+     * @return  the integer of the successor
+     */
+    public int getSuccessor(int u, int k) {
+        return this.successorTargets[this.successorOffsets[u] + k];
+    }
+
+    /**
+     * Returns the content of the edge from the specified node to its k-th successor.
+     *
+     * @param   u  the integer of a node
+     * @param   k  an integer lower than the number of successors of the node
+     *
+     * @return  the content of the edge
+     */
+    public Object getSuccessorContent(int u, int k) {
+        return this.successorContents[this.successorOffsets[u] + k];
+    }
+
+    /**
+     * Returns the number of predecessors of the specified node.
+     *
+     * @param   v  the integer of a node
+     *
+     * @return  the number of predecessors
+     */
+    public int inDegree(int v) {
+        return this.predecessorOffsets[v + 1] - this.predecessorOffsets[v];
+    }
+
+    /**
+     * Returns the k-th predecessor of the specified node.
+     *
+     * @param   v  the integer of a node
+     * @param   k  an integer lower than the number of predecessors of the node
+     *
+     * @return  the integer of the predecessor
+     */
+    public int getPredecessor(int v, int k) {
+        return this.predecessorSources[this.predecessorOffsets[v] + k];
+    }
+
+    /**
+     * Returns the content of the edge from the k-th predecessor of the specified node.
+     *
+     * @param   v  the integer of a node
+     * @param   k  an integer lower than the number of predecessors of the node
+     *
+     * @return  the content of the edge
+     */
+    public Object getPredecessorContent(int v, int k) {
+        return this.predecessorContents[this.predecessorOffsets[v] + k];
+    }
+
+    /**
+     * Checks if there exists an edge between the two specified nodes.
+     *
+     * This treatment is performed in O(log(d)), where d corresponds to the number of successors of u.
+     *
+     * @param   u  the integer of the origin node
+     * @param   v  the integer of the destination node
+     *
+     * @return  true if the edge exists
+     */
+    public boolean containsEdge(int u, int v) {
+        return Arrays.binarySearch(this.successorTargets, this.successorOffsets[u], this.successorOffsets[u + 1], v) >= 0;
+    }
+
+    /**
+     * Returns a directed graph with the nodes and the edges of this component.
+     *
+     * @return  the directed graph
+     */
+    public DGraph toDGraph() {
+        DGraph graph = new DGraph();
+        for (Node node : this.nodes) {
+            graph.addNode(node);
+        }
+        for (int u = 0; u < this.nodes.length; u++) {
+            for (int e = this.successorOffsets[u]; e < this.successorOffsets[u + 1]; e++) {
+                graph.addEdge(this.nodes[u], this.nodes[this.successorTargets[e]], this.successorContents[e]);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Returns a String representation of this component.
+     *
+     * @return  the string representation
+     */
+    public String toString() {
+        return this.toDGraph().toString();
+    }
+
+    /* --------------- ACYCLIC CHECKING METHODS ------------ */
+
+    /**
+     * Check if this component is acyclic.
+     *
+     * @return  true if the component is acyclic
+     */
+    public boolean isAcyclic() {
+        return this.topologicalSort().length == this.nodes.length;
+    }
+
+    /**
+     * Returns a topological sort of the nodes of this component.
+     *
+     * Among the nodes with no remaining predecessors, the node of lowest identifier comes first,
+     * so that the sort is the one of {@link DGraph#topologicalSort}.
+     * If the graph is not acyclic, some nodes don't belong to the sort.
+     * This treatment is performed in O((n+m) log(n)), where n corresponds to the number of nodes,
+     * and m corresponds to the number of edges.
+     *
+     * @return  the integers of the sorted nodes
+     */
+    public int[] topologicalSort() {
+        int n = this.nodes.length;
+        int[] size = new int[n];
+        PriorityQueue<Integer> sinks = new PriorityQueue<Integer>();
+        for (int v = 0; v < n; v++) {
+            size[v] = this.inDegree(v);
+            if (size[v] == 0) {
+                sinks.add(v);
+            }
+        }
+        int[] sort = new int[n];
+        int count = 0;
+        while (!sinks.isEmpty()) {
+            int u = sinks.poll();
+            sort[count++] = u;
+            for (int e = this.successorOffsets[u]; e < this.successorOffsets[u + 1]; e++) {
+                int v = this.successorTargets[e];
+                size[v]--;
+                if (size[v] == 0) {
+                    sinks.add(v);
+                }
+            }
+        }
+        return Arrays.copyOf(sort, count);
+    }
+
+    /* --------------- GRAPH TREATMENT METHODS ------------ */
+
+    /**
+     * Returns the nodes reachable from the specified node by a non empty path.
+     *
+     * This treatment is performed in O(n+m), where n corresponds to the number of nodes,
+     * and m corresponds to the number of edges.
+     *
+     * @param   u  the integer of a node
+     *
+     * @return  the sorted integers of the majorants
+     */
+    public int[] majorants(int u) {
+        return this.reachable(u, this.successorOffsets, this.successorTargets);
+    }
+
+    /**
+     * Returns the nodes from which the specified node is reachable by a non empty path.
+     *
+     * This treatment is performed in O(n+m), where n corresponds to the number of nodes,
+     * and m corresponds to the number of edges.
+     *
+     * @param   v  the integer of a node
+     *
+     * @return  the sorted integers of the minorants
+     */
+    public int[] minorants(int v) {
+        return this.reachable(v, this.predecessorOffsets, this.predecessorSources);
+    }
+
+    /**
+     * Returns the set of majorants of the specified node.
+     *
+     * Majorants of a node are its successors in the transitive closure.
+     *
+     * @param   node  the specified node
+     *
+     * @return  the set of majorants
+     */
+    public TreeSet<Node> majorants(final Node node) {
+        return this.getNodes(this.majorants(this.getId(node)));
+    }
+
+    /**
+     * Returns the set of minorants of the specified node.
+     *
+     * Minorants of a node are its predecessors in the transitive closure.
+     *
+     * @param   node  the specified node
+     *
+     * @return  the set of minorants
+     */
+    public TreeSet<Node> minorants(final Node node) {
+        return this.getNodes(this.minorants(this.getId(node)));
+    }
+
+    /**
+     * Returns the transitive closure of this component.
+     *
+     * Edges of this component keep their content, added edges have no content.
+     * This treatment is performed in O(nm+m_c log(n)), where n corresponds to the number of nodes,
+     * m to the number of edges, and m_c to the number of edges in the closure.
+     *
+     * @return  the transitively closed graph
+     */
+    public FrozenDGraph transitiveClosure() {
+        int n = this.nodes.length;
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[this.successorTargets.length];
+        int[] mark = new int[n];
+        int[] stack = new int[n];
+        int m = 0;
+        for (int u = 0; u < n; u++) {
+            offsets[u] = m;
+            int top = 0;
+            for (int e = this.successorOffsets[u]; e < this.successorOffsets[u + 1]; e++) {
+                int v = this.successorTargets[e];
+                if (mark[v] != u + 1) {
+                    mark[v] = u + 1;
+                    stack[top++] = v;
+                }
+            }
+            while (top > 0) {
+                int v = stack[--top];
+                if (m == targets.length) {
+                    targets = Arrays.copyOf(targets, 2 * m + 1);
+                }
+                targets[m++] = v;
+                for (int e = this.successorOffsets[v]; e < this.successorOffsets[v + 1]; e++) {
+                    int w = this.successorTargets[e];
+                    if (mark[w] != u + 1) {
+                        mark[w] = u + 1;
+                        stack[top++] = w;
+                    }
+                }
+            }
+            Arrays.sort(targets, offsets[u], m);
+        }
+        offsets[n] = m;
+        return this.withEdges(offsets, Arrays.copyOf(targets, m));
+    }
+
+    /**
+     * Returns the transitive reduction of this component, i.e. its Hasse diagram.
+     *
+     * Loops are ignored, and edges of the reduction keep their content. As for {@link DAGraph},
+     * the reduction is only defined when this component is acyclic, and has no edges otherwise.
+     *
+     * Successors of each node are considered according to a topological sort: the edge to a successor
+     * is kept when the successor is not reachable from a previously considered successor.
+     * This treatment is performed in O(nm), where n corresponds to the number of nodes,
+     * and m to the number of edges.
+     *
+     * @return  the transitively reduced graph
+     */
+    public FrozenDGraph transitiveReduction() {
+        int n = this.nodes.length;
+        int[] sort = this.topologicalSort();
+        int[] offsets = new int[n + 1];
+        if (sort.length < n) {
+            return new FrozenDGraph(this.nodes, offsets, new int[0], new Object[0]);
+        }
+        int[] rank = new int[n];
+        for (int i = 0; i < n; i++) {
+            rank[sort[i]] = i;
+        }
+        int[] targets = new int[this.successorTargets.length];
+        int[] mark = new int[n];
+        int[] stack = new int[n];
+        long[] candidates = new long[n];
+        int m = 0;
+        for (int u = 0; u < n; u++) {
+            offsets[u] = m;
+            // successors sorted by rank, packed with their integer
+            int size = 0;
+            for (int e = this.successorOffsets[u]; e < this.successorOffsets[u + 1]; e++) {
+                int v = this.successorTargets[e];
+                if (v != u) {
+                    candidates[size++] = ((long) rank[v] << 32) | v;
+                }
+            }
+            Arrays.sort(candidates, 0, size);
+            for (int i = 0; i < size; i++) {
+                int v = (int) candidates[i];
+                if (mark[v] == u + 1) {
+                    continue;
+                }
+                // v is not reachable from a successor of lower rank
+                targets[m++] = v;
+                int top = 0;
+                stack[top++] = v;
+                mark[v] = u + 1;
+                while (top > 0) {
+                    int w = stack[--top];
+                    for (int e = this.successorOffsets[w]; e < this.successorOffsets[w + 1]; e++) {
+                        int z = this.successorTargets[e];
+                        if (mark[z] != u + 1) {
+                            mark[z] = u + 1;
+                            stack[top++] = z;
+                        }
+                    }
+                }
+            }
+            Arrays.sort(targets, offsets[u], m);
+        }
+        offsets[n] = m;
+        return this.withEdges(offsets, Arrays.copyOf(targets, m));
+    }
+
+    /**
+     * Returns the component of each node in the strongly connected components of this component.
+     *
+     * Components are computed by an iterative version of the Tarjan algorithm,
+     * and are numbered according to a topological sort of the acyclic graph of components.
+     * This treatment is performed in O(n+m), where n corresponds to the number of nodes,
+     * and m corresponds to the number of edges.
+     *
+     * @return  the component of each node, between 0 and the number of components minus one
+     */
+    public int[] stronglyConnectedComponents() {
+        int n = this.nodes.length;
+        int[] index = new int[n];
+        Arrays.fill(index, -1);
+        int[] low = new int[n];
+        int[] component = new int[n];
+        Arrays.fill(component, -1);
+        // the stack of visited nodes whose component is not yet known
+        int[] stack = new int[n];
+        int top = 0;
+        // the stack of the depth first search, with the next edge to consider for each node
+        int[] path = new int[n];
+        int[] next = new int[n];
+        int depth = 0;
+        int count = 0;
+        int components = 0;
+        for (int root = 0; root < n; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            path[0] = root;
+            next[0] = this.successorOffsets[root];
+            index[root] = count;
+            low[root] = count;
+            count++;
+            stack[top++] = root;
+            depth = 1;
+            while (depth > 0) {
+                int u = path[depth - 1];
+                if (next[depth - 1] < this.successorOffsets[u + 1]) {
+                    int v = this.successorTargets[next[depth - 1]++];
+                    if (index[v] == -1) {
+                        index[v] = count;
+                        low[v] = count;
+                        count++;
+                        stack[top++] = v;
+                        path[depth] = v;
+                        next[depth] = this.successorOffsets[v];
+                        depth++;
+                    } else if (component[v] == -1) {
+                        low[u] = Math.min(low[u], index[v]);
+                    }
+                } else {
+                    depth--;
+                    if (low[u] == index[u]) {
+                        int v;
+                        do {
+                            v = stack[--top];
+                            component[v] = components;
+                        } while (v != u);
+                        components++;
+                    }
+                    if (depth > 0) {
+                        int parent = path[depth - 1];
+                        low[parent] = Math.min(low[parent], low[u]);
+                    }
+                }
+            }
+        }
+        // Tarjan algorithm generates the components in a reverse topological sort
+        for (int u = 0; u < n; u++) {
+            component[u] = components - 1 - component[u];
+        }
+        return component;
+    }
+
+    /**
+     * Returns the directed acyclic graph where each node corresponds to a
+     * strongly connected component (SCC) of this component stored in a TreeSet of nodes.
+     *
+     * As for {@link DGraph#getStronglyConnectedComponent}, there is an edge between two components
+     * when a node of the first one is in relation with a node of the second one
+     * in the transitive closure. Components are sorted according to a topological sort.
+     * This treatment is performed in O(n+m+cm_c), where n corresponds to the number of nodes,
+     * m to the number of edges, c to the number of components,
+     * and m_c to the number of edges between components.
+     *
+     * @return  the graph of components
+     */
+    public FrozenDGraph getStronglyConnectedComponent() {
+        int n = this.nodes.length;
+        int[] component = this.stronglyConnectedComponents();
+        int size = 0;
+        for (int u = 0; u < n; u++) {
+            size = Math.max(size, component[u] + 1);
+        }
+        Node[] components = new Node[size];
+        TreeSet<Node>[] members = new TreeSet[size];
+        for (int c = 0; c < size; c++) {
+            members[c] = new TreeSet<Node>();
+            components[c] = new Node(members[c]);
+        }
+        for (int u = 0; u < n; u++) {
+            members[component[u]].add(this.nodes[u]);
+        }
+        // edges between components, whose rows are built in the order of the components
+        int[][] rows = new int[size][];
+        int[] mark = new int[size];
+        int[] row = new int[size];
+        int m = 0;
+        for (int c = 0; c < size; c++) {
+            int length = 0;
+            for (Node node : members[c]) {
+                int u = this.getId(node);
+                for (int e = this.successorOffsets[u]; e < this.successorOffsets[u + 1]; e++) {
+                    int d = component[this.successorTargets[e]];
+                    if (d != c && mark[d] != c + 1) {
+                        mark[d] = c + 1;
+                        row[length++] = d;
+                    }
+                }
+            }
+            rows[c] = Arrays.copyOf(row, length);
+            Arrays.sort(rows[c]);
+            m += length;
+        }
+        int[] offsets = new int[size + 1];
+        int[] targets = new int[m];
+        int e = 0;
+        for (int c = 0; c < size; c++) {
+            offsets[c] = e;
+            System.arraycopy(rows[c], 0, targets, e, rows[c].length);
+            e += rows[c].length;
+        }
+        offsets[size] = e;
+        return new FrozenDGraph(components, offsets, targets, new Object[m]).transitiveClosure();
+    }
+
+    /* --------------- PRIVATE METHODS ------------ */
+
+    /**
+     * Returns a frozen graph with the nodes of this component and the specified successor rows.
+     *
+     * Edges keep the content of the same edges in this component,
+     * other edges have no content.
+     *
+     * @param   offsets  the index of the first successor of each node, followed by the number of edges
+     * @param   targets  the successors of the nodes, sorted in each row
+     *
+     * @return  the frozen graph
+     */
+    FrozenDGraph withEdges(final int[] offsets, final int[] targets) {
+        return new FrozenDGraph(this.nodes, offsets, targets, this.mergeContents(offsets, targets));
+    }
+
+    /**
+     * Returns the nodes reachable from the specified node by a non empty path
+     * in the specified rows.
+     *
+     * @param   u        the integer of a node
+     * @param   offsets  the offsets of the rows
+     * @param   targets  the rows
+     *
+     * @return  the sorted integers of the reachable nodes
+     */
+    private int[] reachable(int u, final int[] offsets, final int[] targets) {
+        int n = this.nodes.length;
+        boolean[] mark = new boolean[n];
+        int[] stack = new int[n];
+        int top = 0;
+        int size = 0;
+        for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+            if (!mark[targets[e]]) {
+                mark[targets[e]] = true;
+                stack[top++] = targets[e];
+            }
+        }
+        while (top > 0) {
+            int v = stack[--top];
+            size++;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (!mark[targets[e]]) {
+                    mark[targets[e]] = true;
+                    stack[top++] = targets[e];
+                }
+            }
+        }
+        int[] reachable = new int[size];
+        int i = 0;
+        for (int v = 0; v < n; v++) {
+            if (mark[v]) {
+                reachable[i++] = v;
+            }
+        }
+        return reachable;
+    }
+
+    /**
+     * Returns the contents of the specified edges, that are the contents of the same edges
+     * in this component, or null for edges that don't belong to this component.
+     *
+     * @param   offsets  the offsets of the sorted rows of edges
+     * @param   targets  the sorted rows of edges
+     *
+     * @return  the contents of the edges
+     */
+    private Object[] mergeContents(final int[] offsets, final int[] targets) {
+        int n = this.nodes.length;
+        Object[] contents = new Object[offsets[n]];
+        for (int u = 0; u < n; u++) {
+            int e = this.successorOffsets[u];
+            for (int f = offsets[u]; f < offsets[u + 1]; f++) {
+                while (e < this.successorOffsets[u + 1] && this.successorTargets[e] < targets[f]) {
+                    e++;
+                }
+                if (e < this.successorOffsets[u + 1] && this.successorTargets[e] == targets[f]) {
+                    contents[f] = this.successorContents[e];
+                }
+            }
+        }
+        return contents;
+    }
+}
@@ -12,6 +12,7 @@
 package dgraph;
 
 import java.util.StringTokenizer;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class gives a standard representation for a node of a graph.
@@ -54,8 +55,9 @@ public class Node implements Comparable<Object> {
      *
      * Initialized to 0, it is incremented by the constructor,
      * and used to inialize the identifier.
+     * It is atomically incremented, so that nodes can be created by several threads.
      */
-   private static int count = 0;
+   private static AtomicInteger count = new AtomicInteger(0);
 
     /* ------------- CONSTRUCTORS ------------------ */
 
@@ -68,7 +70,7 @@ public class Node implements Comparable<Object> {
      * @param   content  Content for this node
      */
     public Node(final Object content) {
-        this.identifier = ++count;
+        this.identifier = count.incrementAndGet();
         this.content = content;
     }
 
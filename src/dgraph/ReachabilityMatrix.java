@@ -0,0 +1,307 @@
+package dgraph;
+
+/*
+ * ReachabilityMatrix.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+import utils.BitSetUtils;
+
+/**
+ * This class gives the reachability relation of a directed graph, i.e. its transitive closure,
+ * as a matrix of bitsets.
+ *
+ * The row of a node is the bitset of the nodes reachable from it by a non empty path,
+ * using the integers of the nodes in a {@link FrozenDGraph}.
+ * Rows are computed in a reverse topological sort of the strongly connected components
+ * of the graph: the row of a component is the union of the rows of its successors,
+ * computed by word-parallel operations. Nodes of a same component share the same row.
+ *
+ * The matrix is then used to answer reachability queries in constant time,
+ * and to compute the transitive closure and the transitive reduction of the graph.
+ * It requires n^2/64 words of memory, where n corresponds to the number of nodes.
+ *
+ * ~~~Java
+ * ReachabilityMatrix matrix = new ReachabilityMatrix(dag);
+ * if (matrix.reaches(from, to)) {
+ *     ...
+ * }
+ * ~~~
+ *
+ * ![ReachabilityMatrix](ReachabilityMatrix.png)
+ *
+ * @uml ReachabilityMatrix.png
+ * !include src/dgraph/ReachabilityMatrix.iuml
+ * !include src/dgraph/FrozenDGraph.iuml
+ *
+ * hide members
+ * show ReachabilityMatrix members
+ * class ReachabilityMatrix #LightCyan
+ * title ReachabilityMatrix UML graph
+ */
+public class ReachabilityMatrix {
+
+    /* ------------- FIELDS ------------------ */
+
+    /**
+     * The frozen graph.
+     */
+    private FrozenDGraph graph;
+
+    /**
+     * The strongly connected component of each node.
+     */
+    private int[] component;
+
+    /**
+     * The nodes reachable by a non empty path from the nodes of each component.
+     */
+    private long[][] rows;
+
+    /* ------------- CONSTRUCTORS ------------------ */
+
+    /**
+     * Constructs the reachability matrix of the specified directed graph.
+     *
+     * @param   graph  a directed graph
+     */
+    public ReachabilityMatrix(final DGraph graph) {
+        this(graph.freeze());
+    }
+
+    /**
+     * Constructs the reachability matrix of the specified frozen graph.
+     *
+     * This treatment is performed in O(n+mn/64), where n corresponds to the number of nodes,
+     * and m corresponds to the number of edges.
+     *
+     * @param   graph  a frozen graph
+     */
+    public ReachabilityMatrix(final FrozenDGraph graph) {
+        this.graph = graph;
+        int n = graph.sizeNodes();
+        this.component = graph.stronglyConnectedComponents();
+        int size = 0;
+        for (int u = 0; u < n; u++) {
+            size = Math.max(size, this.component[u] + 1);
+        }
+        // nodes sorted by component
+        int[] offsets = new int[size + 1];
+        for (int u = 0; u < n; u++) {
+            offsets[this.component[u] + 1]++;
+        }
+        for (int c = 0; c < size; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+        int[] members = new int[n];
+        int[] next = offsets.clone();
+        for (int u = 0; u < n; u++) {
+            members[next[this.component[u]]++] = u;
+        }
+        // components are numbered according to a topological sort
+        this.rows = new long[size][];
+        for (int c = size - 1; c >= 0; c--) {
+            long[] row = BitSetUtils.empty(n);
+            boolean cyclic = false;
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                int u = members[i];
+                for (int k = 0; k < graph.outDegree(u); k++) {
+                    int v = graph.getSuccessor(u, k);
+                    if (this.component[v] == c) {
+                        cyclic = true;
+                    } else if (!BitSetUtils.get(row, v)) {
+                        BitSetUtils.set(row, v);
+                        BitSetUtils.or(row, this.rows[this.component[v]]);
+                    }
+                }
+            }
+            if (cyclic) {
+                for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                    BitSetUtils.set(row, members[i]);
+                }
+            }
+            this.rows[c] = row;
+        }
+    }
+
+    /* --------------- ACCESSOR METHODS ------------ */
+
+    /**
+     * Returns the frozen graph of this component.
+     *
+     * @return  the frozen graph
+     */
+    public FrozenDGraph getGraph() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the number of edges of the transitive closure.
+     *
+     * @return  the number of pairs of nodes (u, v) such that v is reachable from u
+     */
+    public int sizeEdges() {
+        int size = 0;
+        for (int u = 0; u < this.component.length; u++) {
+            size += BitSetUtils.cardinality(this.rows[this.component[u]]);
+        }
+        return size;
+    }
+
+    /**
+     * Checks if the second specified node is reachable from the first one by a non empty path.
+     *
+     * @param   u  the integer of a node
+     * @param   v  the integer of a node
+     *
+     * @return  true if there is a path from u to v
+     */
+    public boolean reaches(int u, int v) {
+        return BitSetUtils.get(this.rows[this.component[u]], v);
+    }
+
+    /**
+     * Checks if the second specified node is reachable from the first one by a non empty path.
+     *
+     * @param   from  a node of the graph
+     * @param   to    a node of the graph
+     *
+     * @return  true if there is a path from `from` to `to`
+     */
+    public boolean reaches(final Node from, final Node to) {
+        int u = this.graph.getId(from);
+        int v = this.graph.getId(to);
+        return u != -1 && v != -1 && this.reaches(u, v);
+    }
+
+    /**
+     * Returns the bitset of the nodes reachable from the specified node.
+     *
+     * @param   u  the integer of a node
+     *
+     * @return  a copy of the row of the node
+     */
+    public long[] getRow(int u) {
+        return this.rows[this.component[u]].clone();
+    }
+
+    /**
+     * Returns the set of majorants of the specified node.
+     *
+     * Majorants of a node are its successors in the transitive closure.
+     *
+     * @param   node  a node of the graph
+     *
+     * @return  the set of majorants
+     */
+    public TreeSet<Node> majorants(final Node node) {
+        TreeSet<Node> majorants = new TreeSet<Node>();
+        long[] row = this.rows[this.component[this.graph.getId(node)]];
+        for (int v = BitSetUtils.nextSetBit(row, 0); v >= 0; v = BitSetUtils.nextSetBit(row, v + 1)) {
+            majorants.add(this.graph.getNode(v));
+        }
+        return majorants;
+    }
+
+    /**
+     * Returns the bitset of the successors of the specified node in the transitive reduction.
+     *
+     * A successor v of u belongs to the reduction when it is not reachable from another successor of u.
+     * The reduction is only defined when the graph is acyclic.
+     * This treatment is performed in O(dn/64), where d corresponds to the number of successors of u,
+     * and n to the number of nodes.
+     *
+     * @param   u  the integer of a node
+     *
+     * @return  the bitset of the reduced successors
+     */
+    public long[] getReducedRow(int u) {
+        int n = this.component.length;
+        long[] reduced = BitSetUtils.empty(n);
+        long[] covered = BitSetUtils.empty(n);
+        for (int k = 0; k < this.graph.outDegree(u); k++) {
+            int v = this.graph.getSuccessor(u, k);
+            if (v != u) {
+                BitSetUtils.set(reduced, v);
+                BitSetUtils.or(covered, this.rows[this.component[v]]);
+            }
+        }
+        BitSetUtils.andNot(reduced, covered);
+        return reduced;
+    }
+
+    /* --------------- GRAPH TREATMENT METHODS ------------ */
+
+    /**
+     * Returns the transitive closure of the graph.
+     *
+     * Edges of the graph keep their content, added edges have no content.
+     *
+     * @return  the transitively closed graph
+     */
+    public FrozenDGraph transitiveClosure() {
+        int n = this.component.length;
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[this.sizeEdges()];
+        int m = 0;
+        for (int u = 0; u < n; u++) {
+            offsets[u] = m;
+            long[] row = this.rows[this.component[u]];
+            for (int v = BitSetUtils.nextSetBit(row, 0); v >= 0; v = BitSetUtils.nextSetBit(row, v + 1)) {
+                targets[m++] = v;
+            }
+        }
+        offsets[n] = m;
+        return this.graph.withEdges(offsets, targets);
+    }
+
+    /**
+     * Returns the transitive reduction of the graph, i.e. its Hasse diagram.
+     *
+     * Loops are ignored, and edges of the reduction keep their content. As for {@link DAGraph},
+     * the reduction is only defined when the graph is acyclic, and has no edges otherwise.
+     *
+     * @return  the transitively reduced graph
+     */
+    public FrozenDGraph transitiveReduction() {
+        int n = this.component.length;
+        int[] offsets = new int[n + 1];
+        if (!this.isAcyclic()) {
+            return this.graph.withEdges(offsets, new int[0]);
+        }
+        int[] targets = new int[this.graph.sizeEdges()];
+        int m = 0;
+        for (int u = 0; u < n; u++) {
+            offsets[u] = m;
+            long[] reduced = this.getReducedRow(u);
+            for (int v = BitSetUtils.nextSetBit(reduced, 0); v >= 0; v = BitSetUtils.nextSetBit(reduced, v + 1)) {
+                targets[m++] = v;
+            }
+        }
+        offsets[n] = m;
+        return this.graph.withEdges(offsets, Arrays.copyOf(targets, m));
+    }
+
+    /**
+     * Checks if the graph is acyclic.
+     *
+     * @return  true if no node is reachable from itself
+     */
+    public boolean isAcyclic() {
+        for (int u = 0; u < this.component.length; u++) {
+            if (this.reaches(u, u)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
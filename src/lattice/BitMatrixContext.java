@@ -0,0 +1,532 @@
+package lattice;
+
+/*
+ * BitMatrixContext.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import java.io.IOException;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import dgraph.Node;
+import utils.BitSetUtils;
+
+/**
+ * This class gives a dense representation of a context, where observations and attributes
+ * are identified by integers and the binary table is stored as a matrix of bits.
+ *
+ * A bit matrix context is composed of
+ *
+ * - an array of observations and an array of attributes, sorted as in a {@link Context},
+ * the position of an element being its identifier;
+ * - a matrix `rows` associating to each observation the set of its attributes;
+ * - a matrix `columns` associating to each attribute the set of its observations.
+ *
+ * Sets of identifiers are stored as arrays of `long` handled by {@link BitSetUtils}.
+ * Derivation and closure operators on such sets are performed with word operations,
+ * without any allocation of `TreeSet`, in O(|O||A|/64).
+ *
+ * A bit matrix context owns properties of a closure system on its attributes,
+ * and thus extends the abstract class {@link ClosureSystem}:
+ * methods {@link #getSet} and {@link #closure} convert sets of attributes
+ * to and from bitsets, so that methods of {@link ClosureSystem} and {@link ConceptLattice}
+ * can be used without modification.
+ *
+ * It also implements {@link BitSetClosure}, so that enumeration algorithms
+ * such as {@link NextClosure} directly work on its bitsets.
+ *
+ * A bit matrix context is not designed to be modified:
+ * it is obtained from a context, and can be converted back using method {@link #getContext}.
+ *
+ * ~~~Java
+ * BitMatrixContext matrix = new BitMatrixContext(context);
+ * long[] closure = matrix.closure(matrix.getAttributeSet(attributes));
+ * ~~~
+ *
+ * ![BitMatrixContext](BitMatrixContext.png)
+ *
+ * @uml BitMatrixContext.png
+ * !include src/lattice/BitMatrixContext.iuml
+ * !include src/lattice/ClosureSystem.iuml
+ *
+ * hide members
+ * show BitMatrixContext members
+ * class BitMatrixContext #LightCyan
+ * title BitMatrixContext UML graph
+ */
+public class BitMatrixContext extends ClosureSystem implements BitSetClosure {
+
+    /* ------------- FIELDS ------------------ */
+
+    /**
+     * The observations, indexed by their identifier.
+     */
+    private Comparable[] observations;
+
+    /**
+     * The attributes, indexed by their identifier.
+     */
+    private Comparable[] attributes;
+
+    /**
+     * A map to associate its identifier to each observation.
+     */
+    private TreeMap<Comparable, Integer> observationIds;
+
+    /**
+     * A map to associate its identifier to each attribute.
+     */
+    private TreeMap<Comparable, Integer> attributeIds;
+
+    /**
+     * The set of attributes of each observation.
+     */
+    private long[][] rows;
+
+    /**
+     * The set of observations of each attribute.
+     */
+    private long[][] columns;
+
+    /**
+     * A working bitset of observations for each thread computing closures.
+     */
+    private ThreadLocal<long[]> buffer = new ThreadLocal<long[]>() {
+        protected long[] initialValue() {
+            return BitMatrixContext.this.newObservationSet();
+        }
+    };
+
+    /* ------------- CONSTRUCTORS ------------------ */
+
+    /**
+     * Constructs the bit matrix representation of the specified context.
+     *
+     * This treatment is performed in O(|O|+|A|+|I|log(|O|+|A|)).
+     *
+     * @param   context  the context to convert
+     */
+    public BitMatrixContext(Context context) {
+        this.observations = context.getObservations().toArray(new Comparable[0]);
+        this.attributes = context.getAttributes().toArray(new Comparable[0]);
+        this.observationIds = new TreeMap<Comparable, Integer>();
+        for (int o = 0; o < this.observations.length; o++) {
+            this.observationIds.put(this.observations[o], o);
+        }
+        this.attributeIds = new TreeMap<Comparable, Integer>();
+        for (int a = 0; a < this.attributes.length; a++) {
+            this.attributeIds.put(this.attributes[a], a);
+        }
+        this.rows = new long[this.observations.length][BitSetUtils.words(this.attributes.length)];
+        this.columns = new long[this.attributes.length][BitSetUtils.words(this.observations.length)];
+        for (int o = 0; o < this.observations.length; o++) {
+            for (Comparable att : context.getIntent(this.observations[o])) {
+                int a = this.attributeIds.get(att);
+                BitSetUtils.set(this.rows[o], a);
+                BitSetUtils.set(this.columns[a], o);
+            }
+        }
+    }
+
+    /* ------------- ACCESSORS ------------------ */
+
+    /**
+     * Returns the number of observations of this component.
+     *
+     * @return  the number of observations
+     */
+    public int sizeObservations() {
+        return this.observations.length;
+    }
+
+    /**
+     * Returns the number of attributes of this component.
+     *
+     * @return  the number of attributes
+     */
+    public int sizeAttributes() {
+        return this.attributes.length;
+    }
+
+    /**
+     * Returns the observation of the specified identifier.
+     *
+     * @param   o  identifier of an observation
+     *
+     * @return  the observation
+     */
+    public Comparable getObservation(int o) {
+        return this.observations[o];
+    }
+
+    /**
+     * Returns the attribute of the specified identifier.
+     *
+     * @param   a  identifier of an attribute
+     *
+     * @return  the attribute
+     */
+    public Comparable getAttribute(int a) {
+        return this.attributes[a];
+    }
+
+    /**
+     * Returns the identifier of the specified observation, or -1 if it does not belong to this component.
+     *
+     * @param   obs  an observation
+     *
+     * @return  the identifier of the observation
+     */
+    public int getObservationId(Comparable obs) {
+        Integer o = this.observationIds.get(obs);
+        if (o == null) {
+            return -1;
+        }
+        return o;
+    }
+
+    /**
+     * Returns the identifier of the specified attribute, or -1 if it does not belong to this component.
+     *
+     * @param   att  an attribute
+     *
+     * @return  the identifier of the attribute
+     */
+    public int getAttributeId(Comparable att) {
+        Integer a = this.attributeIds.get(att);
+        if (a == null) {
+            return -1;
+        }
+        return a;
+    }
+
+    /**
+     * Checks if the specified observation has the specified attribute.
+     *
+     * @param   o  identifier of an observation
+     * @param   a  identifier of an attribute
+     *
+     * @return  true if the pair belongs to the binary relation
+     */
+    public boolean containAsIntent(int o, int a) {
+        return BitSetUtils.get(this.rows[o], a);
+    }
+
+    /**
+     * Returns a new empty set of attributes.
+     *
+     * @return  an empty bitset sized for attributes
+     */
+    public long[] newAttributeSet() {
+        return BitSetUtils.empty(this.attributes.length);
+    }
+
+    /**
+     * Returns a new empty set of observations.
+     *
+     * @return  an empty bitset sized for observations
+     */
+    public long[] newObservationSet() {
+        return BitSetUtils.empty(this.observations.length);
+    }
+
+    /* ------------- CONVERSIONS ------------------ */
+
+    /**
+     * Returns the bitset of the specified set of attributes.
+     *
+     * Elements that are not attributes of this component are ignored.
+     *
+     * @param   set  a set of attributes
+     *
+     * @return  the bitset of their identifiers
+     */
+    public long[] getAttributeSet(TreeSet<Comparable> set) {
+        long[] bits = this.newAttributeSet();
+        for (Comparable att : set) {
+            Integer a = this.attributeIds.get(att);
+            if (a != null) {
+                BitSetUtils.set(bits, a);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the bitset of the specified set of observations.
+     *
+     * Elements that are not observations of this component are ignored.
+     *
+     * @param   set  a set of observations
+     *
+     * @return  the bitset of their identifiers
+     */
+    public long[] getObservationSet(TreeSet<Comparable> set) {
+        long[] bits = this.newObservationSet();
+        for (Comparable obs : set) {
+            Integer o = this.observationIds.get(obs);
+            if (o != null) {
+                BitSetUtils.set(bits, o);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the set of attributes of the specified bitset.
+     *
+     * @param   bits  a bitset of attribute identifiers
+     *
+     * @return  the set of attributes
+     */
+    public TreeSet<Comparable> getAttributes(long[] bits) {
+        TreeSet<Comparable> set = new TreeSet<Comparable>();
+        for (int a = BitSetUtils.nextSetBit(bits, 0); a >= 0; a = BitSetUtils.nextSetBit(bits, a + 1)) {
+            set.add(this.attributes[a]);
+        }
+        return set;
+    }
+
+    /**
+     * Returns the set of observations of the specified bitset.
+     *
+     * @param   bits  a bitset of observation identifiers
+     *
+     * @return  the set of observations
+     */
+    public TreeSet<Comparable> getObservations(long[] bits) {
+        TreeSet<Comparable> set = new TreeSet<Comparable>();
+        for (int o = BitSetUtils.nextSetBit(bits, 0); o >= 0; o = BitSetUtils.nextSetBit(bits, o + 1)) {
+            set.add(this.observations[o]);
+        }
+        return set;
+    }
+
+    /**
+     * Returns the context represented by this component.
+     *
+     * @return  a new context with the same observations, attributes and binary relation
+     */
+    public Context getContext() {
+        Context.Builder builder = new Context.Builder();
+        for (Comparable obs : this.observations) {
+            builder.addToObservations(obs);
+        }
+        for (Comparable att : this.attributes) {
+            builder.addToAttributes(att);
+        }
+        for (int o = 0; o < this.observations.length; o++) {
+            for (int a = BitSetUtils.nextSetBit(this.rows[o], 0); a >= 0; a = BitSetUtils.nextSetBit(this.rows[o], a + 1)) {
+                builder.addExtentIntent(this.observations[o], this.attributes[a]);
+            }
+        }
+        return builder.build();
+    }
+
+    /* ------------- DERIVATION OPERATORS ------------------ */
+
+    /**
+     * Computes in `result` the set of observations having all the attributes of the specified set.
+     *
+     * This treatment is performed in O(|A||O|/64) without any allocation.
+     *
+     * @param   set     a bitset of attributes
+     * @param   result  a bitset of observations, overwritten by the extent
+     */
+    public void extent(long[] set, long[] result) {
+        BitSetUtils.fill(result, this.observations.length);
+        for (int a = BitSetUtils.nextSetBit(set, 0); a >= 0; a = BitSetUtils.nextSetBit(set, a + 1)) {
+            BitSetUtils.and(result, this.columns[a]);
+        }
+    }
+
+    /**
+     * Computes in `result` the set of attributes shared by all the observations of the specified set.
+     *
+     * This treatment is performed in O(|O||A|/64) without any allocation.
+     *
+     * @param   set     a bitset of observations
+     * @param   result  a bitset of attributes, overwritten by the intent
+     */
+    public void intent(long[] set, long[] result) {
+        BitSetUtils.fill(result, this.attributes.length);
+        for (int o = BitSetUtils.nextSetBit(set, 0); o >= 0; o = BitSetUtils.nextSetBit(set, o + 1)) {
+            BitSetUtils.and(result, this.rows[o]);
+        }
+    }
+
+    /**
+     * Returns the set of observations having all the attributes of the specified set.
+     *
+     * @param   set  a bitset of attributes
+     *
+     * @return  a new bitset of observations
+     */
+    public long[] getExtent(long[] set) {
+        long[] result = this.newObservationSet();
+        this.extent(set, result);
+        return result;
+    }
+
+    /**
+     * Returns the set of attributes shared by all the observations of the specified set.
+     *
+     * @param   set  a bitset of observations
+     *
+     * @return  a new bitset of attributes
+     */
+    public long[] getIntent(long[] set) {
+        long[] result = this.newAttributeSet();
+        this.intent(set, result);
+        return result;
+    }
+
+    /**
+     * Computes in `result` the closure of the specified set of attributes,
+     * using `extent` as a working bitset of observations.
+     *
+     * This treatment is performed in O(|O||A|/64) without any allocation.
+     * Working bitsets are given by the caller, so that several threads can share this component.
+     *
+     * @param   set     a bitset of attributes
+     * @param   extent  a bitset of observations, overwritten by the extent of `set`
+     * @param   result  a bitset of attributes, overwritten by the closure of `set`
+     */
+    public void closure(long[] set, long[] extent, long[] result) {
+        this.extent(set, extent);
+        this.intent(extent, result);
+    }
+
+    /**
+     * Returns the closure of the specified set of attributes.
+     *
+     * @param   set  a bitset of attributes
+     *
+     * @return  a new bitset of attributes
+     */
+    public long[] closure(long[] set) {
+        long[] result = this.newAttributeSet();
+        this.closure(set, this.newObservationSet(), result);
+        return result;
+    }
+
+    /**
+     * Computes in `result` the closure of the specified set of attributes.
+     *
+     * The working bitset of observations is allocated once per thread.
+     *
+     * @param   set     a bitset of attributes
+     * @param   result  a bitset of attributes, overwritten by the closure of `set`
+     */
+    public void closure(long[] set, long[] result) {
+        this.closure(set, this.buffer.get(), result);
+    }
+
+    /* ------------- CLOSURE SYSTEM ------------------ */
+
+    /**
+     * Returns the number of attributes of this component.
+     *
+     * @return  the number of attributes
+     */
+    public int size() {
+        return this.attributes.length;
+    }
+
+    /**
+     * Returns the attribute of the specified identifier.
+     *
+     * @param   i  identifier of an attribute
+     *
+     * @return  the attribute
+     */
+    public Comparable getElement(int i) {
+        return this.attributes[i];
+    }
+
+    /**
+     * Returns this component, that implements its own closure operator on bitsets.
+     *
+     * @return  this component
+     */
+    public BitSetClosure getBitSetClosure() {
+        return this;
+    }
+
+    /**
+     * Returns the set of attributes of this component.
+     *
+     * @return  the set of attributes
+     */
+    public TreeSet<Comparable> getSet() {
+        TreeSet<Comparable> set = new TreeSet<Comparable>();
+        for (Comparable att : this.attributes) {
+            set.add(att);
+        }
+        return set;
+    }
+
+    /**
+     * Returns the closure of the specified set of attributes.
+     *
+     * As for a {@link Context}, an element that is not an attribute of this component
+     * has an empty extent, and its closure is therefore the set of all attributes.
+     *
+     * @param   set  the specified set
+     *
+     * @return  the closure
+     */
+    public TreeSet<Comparable> closure(TreeSet<Comparable> set) {
+        for (Comparable att : set) {
+            if (!this.attributeIds.containsKey(att)) {
+                return this.getSet();
+            }
+        }
+        return this.getAttributes(this.closure(this.getAttributeSet(set)));
+    }
+
+    /**
+     * Returns the concept lattice of this component.
+     *
+     * The set B of each concept is its extent.
+     *
+     * @param   diagram  a boolean indicating if the Hasse diagram of the lattice is computed or not
+     *
+     * @return  the concept lattice
+     */
+    public ConceptLattice conceptLattice(boolean diagram) {
+        ConceptLattice csl = this.closedSetLattice(diagram);
+        for (Node n : csl.getNodes()) {
+            Concept cl = (Concept) n;
+            cl.putSetB(new ComparableSet(this.getObservations(this.getExtent(this.getAttributeSet(cl.getSetA())))));
+        }
+        return csl;
+    }
+
+    /**
+     * Returns a string representation of this component, as for a {@link Context}.
+     *
+     * @return  a string representation of this component
+     */
+    public String toString() {
+        return this.getContext().toString();
+    }
+
+    /**
+     * Saves this component in the specified file, as for a {@link Context}.
+     *
+     * @param   filename  the name of the file
+     *
+     * @throws  IOException  When an IOException occurs
+     */
+    public void save(final String filename) throws IOException {
+        this.getContext().save(filename);
+    }
+}
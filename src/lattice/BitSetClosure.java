@@ -0,0 +1,58 @@
+package lattice;
+
+/*
+ * BitSetClosure.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+/**
+ * This interface defines a closure operator on sets of elements identified by integers.
+ *
+ * Elements of the closure system are identified from `0` to `size() - 1`, in the order
+ * of the set returned by {@link ClosureSystem#getSet}, so that the lectic order on bitsets
+ * is the order of {@link ComparableSet}.
+ * Sets are stored as arrays of `long` handled by {@link utils.BitSetUtils}.
+ *
+ * Implementations have to support concurrent invocations of method {@link #closure}.
+ *
+ * ![BitSetClosure](BitSetClosure.png)
+ *
+ * @uml BitSetClosure.png
+ * !include src/lattice/BitSetClosure.iuml
+ *
+ * hide members
+ * show BitSetClosure members
+ * class BitSetClosure #LightCyan
+ * title BitSetClosure UML graph
+ */
+public interface BitSetClosure {
+    /**
+     * Returns the number of elements of the closure system.
+     *
+     * @return  the number of elements
+     */
+    int size();
+
+    /**
+     * Returns the element of the specified identifier.
+     *
+     * @param   i  identifier of an element
+     *
+     * @return  the element
+     */
+    Comparable getElement(int i);
+
+    /**
+     * Computes in `result` the closure of the specified set.
+     *
+     * @param   set     a bitset of elements
+     * @param   result  a bitset of elements, overwritten by the closure of `set`
+     */
+    void closure(long[] set, long[] result);
+}
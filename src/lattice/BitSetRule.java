@@ -0,0 +1,140 @@
+package lattice;
+
+/*
+ * BitSetRule.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+/**
+ * This class gives an immutable representation of an implicational rule
+ * whose premise and conclusion are {@link ComparableBitSet} of a same dictionary.
+ *
+ * Rules are sorted as {@link Rule}, by comparing their premises in the lectic order,
+ * or their conclusion in case of equality of the premises, each comparison being performed in O(|S|/64).
+ *
+ * ![BitSetRule](BitSetRule.png)
+ *
+ * @uml BitSetRule.png
+ * !include src/lattice/BitSetRule.iuml
+ *
+ * hide members
+ * show BitSetRule members
+ * class BitSetRule #LightCyan
+ * title BitSetRule UML graph
+ */
+public final class BitSetRule implements Comparable<BitSetRule> {
+
+    /* ------------- FIELDS ------------------ */
+
+    /**
+     * The premise of the rule.
+     */
+    private final ComparableBitSet premise;
+
+    /**
+     * The conclusion of the rule.
+     */
+    private final ComparableBitSet conclusion;
+
+    /* ------------- CONSTRUCTORS ------------------ */
+
+    /**
+     * Constructs a new rule with the premise and the conclusion given in parameters.
+     *
+     * @param   premise     a set of elements
+     * @param   conclusion  a set of elements of the same dictionary
+     */
+    public BitSetRule(ComparableBitSet premise, ComparableBitSet conclusion) {
+        this.premise = premise;
+        this.conclusion = conclusion;
+    }
+
+    /* ------------- ACCESSORS METHODS ------------------ */
+
+    /**
+     * Returns the premise of this component.
+     *
+     * @return  the premise
+     */
+    public ComparableBitSet getPremise() {
+        return this.premise;
+    }
+
+    /**
+     * Returns the conclusion of this component.
+     *
+     * @return  the conclusion
+     */
+    public ComparableBitSet getConclusion() {
+        return this.conclusion;
+    }
+
+    /* ------------- TRANSFORMERS ------------------ */
+
+    /**
+     * Returns this component as a rule on comparable sets.
+     *
+     * @return  a new rule
+     */
+    public Rule toRule() {
+        return new Rule(this.premise.toSet(), this.conclusion.toSet());
+    }
+
+    /**
+     * Returns a string representation of this component, as for {@link Rule}.
+     *
+     * @return  a string representation of this component
+     */
+    public String toString() {
+        return this.toRule().toString();
+    }
+
+    /* ------------- COMPARATORS ------------------ */
+
+    /**
+     * Returns the hash code of this component.
+     *
+     * @return  hash code of this component
+     */
+    public int hashCode() {
+        return 31 * this.premise.hashCode() + this.conclusion.hashCode();
+    }
+
+    /**
+     * Compares this component with the specified one.
+     *
+     * @param   o  object to compare to this component.
+     *
+     * @return  true if the object is a rule with the same premise and conclusion
+     */
+    public boolean equals(Object o) {
+        if (!(o instanceof BitSetRule)) {
+            return false;
+        }
+        BitSetRule r = (BitSetRule) o;
+        return this.premise.equals(r.premise) && this.conclusion.equals(r.conclusion);
+    }
+
+    /**
+     * Compares this component with the specified one by comparing their premises,
+     * or their conclusion in case of equality of the premises.
+     *
+     * @param   r  rule to compare to this component.
+     *
+     * @return  a negative integer, zero, or a positive integer as this component is less than,
+     * equal to, or greater than the specified rule.
+     */
+    public int compareTo(BitSetRule r) {
+        int cmp = this.premise.compareTo(r.premise);
+        if (cmp == 0) {
+            return this.conclusion.compareTo(r.conclusion);
+        }
+        return cmp;
+    }
+}
@@ -0,0 +1,428 @@
+package lattice;
+
+/*
+ * CanonicalBasis.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import utils.BitSetUtils;
+
+/**
+ * This class enumerates the rules of the canonical basis (or Duquenne-Guigues basis)
+ * of a closure operator on bitsets, using the Ganter's algorithm.
+ *
+ * Premises of the canonical basis are the pseudo-closed sets of the closure operator.
+ * They are enumerated in the lectic order by a {@link NextClosure} enumerator working on the closure
+ * operator L* of the set L of rules already generated, where L*(X) is the smallest set containing X
+ * and the conclusion of each rule of L whose premise is strictly included in it.
+ * An L*-closed set P that is not closed is pseudo-closed, and the rule P -> P''\P is then added to L.
+ *
+ * Rules are streamed without generating the closed set lattice, either as bitsets,
+ * with methods {@link #advance}, {@link #getPremise} and {@link #getConclusion},
+ * or as rules, with the `Iterator<Rule>` interface.
+ *
+ * ~~~Java
+ * CanonicalBasis basis = new CanonicalBasis(context);
+ * while (basis.hasNext()) {
+ *     Rule rule = basis.next();
+ * }
+ * ~~~
+ *
+ * Each L*-closed set is computed with at most |S| closures by L*, each of them in O(|S|+|L|)
+ * as for {@link LinClosure}, and a closure by the closure operator.
+ *
+ * ![CanonicalBasis](CanonicalBasis.png)
+ *
+ * @uml CanonicalBasis.png
+ * !include src/lattice/CanonicalBasis.iuml
+ * !include src/lattice/BitSetClosure.iuml
+ *
+ * hide members
+ * show CanonicalBasis members
+ * class CanonicalBasis #LightCyan
+ * title CanonicalBasis UML graph
+ */
+public class CanonicalBasis implements Iterator<Rule> {
+
+    /* ------------- FIELDS ------------------ */
+
+    /**
+     * The closure operator.
+     */
+    private BitSetClosure operator;
+
+    /**
+     * The closure operator of the rules already generated.
+     */
+    private ImplicationClosure implications;
+
+    /**
+     * The enumerator of the sets closed for the rules already generated.
+     */
+    private NextClosure enumerator;
+
+    /**
+     * The premise of the current rule.
+     */
+    private long[] premise;
+
+    /**
+     * The conclusion of the current rule.
+     */
+    private long[] conclusion;
+
+    /**
+     * True when the next rule has been computed but not returned yet.
+     */
+    private boolean computed;
+
+    /* ------------- CONSTRUCTORS ------------------ */
+
+    /**
+     * Constructs an enumerator of the canonical basis of the specified closure operator.
+     *
+     * @param   operator  a closure operator on bitsets
+     */
+    public CanonicalBasis(BitSetClosure operator) {
+        this.operator = operator;
+        this.implications = new ImplicationClosure(operator);
+        this.enumerator = new NextClosure(this.implications);
+        this.premise = null;
+        this.conclusion = BitSetUtils.empty(operator.size());
+        this.computed = false;
+    }
+
+    /**
+     * Constructs an enumerator of the canonical basis of the specified closure system.
+     *
+     * @param   system  a closure system
+     */
+    public CanonicalBasis(ClosureSystem system) {
+        this(system.getBitSetClosure());
+    }
+
+    /* ------------- BITSET ENUMERATION ------------------ */
+
+    /**
+     * Computes the next rule of the canonical basis, returning false when there is none.
+     *
+     * The bitsets returned by {@link #getPremise} and {@link #getConclusion} are overwritten by this method.
+     *
+     * @return  true if a next rule has been computed
+     */
+    public boolean advance() {
+        if (this.computed) {
+            this.computed = false;
+            return true;
+        }
+        while (this.enumerator.advance()) {
+            long[] candidate = this.enumerator.getCurrent();
+            this.operator.closure(candidate, this.conclusion);
+            if (!BitSetUtils.equals(candidate, this.conclusion)) {
+                this.premise = candidate;
+                BitSetUtils.andNot(this.conclusion, candidate);
+                this.implications.addRule(this.premise, this.conclusion);
+                return true;
+            }
+        }
+        this.premise = null;
+        return false;
+    }
+
+    /**
+     * Returns the premise of the current rule, that is a pseudo-closed set.
+     *
+     * The returned bitset belongs to this component, and is overwritten by method {@link #advance}.
+     *
+     * @return  the premise of the current rule
+     */
+    public long[] getPremise() {
+        return this.premise;
+    }
+
+    /**
+     * Returns the conclusion of the current rule, that is the closure of its premise without the premise.
+     *
+     * The returned bitset belongs to this component, and is overwritten by method {@link #advance}.
+     *
+     * @return  the conclusion of the current rule
+     */
+    public long[] getConclusion() {
+        return this.conclusion;
+    }
+
+    /**
+     * Returns the set of elements of the specified bitset.
+     *
+     * @param   bits  a bitset of elements
+     *
+     * @return  the set of elements
+     */
+    public ComparableSet getElements(long[] bits) {
+        ComparableSet set = new ComparableSet();
+        for (int i = BitSetUtils.nextSetBit(bits, 0); i >= 0; i = BitSetUtils.nextSetBit(bits, i + 1)) {
+            set.add(this.operator.getElement(i));
+        }
+        return set;
+    }
+
+    /* ------------- ITERATOR ------------------ */
+
+    /**
+     * Checks if there is a next rule.
+     *
+     * @return  true if there is a next rule
+     */
+    public boolean hasNext() {
+        if (!this.computed) {
+            this.computed = this.advance();
+        }
+        return this.computed;
+    }
+
+    /**
+     * Returns the next rule of the canonical basis.
+     *
+     * @return  the next rule
+     */
+    public Rule next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        this.computed = false;
+        return new Rule(this.getElements(this.premise), this.getElements(this.conclusion));
+    }
+
+    /**
+     * Unsupported operation.
+     */
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /* ------------- IMPLICATION CLOSURE ------------------ */
+
+    /**
+     * This class gives the closure operator L* of a growing set L of rules on bitsets.
+     *
+     * As for {@link LinClosure}, the conclusion of a rule is added when a counter
+     * of the missing elements of its premise reaches zero, but only once
+     * the premise is strictly included in the closure being computed.
+     * Working arrays are shared, and closures can not be computed concurrently.
+     */
+    private static class ImplicationClosure implements BitSetClosure {
+        /**
+         * The closure operator giving the elements.
+         */
+        private BitSetClosure operator;
+
+        /**
+         * The number of rules.
+         */
+        private int nbRules;
+
+        /**
+         * The number of elements of the premise of each rule.
+         */
+        private int[] premiseSizes;
+
+        /**
+         * The elements of the conclusion of each rule.
+         */
+        private int[][] conclusions;
+
+        /**
+         * The rules whose premise contains each element.
+         */
+        private int[][] index;
+
+        /**
+         * The number of rules whose premise contains each element.
+         */
+        private int[] degrees;
+
+        /**
+         * The rules whose premise is empty.
+         */
+        private int[] axioms;
+
+        /**
+         * The number of rules whose premise is empty.
+         */
+        private int nbAxioms;
+
+        /**
+         * The working counters of the missing elements of each premise.
+         */
+        private int[] counter;
+
+        /**
+         * The working rules whose premise is equal to the closure being computed.
+         */
+        private int[] pending;
+
+        /**
+         * The working stack of elements to propagate.
+         */
+        private int[] stack;
+
+        /**
+         * Constructs the closure operator of an empty set of rules on the elements of the specified operator.
+         *
+         * @param   operator  a closure operator on bitsets
+         */
+        ImplicationClosure(BitSetClosure operator) {
+            this.operator = operator;
+            int n = operator.size();
+            this.nbRules = 0;
+            this.premiseSizes = new int[1];
+            this.conclusions = new int[1][];
+            this.index = new int[n][];
+            for (int i = 0; i < n; i++) {
+                this.index[i] = new int[1];
+            }
+            this.degrees = new int[n];
+            this.axioms = new int[1];
+            this.nbAxioms = 0;
+            this.counter = new int[1];
+            this.pending = new int[1];
+            this.stack = new int[n];
+        }
+
+        /**
+         * Adds the specified rule.
+         *
+         * @param   premise     a bitset of elements
+         * @param   conclusion  a bitset of elements
+         */
+        void addRule(long[] premise, long[] conclusion) {
+            int r = this.nbRules++;
+            if (r == this.premiseSizes.length) {
+                this.premiseSizes = Arrays.copyOf(this.premiseSizes, 2 * r);
+                this.conclusions = Arrays.copyOf(this.conclusions, 2 * r);
+                this.counter = new int[2 * r];
+                this.pending = new int[2 * r];
+            }
+            this.premiseSizes[r] = BitSetUtils.cardinality(premise);
+            if (this.premiseSizes[r] == 0) {
+                if (this.nbAxioms == this.axioms.length) {
+                    this.axioms = Arrays.copyOf(this.axioms, 2 * this.nbAxioms);
+                }
+                this.axioms[this.nbAxioms++] = r;
+            }
+            for (int i = BitSetUtils.nextSetBit(premise, 0); i >= 0; i = BitSetUtils.nextSetBit(premise, i + 1)) {
+                if (this.degrees[i] == this.index[i].length) {
+                    this.index[i] = Arrays.copyOf(this.index[i], 2 * this.degrees[i]);
+                }
+                this.index[i][this.degrees[i]++] = r;
+            }
+            this.conclusions[r] = new int[BitSetUtils.cardinality(conclusion)];
+            int k = 0;
+            for (int i = BitSetUtils.nextSetBit(conclusion, 0); i >= 0; i = BitSetUtils.nextSetBit(conclusion, i + 1)) {
+                this.conclusions[r][k++] = i;
+            }
+        }
+
+        /**
+         * Returns the number of elements.
+         *
+         * @return  the number of elements
+         */
+        public int size() {
+            return this.stack.length;
+        }
+
+        /**
+         * Returns the element of the specified identifier.
+         *
+         * @param   i  identifier of an element
+         *
+         * @return  the element
+         */
+        public Comparable getElement(int i) {
+            return this.operator.getElement(i);
+        }
+
+        /**
+         * Computes in `result` the closure of the specified set by the rules.
+         *
+         * @param   set     a bitset of elements
+         * @param   result  a bitset of elements, overwritten by the closure of `set`
+         */
+        public void closure(long[] set, long[] result) {
+            System.arraycopy(this.premiseSizes, 0, this.counter, 0, this.nbRules);
+            BitSetUtils.copy(set, result);
+            int top = 0;
+            for (int i = BitSetUtils.nextSetBit(set, 0); i >= 0; i = BitSetUtils.nextSetBit(set, i + 1)) {
+                this.stack[top++] = i;
+            }
+            int size = top;
+            int nbPending = 0;
+            for (int a = 0; a < this.nbAxioms; a++) {
+                this.pending[nbPending++] = this.axioms[a];
+            }
+            while (true) {
+                // pending rules are fired as soon as their premise is strictly included in the closure
+                if (nbPending > 0) {
+                    int kept = 0;
+                    for (int p = 0; p < nbPending; p++) {
+                        int r = this.pending[p];
+                        if (this.premiseSizes[r] < size) {
+                            int newTop = this.fire(r, result, top);
+                            size += newTop - top;
+                            top = newTop;
+                        } else {
+                            this.pending[kept++] = r;
+                        }
+                    }
+                    nbPending = kept;
+                }
+                if (top == 0) {
+                    return;
+                }
+                int e = this.stack[--top];
+                for (int k = 0; k < this.degrees[e]; k++) {
+                    int r = this.index[e][k];
+                    if (--this.counter[r] == 0) {
+                        if (this.premiseSizes[r] < size) {
+                            int newTop = this.fire(r, result, top);
+                            size += newTop - top;
+                            top = newTop;
+                        } else {
+                            this.pending[nbPending++] = r;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds the conclusion of the specified rule to the closure, new elements being pushed on the stack.
+         *
+         * @param   r       identifier of a rule
+         * @param   result  the closure being computed
+         * @param   top     the size of the stack
+         *
+         * @return  the new size of the stack
+         */
+        private int fire(int r, long[] result, int top) {
+            for (int i : this.conclusions[r]) {
+                if (!BitSetUtils.get(result, i)) {
+                    BitSetUtils.set(result, i);
+                    this.stack[top++] = i;
+                }
+            }
+            return top;
+        }
+    }
+}
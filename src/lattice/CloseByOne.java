@@ -0,0 +1,311 @@
+package lattice;
+
+/*
+ * CloseByOne.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import utils.BitSetUtils;
+
+/**
+ * This class generates the closed sets of a closure operator on bitsets
+ * using the Fast Close-by-One algorithm (FCbO) of Outrata and Vychodil,
+ * on a pool of threads.
+ *
+ * Closed sets are generated as a tree: the children of a closed set A generated from element y
+ * are the closures B of A union {j}, for j >= y not in A, such that B and A contain the same elements lower than j.
+ * A closure failing this canonicity test at j is kept, and prevents the computation
+ * of the closures at j in the subtrees while A does not contain its elements lower than j.
+ *
+ * Subtrees of the first levels of the tree, i.e. subtrees defined by a prefix of elements,
+ * are explored by different tasks of a `ForkJoinPool` whose parallelism is specified.
+ * Closed sets are then returned either in the order of their generation,
+ * or in the lectic order of {@link ClosureSystem#allClosures} when a deterministic output is required.
+ *
+ * ~~~Java
+ * CloseByOne cbo = new CloseByOne(context.getBitSetClosure(), 8, true);
+ * Vector<Concept> closures = cbo.getClosures();
+ * ~~~
+ *
+ * ![CloseByOne](CloseByOne.png)
+ *
+ * @uml CloseByOne.png
+ * !include src/lattice/CloseByOne.iuml
+ * !include src/lattice/BitSetClosure.iuml
+ *
+ * hide members
+ * show CloseByOne members
+ * class CloseByOne #LightCyan
+ * title CloseByOne UML graph
+ */
+public class CloseByOne {
+
+    /* ------------- FIELDS ------------------ */
+
+    /**
+     * Depth of the tree of closed sets until which subtrees are explored by distinct tasks.
+     */
+    private static final int SPLIT_DEPTH = 3;
+
+    /**
+     * The closure operator.
+     */
+    private BitSetClosure operator;
+
+    /**
+     * The number of elements.
+     */
+    private int size;
+
+    /**
+     * The number of threads.
+     */
+    private int parallelism;
+
+    /**
+     * True if closed sets are returned in the lectic order.
+     */
+    private boolean ordered;
+
+    /* ------------- CONSTRUCTORS ------------------ */
+
+    /**
+     * Constructs a generator of the closed sets of the specified closure operator
+     * using all available processors, and returning closed sets in the lectic order.
+     *
+     * @param   operator  a closure operator on bitsets
+     */
+    public CloseByOne(BitSetClosure operator) {
+        this(operator, Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    /**
+     * Constructs a generator of the closed sets of the specified closure operator.
+     *
+     * @param   operator     a closure operator on bitsets, supporting concurrent invocations
+     * @param   parallelism  the number of threads
+     * @param   ordered      true if closed sets have to be returned in the lectic order
+     */
+    public CloseByOne(BitSetClosure operator, int parallelism, boolean ordered) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.operator = operator;
+        this.size = operator.size();
+        this.parallelism = parallelism;
+        this.ordered = ordered;
+    }
+
+    /* ------------- ACCESSORS ------------------ */
+
+    /**
+     * Returns the number of threads used by this component.
+     *
+     * @return  the number of threads
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Checks if closed sets are returned in the lectic order.
+     *
+     * @return  true if the output order is deterministic
+     */
+    public boolean isOrdered() {
+        return this.ordered;
+    }
+
+    /* ------------- GENERATION ------------------ */
+
+    /**
+     * Returns all the closed sets as bitsets.
+     *
+     * @return  the list of closed sets
+     */
+    public List<long[]> getClosedSets() {
+        ConcurrentLinkedQueue<long[]> output = new ConcurrentLinkedQueue<long[]>();
+        long[] bottom = BitSetUtils.empty(this.size);
+        this.operator.closure(BitSetUtils.empty(this.size), bottom);
+        long[][] failed = new long[this.size][];
+        long[] empty = BitSetUtils.empty(this.size);
+        for (int j = 0; j < this.size; j++) {
+            failed[j] = empty;
+        }
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            pool.invoke(new Generation(bottom, 0, failed, 0, output));
+        } finally {
+            pool.shutdown();
+        }
+        List<long[]> closedSets = new ArrayList<long[]>(output);
+        if (this.ordered) {
+            Collections.sort(closedSets, new Comparator<long[]>() {
+                public int compare(long[] set, long[] other) {
+                    return BitSetUtils.compare(set, other);
+                }
+            });
+        }
+        return closedSets;
+    }
+
+    /**
+     * Returns all the closed sets as concepts without set B.
+     *
+     * @return  the closed sets
+     */
+    public Vector<Concept> getClosures() {
+        List<long[]> closedSets = this.getClosedSets();
+        Vector<Concept> closures = new Vector<Concept>(closedSets.size());
+        for (long[] bits : closedSets) {
+            TreeSet<Comparable> set = new TreeSet<Comparable>();
+            for (int i = BitSetUtils.nextSetBit(bits, 0); i >= 0; i = BitSetUtils.nextSetBit(bits, i + 1)) {
+                set.add(this.operator.getElement(i));
+            }
+            closures.add(new Concept(set, false));
+        }
+        return closures;
+    }
+
+    /**
+     * Outputs the specified closed set and generates the closed sets of its subtree.
+     *
+     * Arrays of `failed` are never modified once created, and can therefore be shared between tasks.
+     *
+     * @param   closed  a closed set
+     * @param   from    the first element that can be added to the closed set
+     * @param   failed  for each element j, a closure that failed the canonicity test at j
+     * @param   depth   the depth of the closed set in the tree
+     * @param   output  the queue of generated closed sets
+     */
+    private void generate(long[] closed, int from, long[][] failed, int depth, ConcurrentLinkedQueue<long[]> output) {
+        output.add(closed);
+        if (from >= this.size || BitSetUtils.cardinality(closed) == this.size) {
+            return;
+        }
+        long[][] children = new long[this.size][];
+        long[][] childFailed = failed.clone();
+        long[] candidate = closed.clone();
+        for (int j = from; j < this.size; j++) {
+            if (!BitSetUtils.get(closed, j) && this.includedBefore(failed[j], closed, j)) {
+                BitSetUtils.set(candidate, j);
+                long[] closure = BitSetUtils.empty(this.size);
+                this.operator.closure(candidate, closure);
+                BitSetUtils.clear(candidate, j);
+                if (BitSetUtils.equalsBefore(closure, closed, j)) {
+                    children[j] = closure;
+                } else {
+                    childFailed[j] = closure;
+                }
+            }
+        }
+        if (depth < SPLIT_DEPTH && this.parallelism > 1) {
+            List<Generation> tasks = new ArrayList<Generation>();
+            for (int j = from; j < this.size; j++) {
+                if (children[j] != null) {
+                    tasks.add(new Generation(children[j], j + 1, childFailed, depth + 1, output));
+                }
+            }
+            RecursiveAction.invokeAll(tasks);
+        } else {
+            for (int j = from; j < this.size; j++) {
+                if (children[j] != null) {
+                    this.generate(children[j], j + 1, childFailed, depth + 1, output);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the elements of `set` lower than `j` belong to `other`.
+     *
+     * @param   set    a set
+     * @param   other  another set
+     * @param   j      the upper bound (excluded)
+     *
+     * @return  true if `set` inter {0, ..., j-1} is included in `other`
+     */
+    private boolean includedBefore(long[] set, long[] other, int j) {
+        int w = j / BitSetUtils.WORD_SIZE;
+        for (int k = 0; k < w; k++) {
+            if ((set[k] & ~other[k]) != 0) {
+                return false;
+            }
+        }
+        if (j % BitSetUtils.WORD_SIZE == 0) {
+            return true;
+        }
+        long mask = (1L << j) - 1;
+        return (set[w] & ~other[w] & mask) == 0;
+    }
+
+    /**
+     * This class is the task generating the subtree of a closed set.
+     */
+    private class Generation extends RecursiveAction {
+        /**
+         * The closed set.
+         */
+        private long[] closed;
+
+        /**
+         * The first element that can be added to the closed set.
+         */
+        private int from;
+
+        /**
+         * For each element, a closure that failed the canonicity test.
+         */
+        private long[][] failed;
+
+        /**
+         * The depth of the closed set.
+         */
+        private int depth;
+
+        /**
+         * The queue of generated closed sets.
+         */
+        private ConcurrentLinkedQueue<long[]> output;
+
+        /**
+         * Constructs the task generating the subtree of the specified closed set.
+         *
+         * @param   closed  a closed set
+         * @param   from    the first element that can be added to the closed set
+         * @param   failed  for each element, a closure that failed the canonicity test
+         * @param   depth   the depth of the closed set
+         * @param   output  the queue of generated closed sets
+         */
+        Generation(long[] closed, int from, long[][] failed, int depth, ConcurrentLinkedQueue<long[]> output) {
+            this.closed = closed;
+            this.from = from;
+            this.failed = failed;
+            this.depth = depth;
+            this.output = output;
+        }
+
+        /**
+         * Generates the subtree.
+         */
+        protected void compute() {
+            CloseByOne.this.generate(this.closed, this.from, this.failed, this.depth, this.output);
+        }
+    }
+}
@@ -19,6 +19,7 @@ import java.util.Vector;
 import dgraph.DAGraph;
 import dgraph.DGraph;
 import dgraph.Node;
+import utils.BitSetUtils;
 
 /**
  * This class is an abstract class defining the common behavior of closure systems,
@@ -55,6 +56,28 @@ import dgraph.Node;
  */
 public abstract class ClosureSystem {
 
+    /* ------------- FIELDS ------------------ */
+
+    /**
+     * The cached precedence graph, or null when it has to be computed.
+     */
+    private DGraph precedence = null;
+
+    /**
+     * The cached acyclic graph of strongly connected components of the precedence graph.
+     */
+    private DAGraph acyclicPrecedence = null;
+
+    /**
+     * A map to associate to each element its strongly connected component.
+     */
+    private TreeMap<Comparable, Node> components = null;
+
+    /**
+     * A map to associate to each strongly connected component its minorants in the acyclic graph.
+     */
+    private TreeMap<Node, TreeSet<Node>> componentMinorants = null;
+
     /* ------------- ABSTRACT METHODS ------------------ */
 
     /**
@@ -155,6 +178,23 @@ public abstract class ClosureSystem {
         return allclosure;
     }
 
+    /**
+     * Returns all the closed sets of this component, generated on several threads.
+     *
+     * Closed sets are generated by a {@link CloseByOne} generator
+     * working on the closure operator returned by {@link #getBitSetClosure},
+     * whose closure computations have to support concurrent invocations.
+     * When `ordered` is true, closed sets are returned in the lectic order, as for {@link #allClosures}.
+     *
+     * @param   parallelism  the number of threads
+     * @param   ordered      true if closed sets have to be returned in the lectic order
+     *
+     * @return  all the closed sets
+     */
+    public Vector<Concept> allClosures(int parallelism, boolean ordered) {
+        return new CloseByOne(this.getBitSetClosure(), parallelism, ordered).getClosures();
+    }
+
     /**
      * Returns the lecticaly next closed set of the specified one.
      *
@@ -191,6 +231,65 @@ public abstract class ClosureSystem {
         return new Concept(setA, false);
     }
 
+    /**
+     * Returns an iterator over all the closed sets of this component in the lectic order.
+     *
+     * Contrary to {@link #allClosures}, closed sets are streamed by a {@link NextClosure} enumerator
+     * working on bitsets, without storing nor searching the closed sets already generated.
+     *
+     * @return  an iterator over the closed sets
+     */
+    public NextClosure closureIterator() {
+        return new NextClosure(this.getBitSetClosure());
+    }
+
+    /**
+     * Returns an iterator over the rules of the canonical basis of this component.
+     *
+     * Rules are streamed by a {@link CanonicalBasis} enumerator working on bitsets,
+     * without generating the closed set lattice of this component.
+     *
+     * @return  an iterator over the rules of the canonical basis
+     */
+    public CanonicalBasis canonicalBasisIterator() {
+        return new CanonicalBasis(this.getBitSetClosure());
+    }
+
+    /**
+     * Returns the canonical basis (or Duquenne-Guigues basis) of this component.
+     *
+     * Premises are the pseudo-closed sets of this component, and the conclusion of a rule
+     * is the closure of its premise without its premise.
+     * Rules are generated by the enumerator returned by {@link #canonicalBasisIterator},
+     * so that only the basis is stored.
+     *
+     * @return  the canonical basis of this component
+     */
+    public ImplicationalSystem canonicalBasis() {
+        ImplicationalSystem basis = new ImplicationalSystem();
+        for (Comparable e : this.getSet()) {
+            basis.addElement(e);
+        }
+        CanonicalBasis rules = this.canonicalBasisIterator();
+        while (rules.hasNext()) {
+            basis.addRule(rules.next());
+        }
+        return basis;
+    }
+
+    /**
+     * Returns the closure operator of this component on bitsets.
+     *
+     * Elements are identified by their position in {@link #getSet}.
+     * This default implementation returns a {@link DefaultBitSetClosure} that invokes {@link #closure},
+     * and should be overriden by closure systems providing a native bitset closure.
+     *
+     * @return  the closure operator on bitsets
+     */
+    public BitSetClosure getBitSetClosure() {
+        return new DefaultBitSetClosure(this);
+    }
+
 
    /**
     * Returns the precedence graph of this component.
@@ -309,6 +408,172 @@ public abstract class ClosureSystem {
         // Finally, return the list of reducible elements with their equivalent attributes.
         return red;
     }
-    
+
+    /* --------------- PRECEDENCE GRAPH CACHE ------------ */
+
+    /**
+     * Returns the precedence graph of this component, computed once and kept
+     * until this component is modified.
+     *
+     * Contrary to {@link #precedenceGraph}, the returned graph is shared and must not be modified.
+     *
+     * @return  the cached precedence graph
+     */
+    public DGraph getPrecedenceGraph() {
+        if (this.precedence == null) {
+            this.precedence = this.precedenceGraph();
+        }
+        return this.precedence;
+    }
+
+    /**
+     * Returns the acyclic graph of strongly connected components of the precedence graph,
+     * computed once and kept until this component is modified.
+     *
+     * The returned graph is shared and must not be modified.
+     *
+     * @return  the cached acyclic precedence graph
+     */
+    public DAGraph getAcyclicPrecedenceGraph() {
+        if (this.acyclicPrecedence == null) {
+            this.acyclicPrecedence = this.getPrecedenceGraph().getStronglyConnectedComponent();
+        }
+        return this.acyclicPrecedence;
+    }
+
+    /**
+     * Returns the strongly connected component of the precedence graph containing the specified element.
+     *
+     * The index of components is computed once in O(|S|log|S|), and kept until this component is modified.
+     *
+     * @param   x  an element
+     *
+     * @return  the node of the acyclic precedence graph containing `x`, or null
+     */
+    public Node getComponent(Comparable x) {
+        if (this.components == null) {
+            TreeMap<Comparable, Node> index = new TreeMap<Comparable, Node>();
+            for (Node cc : this.getAcyclicPrecedenceGraph().getNodes()) {
+                for (Node y : (TreeSet<Node>) cc.getContent()) {
+                    index.put((Comparable) y.getContent(), cc);
+                }
+            }
+            this.components = index;
+        }
+        return this.components.get(x);
+    }
+
+    /**
+     * Returns the minorants of the specified strongly connected component in the acyclic precedence graph.
+     *
+     * Minorants of all the components are computed with one transitive closure,
+     * and kept until this component is modified.
+     * The returned set is shared and must not be modified.
+     *
+     * @param   cc  a node of the acyclic precedence graph
+     *
+     * @return  the set of minorants of `cc`
+     */
+    public TreeSet<Node> getComponentMinorants(Node cc) {
+        if (this.componentMinorants == null) {
+            DAGraph closed = new DAGraph(this.getAcyclicPrecedenceGraph());
+            closed.transitiveClosure();
+            TreeMap<Node, TreeSet<Node>> minorants = new TreeMap<Node, TreeSet<Node>>();
+            for (Node node : closed.getNodes()) {
+                minorants.put(node, closed.getPredecessorNodes(node));
+            }
+            this.componentMinorants = minorants;
+        }
+        return this.componentMinorants.get(cc);
+    }
+
+    /**
+     * Clears the cached precedence graph and strongly connected components of this component.
+     *
+     * This method is invoked by methods modifying a closure system,
+     * and has to be invoked by extending classes each time their closure operator is modified.
+     */
+    public void invalidatePrecedenceGraph() {
+        this.precedence = null;
+        this.acyclicPrecedence = null;
+        this.components = null;
+        this.componentMinorants = null;
+    }
+
+    /* --------------- BITSET CLOSURE ------------ */
+
+    /**
+     * This class gives the closure operator on bitsets of any closure system.
+     *
+     * Bitsets are converted to sets of elements before invoking method {@link ClosureSystem#closure},
+     * and closures are converted back to bitsets.
+     */
+    public static class DefaultBitSetClosure implements BitSetClosure {
+        /**
+         * The closure system.
+         */
+        private ClosureSystem system;
+
+        /**
+         * The elements of the closure system, indexed by their identifier.
+         */
+        private Comparable[] elements;
+
+        /**
+         * A map to associate its identifier to each element.
+         */
+        private TreeMap<Comparable, Integer> ids;
+
+        /**
+         * Constructs the closure operator on bitsets of the specified closure system.
+         *
+         * @param   system  a closure system
+         */
+        public DefaultBitSetClosure(ClosureSystem system) {
+            this.system = system;
+            this.elements = system.getSet().toArray(new Comparable[0]);
+            this.ids = new TreeMap<Comparable, Integer>();
+            for (int i = 0; i < this.elements.length; i++) {
+                this.ids.put(this.elements[i], i);
+            }
+        }
+
+        /**
+         * Returns the number of elements of the closure system.
+         *
+         * @return  the number of elements
+         */
+        public int size() {
+            return this.elements.length;
+        }
+
+        /**
+         * Returns the element of the specified identifier.
+         *
+         * @param   i  identifier of an element
+         *
+         * @return  the element
+         */
+        public Comparable getElement(int i) {
+            return this.elements[i];
+        }
+
+        /**
+         * Computes in `result` the closure of the specified set.
+         *
+         * @param   set     a bitset of elements
+         * @param   result  a bitset of elements, overwritten by the closure of `set`
+         */
+        public void closure(long[] set, long[] result) {
+            TreeSet<Comparable> elts = new TreeSet<Comparable>();
+            for (int i = BitSetUtils.nextSetBit(set, 0); i >= 0; i = BitSetUtils.nextSetBit(set, i + 1)) {
+                elts.add(this.elements[i]);
+            }
+            BitSetUtils.clear(result);
+            for (Comparable x : this.system.closure(elts)) {
+                BitSetUtils.set(result, this.ids.get(x));
+            }
+        }
+    }
 }
 
@@ -0,0 +1,258 @@
+package lattice;
+
+/*
+ * ComparableBitSet.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import utils.BitSetUtils;
+
+/**
+ * This class gives a compact and immutable representation of a set of elements of an {@link ElementDictionary}
+ * as an array of `long` handled by {@link BitSetUtils}.
+ *
+ * Sets are compared using the lectic order, as for {@link ComparableSet},
+ * and inclusion, union, intersection and difference are performed word by word in O(|S|/64)
+ * without modifying the operands. A comparable bitset can thus be used as a key of a sorted collection.
+ *
+ * The `TreeSet` API is provided by a view returned by {@link #toSet}.
+ *
+ * ![ComparableBitSet](ComparableBitSet.png)
+ *
+ * @uml ComparableBitSet.png
+ * !include src/lattice/ComparableBitSet.iuml
+ *
+ * hide members
+ * show ComparableBitSet members
+ * class ComparableBitSet #LightCyan
+ * title ComparableBitSet UML graph
+ */
+public final class ComparableBitSet implements Comparable<ComparableBitSet> {
+
+    /* ------------- FIELDS ------------------ */
+
+    /**
+     * The dictionary of the elements.
+     */
+    private final ElementDictionary dictionary;
+
+    /**
+     * The bitset of the identifiers of the elements.
+     */
+    private final long[] bits;
+
+    /**
+     * The hash code of this component.
+     */
+    private final int hash;
+
+    /* ------------- CONSTRUCTORS ------------------ */
+
+    /**
+     * Constructs the set of the specified bitset, that is not copied.
+     *
+     * @param   dictionary  the dictionary of the elements
+     * @param   bits        a bitset of identifiers
+     */
+    ComparableBitSet(ElementDictionary dictionary, long[] bits) {
+        this.dictionary = dictionary;
+        this.bits = bits;
+        this.hash = BitSetUtils.hashCode(bits);
+    }
+
+    /* ------------- ACCESSORS ------------------ */
+
+    /**
+     * Returns the dictionary of the elements of this component.
+     *
+     * @return  the dictionary
+     */
+    public ElementDictionary getDictionary() {
+        return this.dictionary;
+    }
+
+    /**
+     * Returns a copy of the bitset of this component.
+     *
+     * @return  a bitset of identifiers
+     */
+    public long[] toBitSet() {
+        return this.bits.clone();
+    }
+
+    /**
+     * Returns the number of elements of this component.
+     *
+     * @return  the number of elements
+     */
+    public int size() {
+        return BitSetUtils.cardinality(this.bits);
+    }
+
+    /**
+     * Checks if this component is empty.
+     *
+     * @return  true if this component is empty
+     */
+    public boolean isEmpty() {
+        return BitSetUtils.isEmpty(this.bits);
+    }
+
+    /**
+     * Checks if this component contains the element of the specified identifier.
+     *
+     * @param   i  identifier of an element
+     *
+     * @return  true if the element belongs to this component
+     */
+    public boolean contains(int i) {
+        return BitSetUtils.get(this.bits, i);
+    }
+
+    /**
+     * Checks if this component contains the specified element.
+     *
+     * @param   e  an element
+     *
+     * @return  true if the element belongs to this component
+     */
+    public boolean contains(Comparable e) {
+        int i = this.dictionary.getId(e);
+        return i >= 0 && BitSetUtils.get(this.bits, i);
+    }
+
+    /* ------------- OPERATIONS ------------------ */
+
+    /**
+     * Checks if this component is included in the specified one.
+     *
+     * @param   set  a set of the same dictionary
+     *
+     * @return  true if this component is a subset of `set`
+     */
+    public boolean isSubsetOf(ComparableBitSet set) {
+        return BitSetUtils.isSubset(this.bits, set.bits);
+    }
+
+    /**
+     * Checks if this component intersects the specified one.
+     *
+     * @param   set  a set of the same dictionary
+     *
+     * @return  true if both sets have a common element
+     */
+    public boolean intersects(ComparableBitSet set) {
+        return BitSetUtils.intersects(this.bits, set.bits);
+    }
+
+    /**
+     * Returns the union of this component and the specified one.
+     *
+     * @param   set  a set of the same dictionary
+     *
+     * @return  a new set
+     */
+    public ComparableBitSet union(ComparableBitSet set) {
+        long[] result = this.bits.clone();
+        BitSetUtils.or(result, set.bits);
+        return new ComparableBitSet(this.dictionary, result);
+    }
+
+    /**
+     * Returns the intersection of this component and the specified one.
+     *
+     * @param   set  a set of the same dictionary
+     *
+     * @return  a new set
+     */
+    public ComparableBitSet intersection(ComparableBitSet set) {
+        long[] result = this.bits.clone();
+        BitSetUtils.and(result, set.bits);
+        return new ComparableBitSet(this.dictionary, result);
+    }
+
+    /**
+     * Returns the elements of this component that do not belong to the specified one.
+     *
+     * @param   set  a set of the same dictionary
+     *
+     * @return  a new set
+     */
+    public ComparableBitSet minus(ComparableBitSet set) {
+        long[] result = this.bits.clone();
+        BitSetUtils.andNot(result, set.bits);
+        return new ComparableBitSet(this.dictionary, result);
+    }
+
+    /* ------------- TRANSFORMERS ------------------ */
+
+    /**
+     * Returns the elements of this component as a comparable set.
+     *
+     * The returned set is a copy, its modifications do not concern this component.
+     *
+     * @return  a comparable set
+     */
+    public ComparableSet toSet() {
+        ComparableSet set = new ComparableSet();
+        for (int i = BitSetUtils.nextSetBit(this.bits, 0); i >= 0; i = BitSetUtils.nextSetBit(this.bits, i + 1)) {
+            set.add(this.dictionary.getElement(i));
+        }
+        return set;
+    }
+
+    /**
+     * Returns a string representation of this component, as for {@link ComparableSet}.
+     *
+     * @return  a string representation of this component
+     */
+    public String toString() {
+        return this.toSet().toString();
+    }
+
+    /* ------------- COMPARATORS ------------------ */
+
+    /**
+     * Compares this component with the specified object.
+     *
+     * @param   object  an object
+     *
+     * @return  true if the object is a set with the same elements
+     */
+    public boolean equals(Object object) {
+        if (!(object instanceof ComparableBitSet)) {
+            return false;
+        }
+        ComparableBitSet set = (ComparableBitSet) object;
+        return this.hash == set.hash && BitSetUtils.equals(this.bits, set.bits);
+    }
+
+    /**
+     * Returns the hash code of this component.
+     *
+     * @return  the hash code
+     */
+    public int hashCode() {
+        return this.hash;
+    }
+
+    /**
+     * Compares this component with the specified one according to the lectic order, in O(|S|/64).
+     *
+     * A set `A` is smaller than a set `B` iff the smallest element of their symmetric difference belongs to `B`.
+     *
+     * @param   set  a set of the same dictionary
+     *
+     * @return  a negative integer, zero, or a positive integer as this component is less than,
+     * equal to, or greater than the specified set according to the lectic order.
+     */
+    public int compareTo(ComparableBitSet set) {
+        return BitSetUtils.compare(this.bits, set.bits);
+    }
+}
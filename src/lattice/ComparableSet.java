@@ -11,6 +11,7 @@ package lattice;
  * it under the terms of CeCILL-B license.
  */
 
+import java.util.Iterator;
 import java.util.StringTokenizer;
 import java.util.TreeSet;
 
@@ -123,6 +124,7 @@ public class ComparableSet extends TreeSet implements Comparable, Cloneable {
     * - -1 otherwise.
     *
     * This comparison method is needed to define a natural and total sort on a sets.
+    * It is performed in O(|A|+|B|) comparisons of elements.
     *
     * It allows to use sets of this class in a sorted collection
     *
@@ -139,43 +141,28 @@ public class ComparableSet extends TreeSet implements Comparable, Cloneable {
             return -1;
         }
 
-        // case of equality between this component and object
-        if (this.equals(object)) {
-            return 0;
-        }
-
-        // test if this component is smaller than the set by lectic order
+        // the smallest element of the symmetric difference is found by a simultaneous walk
+        // on both sorted sets, without any allocation of set:
+        // this component is smaller when this element belongs to the specified set
         ComparableSet set = (ComparableSet) object;
-
-        // computes index i of the first element in set minus this
-        // if i doesn't exist, then this component is not smaller than the set by lectic order
-        TreeSet<Comparable> setMinusThis = new TreeSet(set);
-        setMinusThis.removeAll(this);
-        if (setMinusThis.isEmpty()) {
-            return 1;
-        }
-
-        Comparable i = setMinusThis.first();
-        // compute this inter {1, ..., i-1}
-        TreeSet setAiMinus1 = new TreeSet();
-        for (Object c : this) {
-            if (i.compareTo(c) > 0) {
-                setAiMinus1.add(c);
+        Iterator<Comparable> it = this.iterator();
+        Iterator<Comparable> other = set.iterator();
+        while (it.hasNext() && other.hasNext()) {
+            int cmp = it.next().compareTo(other.next());
+            if (cmp < 0) {
+                return 1;
             }
-        }
-        // compute set inter {1, ..., i-1}
-        TreeSet setBiMinus1 = new TreeSet();
-        for (Object c : set) {
-            if (i.compareTo(c) > 0) {
-                setBiMinus1.add(c);
+            if (cmp > 0) {
+                return -1;
             }
         }
-        // if setAiminus1 and setBiminus1 are equal then this component is smaller than B by lectic order
-        if  (setAiMinus1.equals(setBiMinus1)) {
-            return -1;
-        } else {
+        if (it.hasNext()) {
             return 1;
         }
+        if (other.hasNext()) {
+            return -1;
+        }
+        return 0;
     }
 }
 
@@ -440,15 +440,27 @@ public class Concept extends Node {
     /**
      * Returns the hash code of this component.
      *
+     * The hash code is computed from set A, or from set B when this component has no set A,
+     * and is therefore consistent with {@link #equals}. It changes when these sets are modified.
+     *
      * @return  hash code of this component
      */
     public int hashCode() {
-        return super.hashCode();
+        if (this.hasSetA()) {
+            return this.setA.hashCode();
+        }
+        if (this.hasSetB()) {
+            return this.setB.hashCode();
+        }
+        return 0;
     }
 
     /**
      * Compares this component with the specified one.
      *
+     * Two concepts are equal when they have equal sets A, or both no set A,
+     * and equal sets B, or both no set B.
+     *
      * @param   o  object compared to this component.
      *
      * @return  true if and only if o is equals to this component.
@@ -457,13 +469,14 @@ public class Concept extends Node {
         if (!(o instanceof Concept)) {
             return false;
         }
-        if (!this.hasSetB()) {
-            return this.setA.equals(((Concept) o).setA);
+        Concept concept = (Concept) o;
+        if (this.hasSetA() ? !this.setA.equals(concept.setA) : concept.hasSetA()) {
+            return false;
         }
-        if (!this.hasSetA()) {
-            return this.setB.equals(((Concept) o).setB);
+        if (this.hasSetB() ? !this.setB.equals(concept.setB) : concept.hasSetB()) {
+            return false;
         }
-        return this.setA.equals(((Concept) o).setA) && this.setB.equals(((Concept) o).setB);
+        return true;
     }
 
         /** Compares this component with the specified one sorted by the lectic order.
@@ -597,29 +610,15 @@ public class Concept extends Node {
         // For a non reduced closure system, the precedence graph is not acyclic,
         // and therefore strongly connected components have to be used.
         ComparableSet f = new ComparableSet(this.getSetA());
-        long start = System.currentTimeMillis();
-        System.out.print("Precedence graph... ");
-        DGraph prec = init.precedenceGraph();
-        System.out.println(System.currentTimeMillis() - start + "ms");
-        start = System.currentTimeMillis();
-        System.out.print("Srongly connected component... ");
-        DAGraph acyclPrec = prec.getStronglyConnectedComponent();
-        System.out.println(System.currentTimeMillis() - start + "ms");
+        // The precedence graph, its strongly connected components and their minorants
+        // only depend on the closure system, and are cached by the closure system.
         ComparableSet newVal = new ComparableSet();
         newVal.addAll(f);
         for (Object x : f)  {
             // computes nx, the strongly connected component containing x
-            Node nx = null;
-            for (Node cc : acyclPrec.getNodes()) {
-                TreeSet<Node> cC = (TreeSet<Node>) cc.getContent();
-                for (Node y : cC) {
-                    if (x.equals(y.getContent())) {
-                        nx = cc;
-                    }
-                }
-            }
+            Node nx = init.getComponent((Comparable) x);
             // computes the minorants of nx in the acyclic graph
-            TreeSet<Node> ccMinNx = acyclPrec.minorants(nx);
+            TreeSet<Node> ccMinNx = init.getComponentMinorants(nx);
             // removes from newVal every minorants of nx
             for (Node cc : ccMinNx) {
                 TreeSet<Node> cC = (TreeSet<Node>) cc.getContent();
@@ -635,8 +634,6 @@ public class Concept extends Node {
                 n.add(in);
             }
         }
-        System.out.print("Dependance... ");
-        start = System.currentTimeMillis();
         // computes the dependance relation between nodes in S\F
         // and valuated this relation by the subset of S\F
         TreeSet<Edge> e = new TreeSet<Edge>();
@@ -672,9 +669,6 @@ public class Concept extends Node {
                 }
             }
         }
-        System.out.println(System.currentTimeMillis() - start + "ms");
-        System.out.print("Subgraph... ");
-        start = System.currentTimeMillis();
         // computes the dependance subgraph of the closed set F as the reduction
         // of the dependance graph composed of nodes in S\A and edges of the dependance relation
         DGraph sub = dependanceGraph.getSubgraphByNodes(n);
@@ -683,7 +677,6 @@ public class Concept extends Node {
         // that corresponds to successors of the closed set F
         DAGraph cfc = delta.getStronglyConnectedComponent();
         TreeSet<Node> sccmin = cfc.getSinks();
-        System.out.println(System.currentTimeMillis() - start + "ms");
         ArrayList<TreeSet<Comparable>> immSucc = new ArrayList<TreeSet<Comparable>>();
         for (Node n1 : sccmin) {
             TreeSet s = new TreeSet(f);
@@ -11,10 +11,18 @@ package lattice;
  * it under the terms of CeCILL-B license.
  */
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -661,9 +669,37 @@ public class ConceptLattice extends Lattice {
      * @return  a concept lattice
      */
     public static ConceptLattice completeLattice(ClosureSystem init) {
-        ConceptLattice lattice = new ConceptLattice();
         // compute all the closed set with allClosures
-        Vector<Concept> allclosure = init.allClosures();
+        return completeLattice(init.allClosures());
+    }
+
+    /**
+     * Generates and returns the complete (i.e. transitively closed) closed set lattice of the
+     * specified closure system, whose closed sets are generated on several threads.
+     *
+     * All closures are first generated using the method:
+     * {@link ClosureSystem#allClosures(int, boolean)}
+     * that implements the Fast Close-by-One algorithm.
+     * Then, all concepts are ordered by inclusion.
+     *
+     * @param   init         a closure system (an ImplicationalSystem or a Context)
+     * @param   parallelism  the number of threads
+     *
+     * @return  a concept lattice
+     */
+    public static ConceptLattice completeLattice(ClosureSystem init, int parallelism) {
+        return completeLattice(init.allClosures(parallelism, true));
+    }
+
+    /**
+     * Generates and returns the complete closed set lattice of the specified closed sets.
+     *
+     * @param   allclosure  all the closed sets of a closure system
+     *
+     * @return  a concept lattice
+     */
+    private static ConceptLattice completeLattice(Vector<Concept> allclosure) {
+        ConceptLattice lattice = new ConceptLattice();
         for (Concept cl : allclosure) {
             lattice.addNode(cl);
         }
@@ -702,6 +738,21 @@ public class ConceptLattice extends Lattice {
      * @return  a concept lattice
      */
     public static ConceptLattice diagramLattice(ClosureSystem init) {
+        return diagramLattice(init, 1);
+    }
+
+    /**
+     * Generates and returns the Hasse diagram of the closed set lattice of the
+     * specified closure system, where immediate successors of closed sets are generated by several workers.
+     *
+     * See {@link #diagramLattice(ClosureSystem)} and {@link #recursiveDiagramLattice(Concept, ClosureSystem, int)}.
+     *
+     * @param   init     a closure system (an ImplicationalSystem or a Context)
+     * @param   workers  the number of threads generating immediate successors
+     *
+     * @return  a concept lattice
+     */
+    public static ConceptLattice diagramLattice(ClosureSystem init, int workers) {
         ConceptLattice lattice = new ConceptLattice();
         //if (Diagram) {
             // computes the dependance graph of the closure system
@@ -714,8 +765,8 @@ public class ConceptLattice extends Lattice {
             // intialize the close set lattice with botom element
             Concept bot = new Concept(init.closure(new ComparableSet()), false);
             lattice.addNode(bot);
-            // recursive genaration from the botom element with diagramLattice
-            lattice.recursiveDiagramLattice(bot, init);
+            // genaration from the botom element with diagramLattice
+            lattice.recursiveDiagramLattice(bot, init, workers);
             // minimalisation of edge's content to get only inclusion-minimal valuation for each edge
             /**for (Edge ed : lattice.dependanceGraph.getEdges()) {
                 TreeSet<ComparableSet> valEd = new TreeSet<ComparableSet>(((TreeSet<ComparableSet>)ed.getContent()));
@@ -736,6 +787,10 @@ public class ConceptLattice extends Lattice {
      * between minimal strongly connected component of the precedence subgraph issued
      * from the specified node, and its immediate successors.
      *
+     * Concepts whose immediate successors have to be generated are handled by a work queue
+     * rather than by recursive calls, and generated closed sets are retrieved in a hash index
+     * of the closed sets of the lattice.
+     *
      * This treatment is performed in O(cCl|S|^3log g) where S is the initial set of elements,
      * c is the number of closed sets that could be exponential in the worst case,
      * Cl is the closure computation complexity
@@ -745,19 +800,169 @@ public class ConceptLattice extends Lattice {
      * @param   init  a closure system
      */
     public void recursiveDiagramLattice(Concept n, ClosureSystem init) {
-        Vector<TreeSet<Comparable>> immSucc = this.immediateSuccessors(n, init);
-        for (TreeSet<Comparable> setX : immSucc) {
-            Concept c = new Concept(new TreeSet(setX), false);
-            Concept ns = (Concept) this.getNode(c);
+        this.recursiveDiagramLattice(n, init, 1);
+    }
+
+    /**
+     * Returns the Hasse diagramme of the closed set lattice of the specified closure system
+     * issued from the specified concept, using the specified number of workers.
+     *
+     * With one worker, concepts are generated in the current thread in a depth-first order.
+     *
+     * With several workers, immediate successors of the concepts of the work queue
+     * are generated by the threads of a `ForkJoinPool`, whose closure computations
+     * have to support concurrent invocations. Generated closed sets are deduplicated in a concurrent index,
+     * new concepts and edges are collected in concurrent queues, and added to this component
+     * once the work queue is empty. Only the valuations of the dependance graph are updated under a lock.
+     *
+     * @param   n        a concept
+     * @param   init     a closure system
+     * @param   workers  the number of threads generating immediate successors
+     */
+    public void recursiveDiagramLattice(Concept n, ClosureSystem init, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be positive: " + workers);
+        }
+        this.initDependencyGraph(init);
+        // index of the closed sets of this component
+        ConcurrentHashMap<ComparableSet, Concept> index = new ConcurrentHashMap<ComparableSet, Concept>();
+        for (Node node : this.getNodes()) {
+            Concept c = (Concept) node;
+            index.put(new ComparableSet(c.getSetA()), c);
+        }
+        if (workers == 1) {
+            this.sequentialDiagramLattice(n, init, index);
+        } else {
+            this.parallelDiagramLattice(n, init, index, workers);
+        }
+    }
+
+    /**
+     * Generates the Hasse diagram issued from the specified concept in the current thread.
+     *
+     * A stack of pending immediate successors reproduces the order of a recursive generation.
+     *
+     * @param   n      a concept
+     * @param   init   a closure system
+     * @param   index  the index of the closed sets of this component
+     */
+    private void sequentialDiagramLattice(Concept n, ClosureSystem init, ConcurrentHashMap<ComparableSet, Concept> index) {
+        ArrayDeque<Concept> concepts = new ArrayDeque<Concept>();
+        ArrayDeque<Iterator<TreeSet<Comparable>>> successors = new ArrayDeque<Iterator<TreeSet<Comparable>>>();
+        concepts.push(n);
+        successors.push(this.immediateSuccessors(n, init).iterator());
+        while (!concepts.isEmpty()) {
+            if (!successors.peek().hasNext()) {
+                concepts.pop();
+                successors.pop();
+                continue;
+            }
+            Concept c = concepts.peek();
+            TreeSet<Comparable> setX = successors.peek().next();
+            ComparableSet key = new ComparableSet(setX);
+            Concept ns = index.get(key);
             if (ns != null)  {
                 // when ns already exists, addition of a new edge
-                this.addEdge(n, ns);
-            } else { // when ns don't already exists, addition of a new node and recursive treatment
-                this.addNode(c);
-                this.addEdge(n, c);
-                this.recursiveDiagramLattice(c, init);
+                this.addEdge(c, ns);
+            } else { // when ns don't already exists, addition of a new node and treatment of its successors
+                ns = new Concept(setX, false);
+                index.put(key, ns);
+                this.addNode(ns);
+                this.addEdge(c, ns);
+                concepts.push(ns);
+                successors.push(this.immediateSuccessors(ns, init).iterator());
+            }
+        }
+    }
+
+    /**
+     * Generates the Hasse diagram issued from the specified concept using several workers.
+     *
+     * @param   n        a concept
+     * @param   init     a closure system
+     * @param   index    the index of the closed sets of this component
+     * @param   workers  the number of threads
+     */
+    private void parallelDiagramLattice(final Concept n, final ClosureSystem init,
+            final ConcurrentHashMap<ComparableSet, Concept> index, int workers) {
+        // shared structures of the closure system are computed before workers are started
+        for (Comparable x : init.getSet()) {
+            init.getComponentMinorants(init.getComponent(x));
+        }
+        final ConcurrentLinkedQueue<Concept> nodes = new ConcurrentLinkedQueue<Concept>();
+        final ConcurrentLinkedQueue<Concept[]> edges = new ConcurrentLinkedQueue<Concept[]>();
+        final AtomicInteger pending = new AtomicInteger(0);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final CountDownLatch done = new CountDownLatch(1);
+        final ForkJoinPool pool = new ForkJoinPool(workers);
+        final ConceptLattice lattice = this;
+        // treatment of a concept: generation of its immediate successors
+        class Generation implements Runnable {
+            private Concept concept;
+
+            Generation(Concept concept) {
+                this.concept = concept;
+            }
+
+            public void run() {
+                try {
+                    if (failure.get() == null) {
+                        for (TreeSet<Comparable> setX : lattice.immediateSuccessors(this.concept, init)) {
+                            Concept c = new Concept(setX, false);
+                            Concept ns = index.putIfAbsent(new ComparableSet(setX), c);
+                            if (ns == null) {
+                                ns = c;
+                                nodes.add(ns);
+                                pending.incrementAndGet();
+                                pool.execute(new Generation(ns));
+                            }
+                            edges.add(new Concept[] {this.concept, ns});
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    if (pending.decrementAndGet() == 0) {
+                        done.countDown();
+                    }
+                }
             }
         }
+        pending.incrementAndGet();
+        pool.execute(new Generation(n));
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted lattice generation", e);
+        } finally {
+            pool.shutdown();
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Lattice generation failed", failure.get());
+        }
+        for (Concept c : nodes) {
+            this.addNode(c);
+        }
+        for (Concept[] edge : edges) {
+            this.addEdge(edge[0], edge[1]);
+        }
+    }
+
+    /**
+     * Initializes the dependance graph of this component with the elements of the specified closure system
+     * when it is not already initialized.
+     *
+     * @param   init  a closure system
+     */
+    private void initDependencyGraph(ClosureSystem init) {
+        if (!this.hasDependencyGraph()) {
+            DGraph graph = new DGraph();
+            for (Comparable c : init.getSet()) {
+                graph.addNode(new Node(c));
+            }
+            this.setDependencyGraph(graph);
+        }
     }
 
     /**
@@ -778,6 +983,9 @@ public class ConceptLattice extends Lattice {
      * is initialized, but it may be not complete. It is the case for example for on-line generation of the
      * concept lattice.
      *
+     * Closures are computed without lock, and only the update of the dependance graph is synchronized,
+     * so that this method can be invoked by several threads once the dependance graph is initialized.
+     *
      * @param   n     a node
      * @param   init  a closure system
      *
@@ -785,35 +993,22 @@ public class ConceptLattice extends Lattice {
      */
     public Vector<TreeSet<Comparable>> immediateSuccessors(Node n, ClosureSystem init) {
         // Initialization of the dependance graph when not initialized by method recursiveDiagramLattice
-        if (!this.hasDependencyGraph()) {
-            DGraph graph = new DGraph();
-            for (Comparable c : init.getSet()) {
-                graph.addNode(new Node(c));
-            }
-            this.setDependencyGraph(graph);
-        }
+        this.initDependencyGraph(init);
+        DGraph dependencyGraph = this.getDependencyGraph();
         // computes newVal, the subset to be used to valuate every new dependance relation
         // newVal = F\predecessors of F in the precedence graph of the closure system
         // For a non reduced closure system, the precedence graph is not acyclic,
         // and therefore strongly connected components have to be used.
         ComparableSet setF = new ComparableSet(((Concept) n).getSetA());
-        DGraph prec = init.precedenceGraph();
-        DAGraph acyclPrec = prec.getStronglyConnectedComponent();
+        // The precedence graph, its strongly connected components and their minorants
+        // only depend on the closure system, and are cached by the closure system.
         ComparableSet newVal = new ComparableSet();
         newVal.addAll(setF);
         for (Object x : setF)  {
             // computes nx, the strongly connected component containing x
-            Node nx = null;
-            for (Node cc : acyclPrec.getNodes()) {
-                TreeSet<Node> setCC = (TreeSet<Node>) cc.getContent();
-                for (Node y : setCC) {
-                    if (x.equals(y.getContent())) {
-                        nx = cc;
-                    }
-                }
-            }
+            Node nx = init.getComponent((Comparable) x);
             // computes the minorants of nx in the acyclic graph
-            TreeSet<Node> ccMinNx = acyclPrec.minorants(nx);
+            TreeSet<Node> ccMinNx = init.getComponentMinorants(nx);
             // removes from newVal every minorants of nx
             for (Node cc : ccMinNx) {
                 TreeSet<Node> setCC = (TreeSet<Node>) cc.getContent();
@@ -824,50 +1019,57 @@ public class ConceptLattice extends Lattice {
         }
         // computes the node belonging in S\F
         TreeSet<Node> nodes = new TreeSet<Node>();
-        for (Node in : this.getDependencyGraph().getNodes()) {
+        for (Node in : dependencyGraph.getNodes()) {
             if (!setF.contains(in.getContent())) {
                 nodes.add(in);
             }
         }
         // computes the dependance relation between nodes in S\F
-        // and valuated this relation by the subset of S\F
-        TreeSet<Edge> edges = new TreeSet<Edge>();
-        for (Node from : nodes) {
-            for (Node to : nodes) {
-                if (!from.equals(to)) {
-                    // check if from is in dependance relation with to
-                    // i.e. "from" belongs to the closure of "F+to"
-                    ComparableSet fPlusTo = new ComparableSet(setF);
-                    fPlusTo.add(to.getContent());
-                    fPlusTo = new ComparableSet(init.closure(fPlusTo));
-                    if (fPlusTo.contains(from.getContent())) {
-                        // there is a dependance relation between from and to
-                        // search for an existing edge between from and to
-                        Edge ed = this.getDependencyGraph().getEdge(from, to);
-                        if (ed == null) {
-                            ed = new Edge(from, to, new TreeSet<ComparableSet>());
-                            this.getDependencyGraph().addEdge(ed);
-                        }
-                        edges.add(ed);
-                        // check if F is a minimal set closed for dependance relation between from and to
-                        ((TreeSet<ComparableSet>) ed.getContent()).add(newVal);
-                        TreeSet<ComparableSet> valEd = new TreeSet<ComparableSet>((TreeSet<ComparableSet>) ed.getContent());
-                        for (ComparableSet x1 : valEd) {
-                            if (x1.containsAll(newVal) && !newVal.containsAll(x1)) {
-                                ((TreeSet<ComparableSet>) ed.getContent()).remove(x1);
-                            }
-                            if (!x1.containsAll(newVal) && newVal.containsAll(x1)) {
-                                ((TreeSet<ComparableSet>) ed.getContent()).remove(newVal);
-                            }
-                        }
+        // i.e. "from" belongs to the closure of "F+to"
+        ArrayList<Node[]> dependances = new ArrayList<Node[]>();
+        for (Node to : nodes) {
+            ComparableSet fPlusTo = new ComparableSet(setF);
+            fPlusTo.add(to.getContent());
+            fPlusTo = new ComparableSet(init.closure(fPlusTo));
+            for (Node from : nodes) {
+                if (!from.equals(to) && fPlusTo.contains(from.getContent())) {
+                    dependances.add(new Node[] {from, to});
+                }
+            }
+        }
+        // valuates the dependance relation by the subset newVal
+        synchronized (dependencyGraph) {
+            for (Node[] dependance : dependances) {
+                Node from = dependance[0];
+                Node to = dependance[1];
+                // search for an existing edge between from and to
+                Edge ed = dependencyGraph.getEdge(from, to);
+                if (ed == null) {
+                    ed = new Edge(from, to, new TreeSet<ComparableSet>());
+                    dependencyGraph.addEdge(ed);
+                }
+                // check if F is a minimal set closed for dependance relation between from and to
+                ((TreeSet<ComparableSet>) ed.getContent()).add(newVal);
+                TreeSet<ComparableSet> valEd = new TreeSet<ComparableSet>((TreeSet<ComparableSet>) ed.getContent());
+                for (ComparableSet x1 : valEd) {
+                    if (x1.containsAll(newVal) && !newVal.containsAll(x1)) {
+                        ((TreeSet<ComparableSet>) ed.getContent()).remove(x1);
+                    }
+                    if (!x1.containsAll(newVal) && newVal.containsAll(x1)) {
+                        ((TreeSet<ComparableSet>) ed.getContent()).remove(newVal);
                     }
                 }
             }
         }
         // computes the dependance subgraph of the closed set F as the reduction
         // of the dependance graph composed of nodes in S\A and edges of the dependance relation
-        DGraph sub = this.getDependencyGraph().getSubgraphByNodes(nodes);
-        DGraph delta = sub.getSubgraphByEdges(edges);
+        DGraph delta = new DGraph();
+        for (Node node : nodes) {
+            delta.addNode(node);
+        }
+        for (Node[] dependance : dependances) {
+            delta.addEdge(dependance[0], dependance[1]);
+        }
         // computes the sources of the CFC of the dependance subgraph
         // that corresponds to successors of the closed set F
         DAGraph cfc = delta.getStronglyConnectedComponent();
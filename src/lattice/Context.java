@@ -212,6 +212,7 @@ public class Context extends ClosureSystem {
         this.bitsetExtent = new TreeMap();
         this.arrayObservations = new ArrayList();
         this.arrayAttributes = new ArrayList();
+        this.invalidatePrecedenceGraph();
         return this;
     }
 
@@ -224,7 +225,7 @@ public class Context extends ClosureSystem {
      * @return randomly generated context
      */
     public static Context random(int nbObs, int nbGrp, int nbAttrPerGrp) {
-        Context ctx = new Context();
+        Builder ctx = new Builder();
         // Generates Observations.
         for (int i = 1; i <= nbObs; i++) {
             ctx.addToObservations(Integer.toString(i));
@@ -261,8 +262,7 @@ public class Context extends ClosureSystem {
                attr = r.nextInt(nbAttrPerGrp) + 1;
             }
         }
-        ctx.setBitSets();
-        return ctx;
+        return ctx.build();
     }
 
     /* --------------- HANDLING METHODS FOR ATTRIBUTES AND OBSERVATIONS ------------ */
@@ -440,6 +440,7 @@ public class Context extends ClosureSystem {
     public void setBitSets() {
         this.setMaps();
         this.setBitSetsIntentExtent();
+        this.invalidatePrecedenceGraph();
     }
 
     /**
@@ -460,29 +461,34 @@ public class Context extends ClosureSystem {
 
     /**
      * Set the extent and intent structures for the bitset optimization.
+     *
+     * Indexes of observations and attributes are first stored in a map,
+     * so that this treatment is performed in O(|I|log(|O|+|A|)) where I is the incidence relation.
      */
     private void setBitSetsIntentExtent() {
         this.bitsetIntent = new TreeMap();
         this.bitsetExtent = new TreeMap();
-        Iterator<Comparable> i = this.attributes.iterator();
-        BitSet b = new BitSet(this.observations.size());
-        while (i.hasNext()) {
-            Comparable att = i.next();
+        TreeMap<Comparable, Integer> indexObservations = new TreeMap<Comparable, Integer>();
+        for (int k = 0; k < this.arrayObservations.size(); k++) {
+            indexObservations.put(this.arrayObservations.get(k), k);
+        }
+        TreeMap<Comparable, Integer> indexAttributes = new TreeMap<Comparable, Integer>();
+        for (int k = 0; k < this.arrayAttributes.size(); k++) {
+            indexAttributes.put(this.arrayAttributes.get(k), k);
+        }
+        for (Comparable att : this.attributes) {
+            BitSet b = new BitSet(this.observations.size());
             for (Comparable c : this.extent.get(att)) {
-                b.set(this.arrayObservations.indexOf(c));
+                b.set(indexObservations.get(c));
             }
-            this.bitsetExtent.put(att, (BitSet) b.clone());
-            b.clear();
+            this.bitsetExtent.put(att, b);
         }
-        i = this.observations.iterator();
-        b = new BitSet(this.attributes.size());
-        while (i.hasNext()) {
-            Comparable obs = i.next();
+        for (Comparable obs : this.observations) {
+            BitSet b = new BitSet(this.attributes.size());
             for (Comparable c : this.intent.get(obs)) {
-                b.set(this.arrayAttributes.indexOf(c));
+                b.set(indexAttributes.get(c));
             }
-            this.bitsetIntent.put(obs, (BitSet) b.clone());
-            b.clear();
+            this.bitsetIntent.put(obs, b);
         }
     }
 
@@ -839,6 +845,7 @@ public class Context extends ClosureSystem {
         TreeMap<Comparable, TreeSet<Comparable>> sauv = this.intent;
         this.intent = this.extent;
         this.extent = sauv;
+        this.invalidatePrecedenceGraph();
     }
 
     /**
@@ -885,6 +892,19 @@ public class Context extends ClosureSystem {
         return this.getIntent(this.getExtent(set));
     }
 
+    /**
+     * Returns the closure operator of this component on bitsets of attributes,
+     * given by its {@link BitMatrixContext} representation.
+     *
+     * This treatment is performed in O(|O|+|A|+|I|log(|O|+|A|)).
+     *
+     * @return  the closure operator on bitsets
+     */
+    @Override
+    public BitSetClosure getBitSetClosure() {
+        return new BitMatrixContext(this);
+    }
+
     /**
      * Returns the set of union of observations that are intent with one of attributes of the specified set.
      *
@@ -952,4 +972,109 @@ public class Context extends ClosureSystem {
     public ConceptLattice lattice() {
         return this.conceptLattice(true);
     }
+
+    /* --------------- BULK LOADING ------------ */
+
+    /**
+     * This class stages observations, attributes and incidences of a context
+     * before building its bitset structures in one pass.
+     *
+     * Handling methods of {@link Context} invoke {@link Context#setBitSets} after each modification,
+     * and loading a whole context with these methods is therefore performed in O(|I||O||A|).
+     * A builder updates the sets and maps of its context without rebuilding the bitsets,
+     * which are only computed when method {@link #build} is invoked.
+     *
+     * This class can be used as follows:
+     *
+     * ~~~Java
+     * Context.Builder builder = new Context.Builder();
+     * builder.addToObservations("1");
+     * builder.addToAttributes("a");
+     * builder.addExtentIntent("1", "a");
+     * Context context = builder.build();
+     * ~~~
+     */
+    public static class Builder {
+        /**
+         * The context being loaded.
+         */
+        private Context context;
+
+        /**
+         * Constructs a new builder for an empty context.
+         */
+        public Builder() {
+            this(new Context());
+        }
+
+        /**
+         * Constructs a new builder loading the specified context.
+         *
+         * Staged elements are added to the current content of the context.
+         *
+         * @param   context  the context to be loaded
+         */
+        public Builder(Context context) {
+            this.context = context;
+        }
+
+        /**
+         * Adds the specified element to the set of observations of the context.
+         *
+         * @param   obs  an observation
+         *
+         * @return  true if the observation was successfully added
+         */
+        public boolean addToObservations(Comparable obs) {
+            if (!this.context.containsObservation(obs)) {
+                this.context.intent.put(obs, new TreeSet<Comparable>());
+            }
+            return this.context.observations.add(obs);
+        }
+
+        /**
+         * Adds the specified element to the set of attributes of the context.
+         *
+         * @param   att  an attribute
+         *
+         * @return  true if the attribute was successfully added
+         */
+        public boolean addToAttributes(Comparable att) {
+            if (!this.context.containsAttribute(att)) {
+                this.context.extent.put(att, new TreeSet<Comparable>());
+            }
+            return this.context.attributes.add(att);
+        }
+
+        /**
+         * Adds the second specified element as intent of the first one,
+         * and the first one as extent of the second one.
+         * The first one has to belong to the observations set
+         * and the second one to the attribute set.
+         *
+         * @param   obs  an observation
+         * @param   att  an attribute
+         *
+         * @return  true if both were added
+         */
+        public boolean addExtentIntent(Comparable obs, Comparable att) {
+            if (this.context.containsObservation(obs) && this.context.containsAttribute(att)) {
+                return this.context.intent.get(obs).add(att) && this.context.extent.get(att).add(obs);
+            } else {
+                return false;
+            }
+        }
+
+        /**
+         * Builds the bitset structures of the context and returns it.
+         *
+         * This treatment is performed in O(|I|log(|O|+|A|)) where I is the incidence relation.
+         *
+         * @return  the loaded context
+         */
+        public Context build() {
+            this.context.setBitSets();
+            return this.context;
+        }
+    }
 }
@@ -84,6 +84,8 @@ public final class ContextReaderText implements ContextReader {
      * @throws  IOException  When an IOException occurs
      */
     public void read(Context context, BufferedReader file) throws IOException {
+        // the context is loaded by a builder so that its bitsets are computed only once
+        Context.Builder builder = new Context.Builder(context);
         // first line : All observations separated by a space
         // a StringTokenizer is used to divide the line into different observations
         // considering spaces as separator.
@@ -91,7 +93,7 @@ public final class ContextReaderText implements ContextReader {
         st.nextToken(); // first token corresponds to the string "Observations:"
         while (st.hasMoreTokens()) {
             String n = new String(st.nextToken());
-            context.addToObservations(n);
+            builder.addToObservations(n);
         }
         // second line : All attributes separated by a space
         // a StringTokenizer is used to divide the line into different token,
@@ -100,7 +102,7 @@ public final class ContextReaderText implements ContextReader {
         st.nextToken(); // first token corresponds to the string "Attributes:"
         while (st.hasMoreTokens()) {
             String n = new String(st.nextToken());
-            context.addToAttributes(n);
+            builder.addToAttributes(n);
         }
         // next lines : All intents of observations, one on each line:
         // observation : list of attributes
@@ -108,33 +110,17 @@ public final class ContextReaderText implements ContextReader {
         String line = file.readLine();
         while (line != null && !line.isEmpty()) {
             st = new StringTokenizer(line);
-            String word = st.nextToken();
-            Comparable o = null;
+            String o = st.nextToken();
             // search of o in observations
-            for (Comparable e : context.getObservations()) {
-                if (e.equals(word)) {
-                    o = e;
-                }
-            }
-            if (o != null) {
-                word = st.nextToken(); // this token corresponds to the sting ":"
+            if (context.containsObservation(o)) {
+                st.nextToken(); // this token corresponds to the sting ":"
                 while (st.hasMoreTokens()) {
-                    word = st.nextToken();
-                    Comparable a = null;
-                    // search of a in attributes
-                    for (Comparable e : context.getAttributes()) {
-                        if (e.equals(word)) {
-                            a = e;
-                        }
-                    }
-                    if (a != null) {
-                        context.addExtentIntent(o, a);
-                    }
+                    // search of a in attributes is performed by the builder
+                    builder.addExtentIntent(o, st.nextToken());
                 }
             }
             line = file.readLine();
         }
-        context.setBitSets();
+        builder.build();
     }
 }
-
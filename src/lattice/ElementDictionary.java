@@ -0,0 +1,168 @@
+package lattice;
+
+/*
+ * ElementDictionary.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import java.util.Collection;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import utils.BitSetUtils;
+
+/**
+ * This class gives a dictionary of comparable elements identified by integers,
+ * in which sets of elements are encoded as {@link ComparableBitSet}.
+ *
+ * Elements are identified from `0` to `size() - 1` in their natural order,
+ * so that the lectic order on the bitsets of this dictionary is the order of {@link ComparableSet}.
+ * A dictionary is not designed to be modified: sets of different dictionaries can not be compared.
+ *
+ * ~~~Java
+ * ElementDictionary dictionary = new ElementDictionary(system.getSet());
+ * ComparableBitSet set = dictionary.getSet(premise);
+ * ~~~
+ *
+ * ![ElementDictionary](ElementDictionary.png)
+ *
+ * @uml ElementDictionary.png
+ * !include src/lattice/ElementDictionary.iuml
+ *
+ * hide members
+ * show ElementDictionary members
+ * class ElementDictionary #LightCyan
+ * title ElementDictionary UML graph
+ */
+public class ElementDictionary {
+
+    /* ------------- FIELDS ------------------ */
+
+    /**
+     * The elements, indexed by their identifier.
+     */
+    private Comparable[] elements;
+
+    /**
+     * A map to associate its identifier to each element.
+     */
+    private TreeMap<Comparable, Integer> ids;
+
+    /**
+     * The empty set of this dictionary.
+     */
+    private ComparableBitSet empty;
+
+    /* ------------- CONSTRUCTORS ------------------ */
+
+    /**
+     * Constructs the dictionary of the specified elements.
+     *
+     * @param   set  a set of elements
+     */
+    public ElementDictionary(TreeSet<Comparable> set) {
+        this.elements = set.toArray(new Comparable[0]);
+        this.ids = new TreeMap<Comparable, Integer>();
+        for (int i = 0; i < this.elements.length; i++) {
+            this.ids.put(this.elements[i], i);
+        }
+        this.empty = new ComparableBitSet(this, BitSetUtils.empty(this.elements.length));
+    }
+
+    /* ------------- ACCESSORS ------------------ */
+
+    /**
+     * Returns the number of elements of this component.
+     *
+     * @return  the number of elements
+     */
+    public int size() {
+        return this.elements.length;
+    }
+
+    /**
+     * Returns the element of the specified identifier.
+     *
+     * @param   i  identifier of an element
+     *
+     * @return  the element
+     */
+    public Comparable getElement(int i) {
+        return this.elements[i];
+    }
+
+    /**
+     * Returns the identifier of the specified element.
+     *
+     * @param   e  an element
+     *
+     * @return  the identifier of the element, or -1 if it is not an element of this component
+     */
+    public int getId(Comparable e) {
+        Integer i = this.ids.get(e);
+        if (i == null) {
+            return -1;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the empty set of this component.
+     *
+     * @return  the empty set
+     */
+    public ComparableBitSet getEmptySet() {
+        return this.empty;
+    }
+
+    /* ------------- CONVERSIONS ------------------ */
+
+    /**
+     * Returns the set of the specified elements.
+     *
+     * @param   set  a collection of elements of this component
+     *
+     * @return  the set of their identifiers
+     *
+     * @throws  IllegalArgumentException  if an element does not belong to this component
+     */
+    public ComparableBitSet getSet(Collection<Comparable> set) {
+        long[] bits = BitSetUtils.empty(this.elements.length);
+        for (Comparable e : set) {
+            Integer i = this.ids.get(e);
+            if (i == null) {
+                throw new IllegalArgumentException("Unknown element " + e);
+            }
+            BitSetUtils.set(bits, i);
+        }
+        return new ComparableBitSet(this, bits);
+    }
+
+    /**
+     * Returns the set of the specified bitset of identifiers.
+     *
+     * @param   bits  a bitset of identifiers, copied
+     *
+     * @return  the set
+     */
+    public ComparableBitSet getSet(long[] bits) {
+        return new ComparableBitSet(this, bits.clone());
+    }
+
+    /**
+     * Returns the rule of the specified rule.
+     *
+     * @param   rule  a rule on elements of this component
+     *
+     * @return  the rule on bitsets
+     */
+    public BitSetRule getRule(Rule rule) {
+        return new BitSetRule(this.getSet(rule.getPremise()), this.getSet(rule.getConclusion()));
+    }
+}
@@ -16,13 +16,17 @@ import java.io.BufferedWriter;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import dgraph.DGraph;
 import dgraph.Edge;
 import dgraph.Node;
+import utils.BitSetUtils;
 
 /**
  * This class gives a representation for an implicational system (ImplicationalSystem), a set of rules.
@@ -85,6 +89,16 @@ public class ImplicationalSystem extends ClosureSystem {
      */
     private TreeSet<Comparable> set;
 
+    /**
+     * The compiled closure operator of this component, or null when it has to be compiled.
+     */
+    private LinClosure linClosure = null;
+
+    /**
+     * The dictionary of the elements of this component, or null when it has to be built.
+     */
+    private ElementDictionary dictionary = null;
+
     /* --------------- CONSTRUCTORS -----------*/
 
     /**
@@ -155,6 +169,7 @@ public class ImplicationalSystem extends ClosureSystem {
     public ImplicationalSystem init() {
         this.sigma = new TreeSet<Rule>();
         this.set = new TreeSet<Comparable>();
+        this.invalidateClosure();
         return this;
     }
 
@@ -246,6 +261,7 @@ public class ImplicationalSystem extends ClosureSystem {
      * @return  true if the element has been added to `S`
      */
     public boolean addElement(Comparable e) {
+        this.invalidateClosure();
         return set.add(e);
     }
 
@@ -257,6 +273,7 @@ public class ImplicationalSystem extends ClosureSystem {
      * @return  true if the element has been added to `S`
      */
     public boolean addAllElements(TreeSet<Comparable> x) {
+        this.invalidateClosure();
         boolean all = true;
         for (Comparable e : x) {
             if (!set.add(e)) {
@@ -276,6 +293,7 @@ public class ImplicationalSystem extends ClosureSystem {
     public boolean deleteElement(Comparable e) {
         if (set.contains(e)) {
             set.remove(e);
+            this.invalidateClosure();
             ImplicationalSystem sauv = new ImplicationalSystem(this);
             for (Rule r: sauv.sigma) {
                 Rule newR = new Rule(r.getPremise(), r.getConclusion());
@@ -337,6 +355,7 @@ public class ImplicationalSystem extends ClosureSystem {
      */
     public boolean addRule(Rule r) {
         if (!this.containsRule(r) && this.checkRuleElements(r)) {
+            this.invalidateClosure();
             return this.sigma.add(r);
         }
         return false;
@@ -350,6 +369,7 @@ public class ImplicationalSystem extends ClosureSystem {
      * @return  true if the rule has been removed
      */
     public boolean removeRule(Rule r) {
+        this.invalidateClosure();
         return this.sigma.remove(r);
     }
 
@@ -365,6 +385,58 @@ public class ImplicationalSystem extends ClosureSystem {
         return (this.removeRule(r1) && this.addRule(r2));
     }
 
+    /**
+     * Returns the dictionary of the elements of this component, whose sets encode premises and conclusions
+     * of rules as {@link ComparableBitSet}.
+     *
+     * The dictionary is built when needed, and kept until the next modification of this component.
+     *
+     * @return  the dictionary of the elements
+     */
+    public ElementDictionary getDictionary() {
+        if (this.dictionary == null) {
+            this.dictionary = new ElementDictionary(this.set);
+        }
+        return this.dictionary;
+    }
+
+    /**
+     * Returns the rules of this component encoded on the dictionary of its elements,
+     * in the order of {@link #getRules}.
+     *
+     * Rules of `sigma` remain the representation of this component, these rules are a copy.
+     *
+     * @return  the rules on bitsets
+     */
+    public BitSetRule[] getBitSetRules() {
+        return this.toBitSetRules(this.sigma.toArray(new Rule[0]));
+    }
+
+    /**
+     * Encodes the specified rules on the dictionary of the elements of this component.
+     *
+     * @param   rules  rules of this component
+     *
+     * @return  the rules on bitsets, in the same order
+     */
+    private BitSetRule[] toBitSetRules(Rule[] rules) {
+        ElementDictionary dict = this.getDictionary();
+        BitSetRule[] result = new BitSetRule[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            result[i] = dict.getRule(rules[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Discards the precedence graph and the compiled closure operator after a modification of this component.
+     */
+    private void invalidateClosure() {
+        this.invalidatePrecedenceGraph();
+        this.linClosure = null;
+        this.dictionary = null;
+    }
+
     /*-----------  SAVING METHODS -------------------- */
 
     /**
@@ -483,16 +555,17 @@ public class ImplicationalSystem extends ClosureSystem {
     /**
      * Returns true if this component is a compact ImplicationalSystem.
      *
-     * This test is perfomed in O(|Sigma|^2|S|) by testing premises of each pair of rules
+     * This test is perfomed in O(|Sigma||S|/64) by testing premises of consecutive rules on bitsets,
+     * since rules of a same premise are consecutive in the lectic order.
      *
      * @return  true if this component is a compact ImplicationalSystem.
      */
     public boolean isCompact() {
-        for (Rule r1 : this.sigma) {
-            for (Rule r2: this.sigma) {
-                if (!r1.equals(r2) && (r1.getPremise().equals(r2.getPremise()))) {
-                    return false;
-                }
+        BitSetRule[] rules = this.toBitSetRules(this.sigma.toArray(new Rule[0]));
+        // rules of a same premise are consecutive
+        for (int i = 1; i < rules.length; i++) {
+            if (rules[i].getPremise().equals(rules[i - 1].getPremise())) {
+                return false;
             }
         }
         return true;
@@ -517,14 +590,16 @@ public class ImplicationalSystem extends ClosureSystem {
     /**
      * Returns true if this component is left minimal.
      *
-     * This test is perfomed in O(|Sigma|^2|S|) by testing conclusions of each pair of rules
+     * This test is perfomed in O(|Sigma|^2|S|/64) by testing conclusions of each pair of rules on bitsets
      *
      * @return  true if this component is left minimal.
      */
     public boolean isLeftMinimal() {
-        for (Rule r1 : this.sigma) {
-            for (Rule r2 : this.sigma) {
-                if (!r1.equals(r2) && r1.getPremise().containsAll(r2.getPremise()) && r1.getConclusion().equals(r2.getConclusion())) {
+        BitSetRule[] rules = this.toBitSetRules(this.sigma.toArray(new Rule[0]));
+        for (int i = 0; i < rules.length; i++) {
+            for (int j = 0; j < rules.length; j++) {
+                if (i != j && rules[j].getPremise().isSubsetOf(rules[i].getPremise())
+                        && rules[i].getConclusion().equals(rules[j].getConclusion())) {
                     return false;
                 }
             }
@@ -535,21 +610,25 @@ public class ImplicationalSystem extends ClosureSystem {
     /**
      * Returns true if this component is direct.
      *
-     * This test is perfomed in O(|Sigma|^2|S|) by testing if closure of
+     * This test is perfomed in O(|Sigma|^2|S|/64) by testing on bitsets if closure of
      * the premisse of each conclusion can be obtained by only one iteration
      * on the set of rules.
      *
      * @return  true if this component is direct.
      */
     public boolean isDirect() {
-        for (Rule r1 : this.sigma) {
-            TreeSet<Comparable> onePass = new TreeSet(r1.getPremise());
-            for (Rule r2 : this.sigma) {
-                if (r1.getPremise().containsAll(r2.getPremise())) {
-                    onePass.addAll(r2.getConclusion());
+        BitSetRule[] rules = this.toBitSetRules(this.sigma.toArray(new Rule[0]));
+        LinClosure engine = this.getBitSetClosure();
+        long[] closure = engine.newSet();
+        for (BitSetRule r1 : rules) {
+            long[] onePass = r1.getPremise().toBitSet();
+            for (BitSetRule r2 : rules) {
+                if (r2.getPremise().isSubsetOf(r1.getPremise())) {
+                    BitSetUtils.or(onePass, r2.getConclusion().toBitSet());
                 }
             }
-            if (!onePass.equals(this.closure(r1.getPremise()))) {
+            engine.closure(r1.getPremise().toBitSet(), closure);
+            if (!BitSetUtils.equals(onePass, closure)) {
                 return false;
             }
         }
@@ -700,31 +779,33 @@ public class ImplicationalSystem extends ClosureSystem {
     /**
      * Replaces rules of same premise by only one rule.
      *
-     * This treatment is performed in O(|sigma|^2|S|)
+     * This treatment is performed in O(|sigma||S|/64) on bitsets,
+     * since rules of a same premise are consecutive in the lectic order.
      *
      * @return  the difference between the number of rules of this component before and after this treatment
      */
     public int makeCompact() {
-        ImplicationalSystem sauv = new ImplicationalSystem(this);
-        for (Rule r1 : sauv.sigma) {
-            if (this.containsRule(r1)) {
-                ComparableSet newConc = new ComparableSet();
-                for (Rule r2 : sauv.sigma) {
-                    if (this.containsRule(r2) && !r1.equals(r2) && (r1.getPremise().equals(r2.getPremise()))) {
-                        newConc.addAll(r2.getConclusion());
-                        boolean res = this.sigma.remove(r2);
-                    }
-                }
-                if (newConc.size() > 0) {
-                    newConc.addAll(r1.getConclusion());
-                    Rule newR = new Rule(r1.getPremise(), newConc);
-                    if (!r1.equals(newR)) {
-                        this.replaceRule(r1, newR);
-                    }
+        int s = this.sizeRules();
+        Rule[] sauv = this.sigma.toArray(new Rule[0]);
+        BitSetRule[] rules = this.toBitSetRules(sauv);
+        // rules of a same premise are consecutive
+        int i = 0;
+        while (i < rules.length) {
+            ComparableBitSet conclusion = rules[i].getConclusion();
+            int j = i + 1;
+            while (j < rules.length && rules[j].getPremise().equals(rules[i].getPremise())) {
+                conclusion = conclusion.union(rules[j].getConclusion());
+                j++;
+            }
+            if (j > i + 1) {
+                for (int k = i; k < j; k++) {
+                    this.removeRule(sauv[k]);
                 }
+                this.addRule(new BitSetRule(rules[i].getPremise(), conclusion).toRule());
             }
+            i = j;
         }
-        return sauv.sizeRules() - this.sizeRules();
+        return s - this.sizeRules();
     }
 
     /**
@@ -739,8 +820,10 @@ public class ImplicationalSystem extends ClosureSystem {
         int s = this.sizeRules();
         this.makeCompact();
         ImplicationalSystem sauv = new ImplicationalSystem(this);
+        // replacing a conclusion by the closure of the premise does not modify the closure operator
+        LinClosure engine = sauv.getBitSetClosure();
         for (Rule r : sauv.sigma) {
-            Rule newR = new Rule(r.getPremise(), this.closure(r.getPremise()));
+            Rule newR = new Rule(r.getPremise(), engine.closure(r.getPremise()));
             if (!r.equals(newR)) {
                 this.replaceRule(r, newR);
             }
@@ -754,36 +837,41 @@ public class ImplicationalSystem extends ClosureSystem {
      * The unary form of this componant is first computed: if two rules have the
      * same unary conclusion, the rule with the inclusion-maximal premise is deleted.
      *
-     * Then, the left-minimal treatment is performed in O(|sigma|^2|S|))
+     * Then, the left-minimal treatment is performed in O(|sigma|^2|S|/64) on bitsets
      *
      * @return  the difference between the number of rules of this component before and after this treatment
      */
     public int makeLeftMinimal() {
         this.makeUnary();
-        ImplicationalSystem sauv = new ImplicationalSystem(this);
-        for (Rule r1 : sauv.sigma) {
-            for (Rule r2 : sauv.sigma) {
-                if (!r1.equals(r2)) {
-                    if ((r2.getPremise().containsAll(r1.getPremise())) && (r1.getConclusion().equals(r2.getConclusion()))) {
-                        this.sigma.remove(r2);
-                    }
+        Rule[] sauv = this.sigma.toArray(new Rule[0]);
+        BitSetRule[] rules = this.toBitSetRules(sauv);
+        for (int i = 0; i < rules.length; i++) {
+            for (int j = 0; j < rules.length; j++) {
+                if (i != j && rules[i].getPremise().isSubsetOf(rules[j].getPremise())
+                        && rules[i].getConclusion().equals(rules[j].getConclusion())) {
+                    this.removeRule(sauv[j]);
                 }
             }
         }
         this.makeCompact();
-        return sauv.sizeRules() - this.sizeRules();
+        return sauv.length - this.sizeRules();
     }
 
     /**
      * Makes this component a compact and direct ImplicationalSystem.
      *
      * The unary and proper form of this componant is first computed.
-     * For two given rules r1 and r2, if the conclusion of r1 contains the premise of r1,
+     * For two given rules r1 and r2, if the conclusion of r1 belongs to the premise of r2,
      * then a new rule is addes, with r1.premisse + r2.premisse - r1.conclusion as premise, and
-     * r2.conclusion as conlusion. This treatment is performed in a recursive way until no new rule
-     * is added.
+     * r2.conclusion as conlusion.
+     *
+     * Rules are saturated by a worklist: each new rule is only combined with the rules already treated,
+     * found by an index of the rules by elements of their premise and by their conclusion.
+     * A new rule is not added when the premise of a rule of same conclusion is included in its premise,
+     * and rules of same conclusion whose premise contains its premise are removed,
+     * so that rules of this component are left minimal before the final compact treatment.
      *
-     * This treatment is performed in O(d|S|), where d  corresponds to the number of rules
+     * This treatment is performed in O(d(|sigma|+|S|)|S|/64), where d  corresponds to the number of rules
      * that have to be added by the direct treatment, that can be exponential in the worst case.
      *
      * @return  the difference between the number of rules of this component before and after this treatment
@@ -792,28 +880,20 @@ public class ImplicationalSystem extends ClosureSystem {
         this.makeUnary();
         this.makeProper();
         int s = this.sizeRules();
-        boolean ok = true;
-        while (ok) {
-            ImplicationalSystem sauv = new ImplicationalSystem(this);
-            for (Rule r1 : sauv.sigma) {
-                for (Rule r2 : sauv.sigma) {
-                    if (!r1.equals(r2) && !r1.getPremise().containsAll(r2.getConclusion())) {
-                        ComparableSet  c = new ComparableSet(r2.getPremise());
-                        c.removeAll(r1.getConclusion());
-                        c.addAll(r1.getPremise());
-                        if (!c.containsAll(r2.getPremise())) {
-                            Rule newR  = new Rule(c, r2.getConclusion());
-                            // new_r.addAllToPremise (r1.getPremise());
-                            // new_r.addAllToPremise (r2.getPremise());
-                            // new_r.removeAllFromPremise(r1.getConclusion());
-                            // new_r.addAllToConclusion(r2.getConclusion() );
-                            this.addRule(newR);
-                        }
-                    }
-                }
-            }
-            if (this.sizeRules() == sauv.sizeRules()) {
-                ok = false;
+        ElementDictionary dict = this.getDictionary();
+        DirectSaturation saturation = new DirectSaturation(dict.size());
+        for (BitSetRule r : this.getBitSetRules()) {
+            long[] conclusion = r.getConclusion().toBitSet();
+            saturation.insert(r.getPremise().toBitSet(), BitSetUtils.nextSetBit(conclusion, 0));
+        }
+        saturation.saturate();
+        this.sigma = new TreeSet<Rule>();
+        this.invalidateClosure();
+        for (int r = 0; r < saturation.nbRules; r++) {
+            if (saturation.alive[r]) {
+                long[] conclusion = dict.getEmptySet().toBitSet();
+                BitSetUtils.set(conclusion, saturation.conclusions[r]);
+                this.addRule(new BitSetRule(dict.getSet(saturation.premises[r]), dict.getSet(conclusion)).toRule());
             }
         }
         this.makeCompact();
@@ -832,16 +912,74 @@ public class ImplicationalSystem extends ClosureSystem {
      * @return  the difference between the number of rules of this component before and after this treatment
      */
     public int makeMinimum() {
+        return this.makeMinimum(1);
+    }
+
+    /**
+     * Makes this component a minimum and proper ImplicationalSystem, testing rules on several threads.
+     *
+     * Rules are compiled once in a {@link LinClosure} engine, and a rule is tested by a closure
+     * of its premise excluding this rule and the rules already deleted, without copying this component.
+     * A rule that is not redundant in the whole component remains not redundant when other rules are deleted:
+     * redundancy in the whole component is first tested independently for all the rules by `parallelism` threads,
+     * then only redundant rules are tested again in the order of the rules, as for {@link #makeMinimum()}.
+     *
+     * This treatment is performed in O(|sigma|(|S|+sum of the sizes of the rules)).
+     *
+     * @param   parallelism  the number of threads
+     *
+     * @return  the difference between the number of rules of this component before and after this treatment
+     */
+    public int makeMinimum(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
         this.makeRightMaximal();
-        ImplicationalSystem sauv = new ImplicationalSystem(this);
-        for (Rule r : sauv.sigma) {
-            ImplicationalSystem epsylon = new ImplicationalSystem(this);
-            epsylon.removeRule(r);
-            if (epsylon.closure(r.getPremise()).equals(this.closure(r.getPremise()))) {
-                this.removeRule(r);
+        LinClosure engine = this.getBitSetClosure();
+        int n = engine.sizeRules();
+        // conclusions of a right maximal component are the closures of the premises
+        long[][] closures = new long[n][];
+        long[][] candidates = this.closuresWithoutRule(engine, parallelism);
+        long[] deleted = BitSetUtils.empty(n);
+        long[] result = engine.newSet();
+        for (int r = 0; r < n; r++) {
+            closures[r] = engine.getSet(engine.getRule(r).getConclusion());
+            if (BitSetUtils.equals(candidates[r], closures[r])) {
+                BitSetUtils.set(deleted, r);
+                engine.closure(engine.getSet(engine.getRule(r).getPremise()), result, deleted);
+                if (!BitSetUtils.equals(result, closures[r])) {
+                    BitSetUtils.clear(deleted, r);
+                }
             }
         }
-        return sauv.sizeRules() - this.sizeRules();
+        for (int r = BitSetUtils.nextSetBit(deleted, 0); r >= 0; r = BitSetUtils.nextSetBit(deleted, r + 1)) {
+            this.removeRule(engine.getRule(r));
+        }
+        return n - this.sizeRules();
+    }
+
+    /**
+     * Returns, for each rule of the specified engine, the closure of its premise by the other rules.
+     *
+     * @param   engine       the compiled rules of this component
+     * @param   parallelism  the number of threads
+     *
+     * @return  the closures indexed by the rule identifiers
+     */
+    private long[][] closuresWithoutRule(LinClosure engine, int parallelism) {
+        long[][] closures = new long[engine.sizeRules()][];
+        ClosureWithoutRule task = new ClosureWithoutRule(engine, closures, 0, closures.length);
+        if (parallelism == 1) {
+            task.compute();
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(task);
+            } finally {
+                pool.shutdown();
+            }
+        }
+        return closures;
     }
 
     /**
@@ -876,18 +1014,39 @@ public class ImplicationalSystem extends ClosureSystem {
      * @return  the difference between the number of rules of this component before and after this treatment
      */
     public int makeCanonicalBasis() {
-        this.makeMinimum();
-        ImplicationalSystem sauv = new ImplicationalSystem(this);
-        for (Rule r : sauv.sigma) {
-            ImplicationalSystem epsylon = new ImplicationalSystem(this);
-            epsylon.removeRule(r);
-            Rule tmp = new Rule(epsylon.closure(r.getPremise()), r.getConclusion());
-            if (!r.equals(tmp)) {
-                this.replaceRule(r, tmp);
+        return this.makeCanonicalBasis(1);
+    }
+
+    /**
+     * Replace this component by the canonical basis, computing closures on several threads.
+     *
+     * The minimum form of this component is first computed by {@link #makeMinimum(int)}.
+     * Then, premise of each rule r is replaced by its closure in ImplicationalSystem \ r,
+     * given by a closure of a shared {@link LinClosure} engine excluding r.
+     * The closure of the premise of a rule of a minimum component by the other rules
+     * is its pseudo-closed set, and closures of different rules are thus computed independently
+     * by `parallelism` threads.
+     *
+     * This treatment is performed in O(|sigma|(|S|+sum of the sizes of the rules)).
+     *
+     * @param   parallelism  the number of threads
+     *
+     * @return  the difference between the number of rules of this component before and after this treatment
+     */
+    public int makeCanonicalBasis(int parallelism) {
+        int s = this.sizeRules();
+        this.makeMinimum(parallelism);
+        LinClosure engine = this.getBitSetClosure();
+        long[][] premises = this.closuresWithoutRule(engine, parallelism);
+        for (int r = 0; r < premises.length; r++) {
+            Rule rule = engine.getRule(r);
+            Rule tmp = new Rule(new ComparableSet(engine.getElements(premises[r])), rule.getConclusion());
+            if (!rule.equals(tmp)) {
+                this.replaceRule(rule, tmp);
             }
         }
         this.makeProper();
-        return sauv.sizeRules() - this.sizeRules();
+        return s - this.sizeRules();
     }
 
     /* --------------- METHODS BASED ON GRAPH ------------ */
@@ -1032,31 +1191,272 @@ public class ImplicationalSystem extends ClosureSystem {
      *
      * The closure is initialized with X. The closure is incremented with
      * the conclusion of each rule whose premise is included in it.
-     * Iterations over the rules are performed until no new element has to be added
-     * in the closure.
      *
-     * For direct ImplicationalSystem, only one iteration is needed, and the treatment is
-     * performed in O(|Sigma||S|).
-     *
-     * For non direct ImplicationalSystem, at most |S| iterations are needed, and this tratment
-     * is performed in O(|Sigma||S|^2).
+     * The closure is computed by the operator returned by {@link #getBitSetClosure},
+     * compiled once until the next modification of this component:
+     * each rule is considered once per element of its premise, and the treatment is
+     * performed in O(|S|+|Sigma||S|) instead of O(|Sigma||S|^2) for iterations over the rules.
      *
      * @param   x  a TreeSet of indexed elements
      *
      * @return  the closure of X for this component
      */
     public TreeSet<Comparable> closure(TreeSet<Comparable> x) {
-        TreeSet<Comparable> oldES = new TreeSet<Comparable>();
-        // all the attributes are in their own closure
-        TreeSet<Comparable> newES = new TreeSet<Comparable>(x);
-        do {
-            oldES.addAll(newES);
-            for (Rule r : this.sigma) {
-                if (newES.containsAll(r.getPremise()) || r.getPremise().isEmpty()) {
-                    newES.addAll(r.getConclusion());
+        return this.getBitSetClosure().closure(x);
+    }
+
+    /**
+     * Returns the closure operator of this component on bitsets,
+     * computed by the LinClosure algorithm.
+     *
+     * The operator is compiled when needed, and kept until the next modification of this component.
+     *
+     * @return  the closure operator on bitsets
+     */
+    public LinClosure getBitSetClosure() {
+        if (this.linClosure == null) {
+            this.linClosure = new LinClosure(this);
+        }
+        return this.linClosure;
+    }
+
+    /**
+     * This class is the task computing the closures of the premises of a range of rules by the other rules.
+     */
+    private static class ClosureWithoutRule extends RecursiveAction {
+        /**
+         * The number of rules below which a range is not split.
+         */
+        private static final int THRESHOLD = 64;
+
+        /**
+         * The compiled rules.
+         */
+        private LinClosure engine;
+
+        /**
+         * The closures indexed by the rule identifiers.
+         */
+        private long[][] closures;
+
+        /**
+         * The first rule of the range.
+         */
+        private int from;
+
+        /**
+         * The end of the range (excluded).
+         */
+        private int to;
+
+        /**
+         * Constructs the task computing the closures of the specified range of rules.
+         *
+         * @param   engine    the compiled rules
+         * @param   closures  the closures indexed by the rule identifiers
+         * @param   from      the first rule of the range
+         * @param   to        the end of the range (excluded)
+         */
+        ClosureWithoutRule(LinClosure engine, long[][] closures, int from, int to) {
+            this.engine = engine;
+            this.closures = closures;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Computes the closures of the range, splitting it when it is too large.
+         */
+        protected void compute() {
+            if (this.to - this.from > THRESHOLD && getPool() != null) {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(new ClosureWithoutRule(this.engine, this.closures, this.from, middle),
+                          new ClosureWithoutRule(this.engine, this.closures, middle, this.to));
+                return;
+            }
+            long[] excluded = BitSetUtils.empty(this.engine.sizeRules());
+            for (int r = this.from; r < this.to; r++) {
+                BitSetUtils.set(excluded, r);
+                this.closures[r] = this.engine.newSet();
+                this.engine.closure(this.engine.getSet(this.engine.getRule(r).getPremise()), this.closures[r], excluded);
+                BitSetUtils.clear(excluded, r);
+            }
+        }
+    }
+
+    /**
+     * This class saturates a set of unary and proper rules on bitsets for method {@link #makeDirect}.
+     *
+     * Rules are identified in the order of their insertion, and removed rules are only marked as dead.
+     */
+    private static class DirectSaturation {
+        /**
+         * The number of rules.
+         */
+        private int nbRules;
+
+        /**
+         * The premise of each rule.
+         */
+        private long[][] premises;
+
+        /**
+         * The conclusion of each rule.
+         */
+        private int[] conclusions;
+
+        /**
+         * True for the rules that have not been removed.
+         */
+        private boolean[] alive;
+
+        /**
+         * True for the rules already combined with the rules treated before them.
+         */
+        private boolean[] active;
+
+        /**
+         * The rules whose premise contains each element.
+         */
+        private int[][] byPremise;
+
+        /**
+         * The number of rules whose premise contains each element.
+         */
+        private int[] premiseDegrees;
+
+        /**
+         * The rules whose conclusion is each element.
+         */
+        private int[][] byConclusion;
+
+        /**
+         * The number of rules whose conclusion is each element.
+         */
+        private int[] conclusionDegrees;
+
+        /**
+         * Constructs an empty set of rules on the specified number of elements.
+         *
+         * @param   size  the number of elements
+         */
+        DirectSaturation(int size) {
+            this.nbRules = 0;
+            this.premises = new long[16][];
+            this.conclusions = new int[16];
+            this.alive = new boolean[16];
+            this.active = new boolean[16];
+            this.byPremise = new int[size][];
+            this.byConclusion = new int[size][];
+            for (int e = 0; e < size; e++) {
+                this.byPremise[e] = new int[4];
+                this.byConclusion[e] = new int[4];
+            }
+            this.premiseDegrees = new int[size];
+            this.conclusionDegrees = new int[size];
+        }
+
+        /**
+         * Inserts the specified rule, unless the premise of a rule of same conclusion is included in its premise.
+         *
+         * Rules of same conclusion whose premise contains the premise of the specified rule are removed.
+         *
+         * @param   premise     a bitset of elements, owned by this component once inserted
+         * @param   conclusion  an element that does not belong to the premise
+         *
+         * @return  true if the rule has been inserted
+         */
+        boolean insert(long[] premise, int conclusion) {
+            int[] rules = this.byConclusion[conclusion];
+            int degree = this.conclusionDegrees[conclusion];
+            for (int k = 0; k < degree; k++) {
+                if (this.alive[rules[k]] && BitSetUtils.isSubset(this.premises[rules[k]], premise)) {
+                    return false;
                 }
             }
-        } while (!(oldES.equals(newES)));
-        return newES;
+            // dead rules are also forgotten by the index of conclusions
+            int kept = 0;
+            for (int k = 0; k < degree; k++) {
+                if (this.alive[rules[k]] && BitSetUtils.isSubset(premise, this.premises[rules[k]])) {
+                    this.alive[rules[k]] = false;
+                }
+                if (this.alive[rules[k]]) {
+                    rules[kept++] = rules[k];
+                }
+            }
+            this.conclusionDegrees[conclusion] = kept;
+            int r = this.nbRules++;
+            if (r == this.premises.length) {
+                this.premises = Arrays.copyOf(this.premises, 2 * r);
+                this.conclusions = Arrays.copyOf(this.conclusions, 2 * r);
+                this.alive = Arrays.copyOf(this.alive, 2 * r);
+                this.active = Arrays.copyOf(this.active, 2 * r);
+            }
+            this.premises[r] = premise;
+            this.conclusions[r] = conclusion;
+            this.alive[r] = true;
+            this.conclusionDegrees[conclusion] = this.add(this.byConclusion, conclusion, kept, r);
+            for (int e = BitSetUtils.nextSetBit(premise, 0); e >= 0; e = BitSetUtils.nextSetBit(premise, e + 1)) {
+                this.premiseDegrees[e] = this.add(this.byPremise, e, this.premiseDegrees[e], r);
+            }
+            return true;
+        }
+
+        /**
+         * Adds a rule to the list of an element in an index.
+         *
+         * @param   index   an index of the rules by element
+         * @param   e       an element
+         * @param   degree  the number of rules of the list of the element
+         * @param   r       a rule
+         *
+         * @return  the new number of rules of the list of the element
+         */
+        private int add(int[][] index, int e, int degree, int r) {
+            if (degree == index[e].length) {
+                index[e] = Arrays.copyOf(index[e], 2 * degree);
+            }
+            index[e][degree] = r;
+            return degree + 1;
+        }
+
+        /**
+         * Combines each rule with the rules treated before it, until no new rule is inserted.
+         */
+        void saturate() {
+            for (int r = 0; r < this.nbRules; r++) {
+                if (!this.alive[r]) {
+                    continue;
+                }
+                long[] premise = this.premises[r];
+                int conclusion = this.conclusions[r];
+                // r as first rule: rules whose premise contains its conclusion
+                int degree = this.premiseDegrees[conclusion];
+                for (int k = 0; k < degree && this.alive[r]; k++) {
+                    int r2 = this.byPremise[conclusion][k];
+                    if (this.active[r2] && this.alive[r2] && !BitSetUtils.get(premise, this.conclusions[r2])) {
+                        long[] newPremise = this.premises[r2].clone();
+                        BitSetUtils.clear(newPremise, conclusion);
+                        BitSetUtils.or(newPremise, premise);
+                        this.insert(newPremise, this.conclusions[r2]);
+                    }
+                }
+                // r as second rule: rules whose conclusion belongs to its premise
+                for (int e = BitSetUtils.nextSetBit(premise, 0); e >= 0 && this.alive[r];
+                        e = BitSetUtils.nextSetBit(premise, e + 1)) {
+                    degree = this.conclusionDegrees[e];
+                    for (int k = 0; k < degree && this.alive[r]; k++) {
+                        int r1 = this.byConclusion[e][k];
+                        if (this.active[r1] && this.alive[r1] && !BitSetUtils.get(this.premises[r1], conclusion)) {
+                            long[] newPremise = premise.clone();
+                            BitSetUtils.clear(newPremise, e);
+                            BitSetUtils.or(newPremise, this.premises[r1]);
+                            this.insert(newPremise, conclusion);
+                        }
+                    }
+                }
+                this.active[r] = true;
+            }
+        }
     }
 }
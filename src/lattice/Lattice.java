@@ -201,6 +201,7 @@ public class Lattice extends DAGraph {
        joins = this.joinIrreducibles();
        meats = this.meetIrreducibles();
        DGraph phi = new DGraph();
+       phi.setIndexed(true);
        for (Node j : joins) {
            for (Node m : meats) {
                int indJ = 0; // Search for the step containning j
@@ -79,6 +79,7 @@ public class LatticeFactory {
      */
     public static Lattice booleanAlgebra(int n) {
         Lattice l = new Lattice();
+        l.setIndexed(true);
         BitSet b = new BitSet(n);
         Node bot = new Node(b);
         l.addNode(bot);
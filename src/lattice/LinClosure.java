@@ -0,0 +1,362 @@
+package lattice;
+
+/*
+ * LinClosure.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import utils.BitSetUtils;
+
+/**
+ * This class gives the closure operator of an implicational system computed by the LinClosure algorithm
+ * of Beeri and Bernstein.
+ *
+ * The implicational system is compiled once into
+ *
+ * - the number of elements of the premise of each rule;
+ * - the conclusion of each rule, as an array of element identifiers;
+ * - an inverted index associating to each element the rules whose premise contains it.
+ *
+ * A closure is then computed from a bitset by propagating each new element to the rules of its index:
+ * a counter of the missing elements of the premise of each rule is decremented,
+ * and the conclusion of a rule is added when its counter reaches zero.
+ * Each rule is thus considered once per element of its premise, and a closure is computed
+ * in O(|S|+|sigma|+sum of the sizes of the rules), instead of several passes on all the rules.
+ *
+ * Elements are identified as for {@link BitSetClosure}, in the order of {@link ImplicationalSystem#getSet},
+ * and rules are identified in the order of {@link ImplicationalSystem#getRules}.
+ * A compiled closure does not reflect further modifications of the implicational system.
+ * Working arrays are allocated once per thread, so that several threads can share this component.
+ *
+ * ~~~Java
+ * LinClosure engine = new LinClosure(system);
+ * long[] closure = engine.closure(engine.getSet(elements));
+ * ~~~
+ *
+ * ![LinClosure](LinClosure.png)
+ *
+ * @uml LinClosure.png
+ * !include src/lattice/LinClosure.iuml
+ * !include src/lattice/BitSetClosure.iuml
+ *
+ * hide members
+ * show LinClosure members
+ * class LinClosure #LightCyan
+ * title LinClosure UML graph
+ */
+public class LinClosure implements BitSetClosure {
+
+    /* ------------- FIELDS ------------------ */
+
+    /**
+     * The elements, indexed by their identifier.
+     */
+    private Comparable[] elements;
+
+    /**
+     * A map to associate its identifier to each element.
+     */
+    private TreeMap<Comparable, Integer> ids;
+
+    /**
+     * The rules, indexed by their identifier.
+     */
+    private Rule[] rules;
+
+    /**
+     * The number of elements of the premise of each rule.
+     */
+    private int[] premiseSizes;
+
+    /**
+     * The elements of the conclusion of each rule.
+     */
+    private int[][] conclusions;
+
+    /**
+     * The rules whose premise contains each element.
+     */
+    private int[][] index;
+
+    /**
+     * The rules whose premise is empty.
+     */
+    private int[] axioms;
+
+    /**
+     * The working counters of each thread computing closures.
+     */
+    private ThreadLocal<int[]> counters = new ThreadLocal<int[]>() {
+        protected int[] initialValue() {
+            return new int[LinClosure.this.rules.length];
+        }
+    };
+
+    /**
+     * The working stack of elements of each thread computing closures.
+     */
+    private ThreadLocal<int[]> stacks = new ThreadLocal<int[]>() {
+        protected int[] initialValue() {
+            return new int[LinClosure.this.elements.length];
+        }
+    };
+
+    /* ------------- CONSTRUCTORS ------------------ */
+
+    /**
+     * Compiles the closure operator of the specified implicational system.
+     *
+     * This treatment is performed in O(|S|+sum of the sizes of the rules) comparisons of elements.
+     *
+     * @param   system  an implicational system
+     */
+    public LinClosure(ImplicationalSystem system) {
+        this.elements = system.getSet().toArray(new Comparable[0]);
+        this.ids = new TreeMap<Comparable, Integer>();
+        for (int i = 0; i < this.elements.length; i++) {
+            this.ids.put(this.elements[i], i);
+        }
+        this.rules = system.getRules().toArray(new Rule[0]);
+        this.premiseSizes = new int[this.rules.length];
+        this.conclusions = new int[this.rules.length][];
+        int[] degrees = new int[this.elements.length];
+        int nbAxioms = 0;
+        for (int r = 0; r < this.rules.length; r++) {
+            this.premiseSizes[r] = this.rules[r].getPremise().size();
+            if (this.premiseSizes[r] == 0) {
+                nbAxioms++;
+            }
+            for (Comparable e : this.rules[r].getPremise()) {
+                degrees[this.ids.get(e)]++;
+            }
+            this.conclusions[r] = new int[this.rules[r].getConclusion().size()];
+            int k = 0;
+            for (Comparable e : this.rules[r].getConclusion()) {
+                this.conclusions[r][k++] = this.ids.get(e);
+            }
+        }
+        this.index = new int[this.elements.length][];
+        for (int i = 0; i < this.elements.length; i++) {
+            this.index[i] = new int[degrees[i]];
+            degrees[i] = 0;
+        }
+        this.axioms = new int[nbAxioms];
+        nbAxioms = 0;
+        for (int r = 0; r < this.rules.length; r++) {
+            if (this.premiseSizes[r] == 0) {
+                this.axioms[nbAxioms++] = r;
+            }
+            for (Comparable e : this.rules[r].getPremise()) {
+                int i = this.ids.get(e);
+                this.index[i][degrees[i]++] = r;
+            }
+        }
+    }
+
+    /* ------------- ACCESSORS ------------------ */
+
+    /**
+     * Returns the number of elements of this component.
+     *
+     * @return  the number of elements
+     */
+    public int size() {
+        return this.elements.length;
+    }
+
+    /**
+     * Returns the element of the specified identifier.
+     *
+     * @param   i  identifier of an element
+     *
+     * @return  the element
+     */
+    public Comparable getElement(int i) {
+        return this.elements[i];
+    }
+
+    /**
+     * Returns the identifier of the specified element.
+     *
+     * @param   e  an element
+     *
+     * @return  the identifier of the element, or -1 if it is not an element of this component
+     */
+    public int getElementId(Comparable e) {
+        Integer i = this.ids.get(e);
+        if (i == null) {
+            return -1;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the number of rules of this component.
+     *
+     * @return  the number of rules
+     */
+    public int sizeRules() {
+        return this.rules.length;
+    }
+
+    /**
+     * Returns the rule of the specified identifier.
+     *
+     * @param   r  identifier of a rule
+     *
+     * @return  the rule
+     */
+    public Rule getRule(int r) {
+        return this.rules[r];
+    }
+
+    /**
+     * Returns a new empty bitset of elements.
+     *
+     * @return  an empty bitset
+     */
+    public long[] newSet() {
+        return BitSetUtils.empty(this.elements.length);
+    }
+
+    /* ------------- CONVERSIONS ------------------ */
+
+    /**
+     * Returns the bitset of the specified set of elements.
+     *
+     * Elements that are not elements of this component are ignored.
+     *
+     * @param   set  a set of elements
+     *
+     * @return  the bitset of their identifiers
+     */
+    public long[] getSet(TreeSet<Comparable> set) {
+        long[] bits = this.newSet();
+        for (Comparable e : set) {
+            Integer i = this.ids.get(e);
+            if (i != null) {
+                BitSetUtils.set(bits, i);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the set of elements of the specified bitset.
+     *
+     * @param   bits  a bitset of element identifiers
+     *
+     * @return  the set of elements
+     */
+    public TreeSet<Comparable> getElements(long[] bits) {
+        TreeSet<Comparable> set = new TreeSet<Comparable>();
+        for (int i = BitSetUtils.nextSetBit(bits, 0); i >= 0; i = BitSetUtils.nextSetBit(bits, i + 1)) {
+            set.add(this.elements[i]);
+        }
+        return set;
+    }
+
+    /* ------------- OPERATIONS ------------------ */
+
+    /**
+     * Computes in `result` the closure of the specified set.
+     *
+     * This treatment is performed in O(|S|+sum of the sizes of the rules) without any allocation.
+     *
+     * @param   set     a bitset of elements
+     * @param   result  a bitset of elements, overwritten by the closure of `set`
+     */
+    public void closure(long[] set, long[] result) {
+        this.closure(set, result, null);
+    }
+
+    /**
+     * Computes in `result` the closure of the specified set by the rules that are not excluded.
+     *
+     * Excluding rules gives the closure operator of a subsystem without compiling it,
+     * for instance to test whether a rule is redundant, as for {@link ImplicationalSystem#makeMinimum}.
+     *
+     * @param   set       a bitset of elements
+     * @param   result    a bitset of elements, overwritten by the closure of `set`
+     * @param   excluded  a bitset of rule identifiers, or null when no rule is excluded
+     */
+    public void closure(long[] set, long[] result, long[] excluded) {
+        int[] counter = this.counters.get();
+        int[] stack = this.stacks.get();
+        System.arraycopy(this.premiseSizes, 0, counter, 0, this.premiseSizes.length);
+        BitSetUtils.copy(set, result);
+        int top = 0;
+        for (int i = BitSetUtils.nextSetBit(set, 0); i >= 0; i = BitSetUtils.nextSetBit(set, i + 1)) {
+            stack[top++] = i;
+        }
+        for (int r : this.axioms) {
+            if (excluded == null || !BitSetUtils.get(excluded, r)) {
+                top = this.fire(r, result, stack, top);
+            }
+        }
+        while (top > 0) {
+            for (int r : this.index[stack[--top]]) {
+                if (--counter[r] == 0 && (excluded == null || !BitSetUtils.get(excluded, r))) {
+                    top = this.fire(r, result, stack, top);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the conclusion of the specified rule to the closure, new elements being pushed on the stack.
+     *
+     * @param   r       identifier of a rule
+     * @param   result  the closure being computed
+     * @param   stack   the elements to propagate
+     * @param   top     the size of the stack
+     *
+     * @return  the new size of the stack
+     */
+    private int fire(int r, long[] result, int[] stack, int top) {
+        for (int i : this.conclusions[r]) {
+            if (!BitSetUtils.get(result, i)) {
+                BitSetUtils.set(result, i);
+                stack[top++] = i;
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Returns the closure of the specified set.
+     *
+     * @param   set  a bitset of elements
+     *
+     * @return  a new bitset of elements
+     */
+    public long[] closure(long[] set) {
+        long[] result = this.newSet();
+        this.closure(set, result);
+        return result;
+    }
+
+    /**
+     * Returns the closure of the specified set of elements.
+     *
+     * Elements that are not elements of this component belong to their own closure.
+     *
+     * @param   set  a set of elements
+     *
+     * @return  the closure of the set
+     */
+    public TreeSet<Comparable> closure(TreeSet<Comparable> set) {
+        TreeSet<Comparable> result = this.getElements(this.closure(this.getSet(set)));
+        result.addAll(set);
+        return result;
+    }
+}
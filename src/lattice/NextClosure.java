@@ -0,0 +1,219 @@
+package lattice;
+
+/*
+ * NextClosure.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+
+import utils.BitSetUtils;
+
+/**
+ * This class enumerates the closed sets of a closure operator on bitsets
+ * in the lectic order, using the Ganter's Next Closure algorithm.
+ *
+ * The first closed set is the closure of the empty set. The next closed set of a closed set A
+ * is the closure B of (A inter {0, ..., i-1}) union {i} for the greatest element i not in A
+ * such that B contains no new element lower than i. This canonicity test ensures that
+ * each closed set is generated exactly once, without storing the closed sets already generated.
+ *
+ * Closed sets are streamed either as bitsets, with methods {@link #advance} and {@link #getCurrent}
+ * that do not allocate any memory, or as concepts, with the `Iterator<Concept>` interface.
+ *
+ * ~~~Java
+ * NextClosure enumerator = new NextClosure(context.getBitSetClosure());
+ * while (enumerator.advance()) {
+ *     long[] closed = enumerator.getCurrent();
+ * }
+ * ~~~
+ *
+ * Each closed set is computed with at most |S| closures, in O(|S|Cl),
+ * where S is the set of elements and Cl is the closure computation complexity.
+ *
+ * ![NextClosure](NextClosure.png)
+ *
+ * @uml NextClosure.png
+ * !include src/lattice/NextClosure.iuml
+ * !include src/lattice/BitSetClosure.iuml
+ *
+ * hide members
+ * show NextClosure members
+ * class NextClosure #LightCyan
+ * title NextClosure UML graph
+ */
+public class NextClosure implements Iterator<Concept> {
+
+    /* ------------- FIELDS ------------------ */
+
+    /**
+     * The closure operator.
+     */
+    private BitSetClosure operator;
+
+    /**
+     * The number of elements.
+     */
+    private int size;
+
+    /**
+     * The current closed set, or null when the enumeration has not started.
+     */
+    private long[] current;
+
+    /**
+     * The candidate set whose closure is computed.
+     */
+    private long[] candidate;
+
+    /**
+     * The closure of the candidate set.
+     */
+    private long[] next;
+
+    /**
+     * True when the next closed set has been computed but not returned yet.
+     */
+    private boolean computed;
+
+    /**
+     * True when all the closed sets have been enumerated.
+     */
+    private boolean finished;
+
+    /* ------------- CONSTRUCTORS ------------------ */
+
+    /**
+     * Constructs an enumerator of the closed sets of the specified closure operator.
+     *
+     * @param   operator  a closure operator on bitsets
+     */
+    public NextClosure(BitSetClosure operator) {
+        this.operator = operator;
+        this.size = operator.size();
+        this.current = null;
+        this.candidate = BitSetUtils.empty(this.size);
+        this.next = BitSetUtils.empty(this.size);
+        this.computed = false;
+        this.finished = false;
+    }
+
+    /**
+     * Constructs an enumerator of the closed sets of the specified closure system.
+     *
+     * @param   system  a closure system
+     */
+    public NextClosure(ClosureSystem system) {
+        this(system.getBitSetClosure());
+    }
+
+    /* ------------- BITSET ENUMERATION ------------------ */
+
+    /**
+     * Computes the lecticaly next closed set, returning false when there is none.
+     *
+     * The bitset returned by {@link #getCurrent} is overwritten by this method.
+     *
+     * @return  true if a next closed set has been computed
+     */
+    public boolean advance() {
+        if (this.computed) {
+            this.computed = false;
+            return true;
+        }
+        if (this.finished) {
+            return false;
+        }
+        if (this.current == null) {
+            this.current = BitSetUtils.empty(this.size);
+            this.operator.closure(this.candidate, this.current);
+            return true;
+        }
+        BitSetUtils.copy(this.current, this.candidate);
+        for (int i = this.size - 1; i >= 0; i--) {
+            if (BitSetUtils.get(this.candidate, i)) {
+                BitSetUtils.clear(this.candidate, i);
+            } else {
+                BitSetUtils.set(this.candidate, i);
+                this.operator.closure(this.candidate, this.next);
+                if (BitSetUtils.equalsBefore(this.next, this.candidate, i)) {
+                    long[] tmp = this.current;
+                    this.current = this.next;
+                    this.next = tmp;
+                    return true;
+                }
+                BitSetUtils.clear(this.candidate, i);
+            }
+        }
+        this.finished = true;
+        return false;
+    }
+
+    /**
+     * Returns the current closed set.
+     *
+     * The returned bitset belongs to this component, and is overwritten by method {@link #advance}.
+     *
+     * @return  the current closed set
+     */
+    public long[] getCurrent() {
+        return this.current;
+    }
+
+    /**
+     * Returns the set of elements of the specified bitset.
+     *
+     * @param   bits  a bitset of elements
+     *
+     * @return  the set of elements
+     */
+    public TreeSet<Comparable> getElements(long[] bits) {
+        TreeSet<Comparable> set = new TreeSet<Comparable>();
+        for (int i = BitSetUtils.nextSetBit(bits, 0); i >= 0; i = BitSetUtils.nextSetBit(bits, i + 1)) {
+            set.add(this.operator.getElement(i));
+        }
+        return set;
+    }
+
+    /* ------------- ITERATOR ------------------ */
+
+    /**
+     * Checks if there is a next closed set.
+     *
+     * @return  true if there is a next closed set
+     */
+    public boolean hasNext() {
+        if (!this.computed) {
+            this.computed = this.advance();
+        }
+        return this.computed;
+    }
+
+    /**
+     * Returns the next closed set as a concept without set B.
+     *
+     * @return  the next closed set
+     */
+    public Concept next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        this.computed = false;
+        return new Concept(this.getElements(this.current), false);
+    }
+
+    /**
+     * Unsupported operation.
+     */
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,143 @@
+package sequence;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class is an alphabet of at most 256 characters, each symbol being encoded by its rank in a byte.
+ *
+ * Sequences over an alphabet are stored as arrays of codes instead of strings,
+ * and searched with the codes of the symbols.
+ */
+public class Alphabet {
+	/**
+	 * The symbols, in the order of their code
+	 */
+	private char[] symbols;
+
+	/**
+	 * The code of each character lower than 256, -1 if not a symbol
+	 */
+	private int[] ascii = new int[256];
+
+	public Alphabet(String symbols) {
+		this.symbols = symbols.toCharArray();
+		if (this.symbols.length > 256) {
+			throw new IllegalArgumentException("An alphabet has at most 256 symbols");
+		}
+		Arrays.fill(ascii, -1);
+		for (int code = 0; code < this.symbols.length; code++) {
+			char c = this.symbols[code];
+			if (isRepeated(c, code)) {
+				throw new IllegalArgumentException("Symbol " + c + " is repeated");
+			}
+			if (c < 256) {
+				ascii[c] = code;
+			}
+		}
+	}
+
+	/**
+	 * @param c a character
+	 * @param code the code of the character
+	 * @return true if the character is a symbol of lower code
+	 */
+	private boolean isRepeated(char c, int code) {
+		if (c < 256) {
+			return ascii[c] >= 0;
+		}
+		for (int other = 0; other < code; other++) {
+			if (symbols[other] == c) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the alphabet of the specified tokens if each of them is a single character,
+	 * as in the Attributes line of a file of sequences.
+	 *
+	 * @param tokens
+	 * @return the alphabet, or null if a token is not a character
+	 */
+	public static Alphabet fromTokens(List<String> tokens) {
+		StringBuilder sb = new StringBuilder(tokens.size());
+		for (String token : tokens) {
+			if (token.length() != 1 || sb.indexOf(token) >= 0) {
+				return null;
+			}
+			sb.append(token);
+		}
+		if (sb.length() == 0 || sb.length() > 256) {
+			return null;
+		}
+		return new Alphabet(sb.toString());
+	}
+
+	/**
+	 * @return the number of symbols
+	 */
+	public int size() {
+		return symbols.length;
+	}
+
+	/**
+	 * @param code
+	 * @return the symbol of the specified code
+	 */
+	public char getSymbol(int code) {
+		return symbols[code];
+	}
+
+	/**
+	 * @param c a character
+	 * @return the code of the character, or -1 if it is not a symbol
+	 */
+	public int getCode(char c) {
+		if (c < 256) {
+			return ascii[c];
+		}
+		for (int code = 0; code < symbols.length; code++) {
+			if (symbols[code] == c) {
+				return code;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Encodes the specified string
+	 * @param s
+	 * @return the codes of the characters, or null if a character is not a symbol
+	 */
+	public byte[] encode(String s) {
+		byte[] codes = new byte[s.length()];
+		for (int i = 0; i < codes.length; i++) {
+			int code = getCode(s.charAt(i));
+			if (code < 0) {
+				return null;
+			}
+			codes[i] = (byte) code;
+		}
+		return codes;
+	}
+
+	/**
+	 * Decodes the specified codes
+	 * @param codes
+	 * @return the string of the symbols
+	 */
+	public String decode(byte[] codes) {
+		char[] chars = new char[codes.length];
+		for (int i = 0; i < codes.length; i++) {
+			chars[i] = symbols[codes[i] & 0xFF];
+		}
+		return new String(chars);
+	}
+
+	@Override
+	public String toString() {
+		return new String(symbols);
+	}
+}
@@ -5,6 +5,10 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
@@ -12,12 +16,17 @@ import java.util.TreeSet;
 
 import dgraph.Edge;
 import dgraph.Node;
+import suffixtree.CompactSuffixTree;
+import suffixtree.GeneralizedSuffixArray;
 import suffixtree.GeneralizedSuffixTree;
+import suffixtree.SubstringIndex;
+import lattice.BitSetClosure;
 import lattice.ClosureSystem;
 import lattice.ComparableSet;
 import lattice.Concept;
 import lattice.ConceptLattice;
 import lattice.Context;
+import utils.BitSetUtils;
 
 /**
  * 
@@ -25,21 +34,52 @@ import lattice.Context;
  * 
  */
 public class ContextSequence extends Context{
+	/**
+	 * The engines of the index of the sequences.
+	 */
+	public enum IndexEngine {
+		/** the generalized suffix tree */
+		SUFFIX_TREE,
+		/** the generalized suffix tree stored in arrays */
+		COMPACT_SUFFIX_TREE,
+		/** the generalized suffix array */
+		SUFFIX_ARRAY
+	}
+
 	/*
 	 * A set of objects (bees)
 	 */
 	private TreeSet<Comparable> observations;
 
 	/**
-	 * A set of sequences
+	 * The sequences, interned with dense ids which are also their ids in the index.
 	 */
-	private TreeSet<Comparable> sequences;
+	private SequenceDictionary sequences;
 	
 	private TreeSet<Comparable> attributes;
 	
 	private String[] strings;
 
-	private GeneralizedSuffixTree gstAllSequences;
+	/**
+	 * An index of all the sequences, shared by the closure computations.
+	 * It is built when the context is loaded, and rebuilt after a modification of the sequences.
+	 */
+	private SubstringIndex sequencesIndex;
+
+	/**
+	 * The engine of the index.
+	 */
+	private IndexEngine engine = IndexEngine.SUFFIX_TREE;
+
+	/**
+	 * The observations, in the order of their ids.
+	 */
+	private Comparable[] observationsById;
+
+	/**
+	 * For each sequence of the index, the bitset of the ids of the observations having this sequence.
+	 */
+	private long[][] sequenceObservations;
 
 	/**
 	 * A map to associate a set of attributes to each observation.
@@ -47,28 +87,32 @@ public class ContextSequence extends Context{
 	private TreeMap<Comparable, TreeSet<Comparable>> intent;
 
 	/**
-	 * A map to associate a set of observations to each sequence.
+	 * A list to associate a set of observations to each sequence id.
 	 */
-	private TreeMap<Comparable, TreeSet<Comparable>> extent;
+	private ArrayList<TreeSet<Comparable>> extent;
 
 	public ContextSequence() {
 		super();
-		gstAllSequences = new GeneralizedSuffixTree(strings);
+		initialize();
 	}
 
 	public ContextSequence(String filename) throws IOException {
+		this(filename, IndexEngine.SUFFIX_TREE);
+	}
+
+	public ContextSequence(String filename, IndexEngine engine) throws IOException {
 		initialize();
+		this.engine = engine;
 		parse2(filename);
-		gstAllSequences = new GeneralizedSuffixTree(getStrings());
-		List<String> lcs = gstAllSequences.getLCS();
+		getIndex();
 	}
 
 	private void initialize() {
-		sequences = new TreeSet<Comparable>();
+		sequences = new SequenceDictionary();
 		observations = new TreeSet<Comparable>();
 
 		intent = new TreeMap<Comparable, TreeSet<Comparable>>();
-		extent = new TreeMap<Comparable, TreeSet<Comparable>>();
+		extent = new ArrayList<TreeSet<Comparable>>();
 	}
 
 	@Override
@@ -76,6 +120,15 @@ public class ContextSequence extends Context{
 		return observations;
 	}
 
+	/**
+	 * Closed sets of sequences are sets of observations,
+	 * so the bitset closure of a context on attributes does not apply.
+	 */
+	@Override
+	public BitSetClosure getBitSetClosure() {
+		return new ClosureSystem.DefaultBitSetClosure(this);
+	}
+
 	
     public ConceptLattice closedSetLatticeSequence(boolean diagram) {
         ConceptLattice csl = this.closedSetLattice(diagram);
@@ -109,6 +162,243 @@ public class ContextSequence extends Context{
         }
         return csl;
     }
+    /**
+     * Adds an observation having the specified sequence, and updates in place the concept lattice
+     * given by {@link #conceptLatticeSequence} with diagram.
+     *
+     * The lattice is updated by the AddIntent algorithm of van der Merwe, Obiedkov and Kourie,
+     * intents being compared by inclusion of their sequences as substrings:
+     * starting from the concept of the least extent, concepts whose intent contains the intent of the observation
+     * are reached through their predecessors, and a concept is only created for each new meet
+     * of the intent of the observation with an existing intent. The observation is then added to the extents
+     * of the concept of its intent and of its predecessors.
+     * Intents are thus only compared for the concepts visited by AddIntent, and extents are only modified
+     * for the concepts whose extent contains the new observation. The concept of empty extent is kept
+     * when it has several predecessors, without comparing its intent with all the sequences.
+     * When the nodes of the lattice are indexed, only the nodes created or modified are indexed again.
+     *
+     * When the index is a compact suffix tree, the sequence is appended to it, its construction being online.
+     * Other indexes are rebuilt when needed.
+     *
+     * @param   obs      a new observation
+     * @param   seq      the sequence of the observation
+     * @param   lattice  the concept lattice of this component, before the addition
+     *
+     * @return  the concept of the observation, or null if the observation already belongs to this component
+     */
+    public Concept addObservation(Comparable obs, String seq, ConceptLattice lattice) {
+        if (containsObservation(obs)) {
+            return null;
+        }
+        SubstringIndex index = sequencesIndex;
+        int size = sequences.size();
+        addObservation(obs);
+        Sequence sequence = addSequence(seq);
+        addExtentIntent(obs, sequence);
+        if (sequences.size() > size && index instanceof CompactSuffixTree) {
+            ((CompactSuffixTree) index).addString(sequence.toString());
+            sequencesIndex = index;
+        }
+
+        // the concept of the least extent is the well of the diagram,
+        // a concept of empty extent whose intent is all the sequences is added if needed
+        TreeMap<Node, List<String>> intents = new TreeMap<Node, List<String>>();
+        Concept least = (Concept) lattice.top();
+        if (least == null || !least.getSetA().isEmpty()) {
+            Concept empty = new Concept(new TreeSet<Comparable>(), getIntent(new TreeSet<Comparable>()));
+            lattice.addNode(empty);
+            if (least != null) {
+                lattice.addEdge(least, empty);
+            }
+            least = empty;
+        }
+        if (!least.containsInB(sequence)) {
+            lattice.unindexNode(least);
+            least.addToB(sequence);
+            lattice.indexNode(least);
+        }
+
+        List<String> description = new ArrayList<String>();
+        description.add(sequence.toString());
+        Concept concept = addIntent(description, least, lattice, intents);
+
+        // the observation is added to the extents of the concept and of its predecessors
+        TreeSet<Node> visited = new TreeSet<Node>();
+        ArrayList<Node> stack = new ArrayList<Node>();
+        stack.add(concept);
+        visited.add(concept);
+        while (!stack.isEmpty()) {
+            Node node = stack.remove(stack.size() - 1);
+            lattice.unindexNode(node);
+            ((Concept) node).addToA(obs);
+            lattice.indexNode(node);
+            for (Node parent : lattice.getPredecessorNodes(node)) {
+                if (visited.add(parent)) {
+                    stack.add(parent);
+                }
+            }
+        }
+
+        // the concept of empty extent is not closed when an observation contains all the sequences:
+        // since each sequence belongs to the intent of a predecessor of this concept,
+        // this is the case when it has a single predecessor, whose intent is then all the sequences
+        if (lattice.getPredecessorNodes(least).size() == 1) {
+            lattice.removeNode(least);
+        }
+        return concept;
+    }
+
+    /**
+     * AddIntent: returns the concept of the specified intent, created if needed below the generator.
+     */
+    private Concept addIntent(List<String> intent, Concept generator, ConceptLattice lattice,
+            TreeMap<Node, List<String>> intents) {
+        generator = getMaximalConcept(intent, generator, lattice, intents);
+        List<String> generatorIntent = getIntent(generator, intents);
+        if (generatorIntent != null && new HashSet<String>(generatorIntent).equals(new HashSet<String>(intent))) {
+            return generator;
+        }
+        ArrayList<Concept> newParents = new ArrayList<Concept>();
+        for (Node node : lattice.getPredecessorNodes(generator)) {
+            Concept candidate = (Concept) node;
+            List<String> candidateIntent = getIntent(candidate, intents);
+            if (!isSubsumed(candidateIntent, intent)) {
+                candidate = addIntent(meet(candidateIntent, intent), candidate, lattice, intents);
+                candidateIntent = getIntent(candidate, intents);
+            }
+            boolean addParent = true;
+            for (int i = newParents.size() - 1; i >= 0; i--) {
+                List<String> parentIntent = getIntent(newParents.get(i), intents);
+                if (isSubsumed(candidateIntent, parentIntent)) {
+                    addParent = false;
+                    break;
+                } else if (isSubsumed(parentIntent, candidateIntent)) {
+                    newParents.remove(i);
+                }
+            }
+            if (addParent) {
+                newParents.add(candidate);
+            }
+        }
+        TreeSet<Comparable> setB = new TreeSet<Comparable>();
+        for (String s : intent) {
+            setB.add(new Sequence(s));
+        }
+        Concept concept = new Concept(generator.getSetA(), setB);
+        lattice.addNode(concept);
+        intents.put(concept, intent);
+        for (Concept parent : newParents) {
+            lattice.removeEdge(parent, generator);
+            lattice.addEdge(parent, concept);
+        }
+        lattice.addEdge(concept, generator);
+        return concept;
+    }
+
+    /**
+     * Returns the most general concept above the generator whose intent contains the specified one.
+     */
+    private Concept getMaximalConcept(List<String> intent, Concept generator, ConceptLattice lattice,
+            TreeMap<Node, List<String>> intents) {
+        boolean parentIsMaximal = true;
+        while (parentIsMaximal) {
+            parentIsMaximal = false;
+            for (Node parent : lattice.getPredecessorNodes(generator)) {
+                if (isSubsumed(intent, getIntent((Concept) parent, intents))) {
+                    generator = (Concept) parent;
+                    parentIsMaximal = true;
+                    break;
+                }
+            }
+        }
+        return generator;
+    }
+
+    /**
+     * Returns the intent of a concept as strings, null standing for the intent of the concept of empty extent
+     * which contains any sequence.
+     */
+    private List<String> getIntent(Concept concept, TreeMap<Node, List<String>> intents) {
+        List<String> intent = intents.get(concept);
+        if (intent == null) {
+            if (concept.getSetA().isEmpty()) {
+                return null;
+            }
+            intent = new ArrayList<String>();
+            for (Comparable s : concept.getSetB()) {
+                intent.add(s.toString());
+            }
+            intents.put(concept, intent);
+        }
+        return intent;
+    }
+
+    /**
+     * @return true if each sequence of the first intent is a substring of a sequence of the second one
+     */
+    private static boolean isSubsumed(List<String> general, List<String> specific) {
+        if (specific == null) {
+            return true;
+        }
+        if (general == null) {
+            return false;
+        }
+        for (String s : general) {
+            if (!isSubsumed(s, specific)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSubsumed(String s, List<String> specific) {
+        if (specific == null) {
+            return true;
+        }
+        for (String t : specific) {
+            if (t.indexOf(s) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the meet of two intents, i.e. the maximal substrings common to a sequence of each of them.
+     */
+    private static List<String> meet(List<String> first, List<String> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        ArrayList<String> common = new ArrayList<String>();
+        for (String x : first) {
+            for (String y : second) {
+                if (!x.isEmpty() && !y.isEmpty()) {
+                    common.addAll(new GeneralizedSuffixArray(new String[] {x, y}).getLCS());
+                }
+            }
+        }
+        // only the maximal substrings are kept, the longest first
+        Collections.sort(common, new Comparator<String>() {
+            public int compare(String s, String t) {
+                return t.length() - s.length();
+            }
+        });
+        ArrayList<String> meet = new ArrayList<String>();
+        for (String s : common) {
+            if (!s.isEmpty() && !isSubsumed(s, meet)) {
+                meet.add(s);
+            }
+        }
+        if (meet.isEmpty()) {
+            meet.add("");
+        }
+        return meet;
+    }
+
 	@Override
 	public TreeSet<Comparable> closure(TreeSet<Comparable> s) {
 		return getExtent(getIntent(s));
@@ -119,27 +409,18 @@ public class ContextSequence extends Context{
 	//@Override
 	public TreeSet<Comparable> closure2(TreeSet<Comparable> s) {
 		TreeSet<Comparable> ts = new TreeSet<Comparable>();
-		TreeSet<String> contains = new TreeSet<String>();
+		if (sequences.size() == 0) {
+			return ts;
+		}
+		SubstringIndex index = getIndex();
+		long[] subset = BitSetUtils.empty(index.getNumberOfStrings());
 		for (Comparable comp : s) {
-			Sequence seq = (Sequence) comp;
-			String str = seq.toString();
-			// get all sequences that contain str
-			contains.addAll(gstAllSequences.getStringContains(str));
+			// get all sequences that contain comp
+			BitSetUtils.or(subset, index.getStringIds(comp.toString()));
+		}
+		for (String lcs : index.getLCS(subset)) {
+			ts.add(new Sequence(lcs));
 		}
-		
-		//List<String> contains = gstAllSequences.getStringContains(str);
-		// get
-		if(contains.size() == 1){
-			ts.add(new Sequence(contains.first()));
-		}else if (contains.size() > 1) {
-			String[] strings = new String[contains.size()];
-			strings = contains.toArray(strings);
-			GeneralizedSuffixTree gst = new GeneralizedSuffixTree(strings);
-			List<String> longestCommonSubstrings = gst.getLCS();
-			for (String lcs : longestCommonSubstrings) {
-				ts.add(new Sequence(lcs));
-			}
-		}		
 		return ts;
 	}
 
@@ -149,18 +430,75 @@ public class ContextSequence extends Context{
 
 	}
 
+	/**
+	 * Adds the specified sequence, if it does not already belong to this component.
+	 * 
+	 * @param seq a sequence
+	 */
 	public void addSequence(Sequence seq) {
-		sequences.add(seq);
-		this.extent.put(seq, new TreeSet<Comparable>());
+		if (!sequences.contains(seq)) {
+			sequences.add(seq);
+			this.extent.add(new TreeSet<Comparable>());
+			this.invalidatePrecedenceGraph();
+			this.invalidateIndex();
+		}
+	}
+
+	/**
+	 * Adds the sequence of the specified string, if it does not already belong to this component.
+	 * 
+	 * @param seq the string of a sequence
+	 * @return the sequence of this component
+	 */
+	public Sequence addSequence(String seq) {
+		int size = sequences.size();
+		int id = sequences.add(seq);
+		if (id == size) {
+			this.extent.add(new TreeSet<Comparable>());
+			this.invalidatePrecedenceGraph();
+			this.invalidateIndex();
+		}
+		return sequences.get(id);
+	}
+
+	/**
+	 * Returns the alphabet of the sequences.
+	 * 
+	 * @return the alphabet, null if sequences are stored as strings
+	 */
+	public Alphabet getAlphabet() {
+		return sequences.getAlphabet();
+	}
+
+	/**
+	 * Sets the alphabet of the sequences added from now on, which are then stored
+	 * as the codes of their symbols.
+	 * 
+	 * @param alphabet an alphabet, null to store sequences as strings
+	 */
+	public void setAlphabet(Alphabet alphabet) {
+		sequences.setAlphabet(alphabet);
+	}
+
+	/**
+	 * Returns the sequences of this component, identified by their id.
+	 * 
+	 * @return the dictionary of sequences
+	 */
+	public SequenceDictionary getSequences() {
+		return sequences;
 	}
 	
 	public void addObservation(Comparable observation){
 		observations.add(observation);
 		this.intent.put(observation, new TreeSet<Comparable>());
+		this.invalidatePrecedenceGraph();
+		this.invalidateExtents();
 	}
 
 	public void addAttribute(Comparable attribute){
 		attributes.add(attribute);
+		this.invalidatePrecedenceGraph();
 	}
 
 	
@@ -177,30 +515,22 @@ public class ContextSequence extends Context{
      */
 	public boolean addExtentIntent(Comparable obs, Comparable seq){
 		if(containsObservation(obs) && containsSequence(seq)){
-            boolean ok = intent.get(obs).add(seq) && extent.get(seq).add(obs);
+            int id = sequences.getId(seq);
+            boolean ok = intent.get(obs).add(sequences.get(id)) && extent.get(id).add(obs);
+            this.invalidatePrecedenceGraph();
+            this.invalidateExtents();
             return ok;
         }
         return false;        
     }
 
     /**
-     * Returns the set of observations that are intent of the specified attribute.
+     * Returns the set of observations that contain all the specified sequences.
      * @param seqs
      * @return
      */
 	public TreeSet<Comparable> getExtent(TreeSet<Comparable> seqs){
-        TreeSet<Comparable> objects = new TreeSet(observations);
-//        if(seqs.size() == 0){
-//        	return new TreeSet<Comparable>();
-//        }
-		for(Comparable seq: seqs){
-			objects.retainAll(getExtent(seq));
-		}
-//		TreeSet<Comparable> objects = new TreeSet();
-//		for(Comparable seq: seqs){
-//			objects.addAll(getExtent(seq));
-//		}
-		return objects;
+		return toObservations(getExtentBitSet(seqs));
 	}
 	
     /**
@@ -211,37 +541,98 @@ public class ContextSequence extends Context{
      * @return  the set of observations
      */
     public TreeSet<Comparable> getExtent(Comparable seq) {
-    	TreeSet<Comparable> obs = new TreeSet<Comparable>();
-    	//get all sequences that contain seq
-    	for(Comparable sequence: sequences){
-    		if(((Sequence)sequence).containSubsequence((Sequence)seq)){
-    			obs.addAll(extent.get(sequence));
-    		}
-    	}
-        return obs;
+        return toObservations(getExtentBitSet(seq));
     }
-    
+
+    /**
+     * Returns the observations that contain all the specified sequences, as a bitset of observation ids.
+     * 
+     * Observations are identified by their rank in the set of observations.
+     * The extent of each sequence is computed on the index, and extents are intersected word by word.
+     *
+     * @param   seqs  a set of sequences
+     *
+     * @return  the bitset of observations
+     */
+    public long[] getExtentBitSet(TreeSet<Comparable> seqs) {
+        long[] objects = BitSetUtils.empty(observations.size());
+        for (int i = 0; i < observations.size(); i++) {
+            BitSetUtils.set(objects, i);
+        }
+        for (Comparable seq : seqs) {
+            BitSetUtils.and(objects, getExtentBitSet(seq));
+        }
+        return objects;
+    }
+
+    /**
+     * Returns the observations that contain the specified sequence, as a bitset of observation ids.
+     * 
+     * The sequences containing the specified one are given by the index in O(|seq| + occ),
+     * where occ corresponds to the number of occurrences of the sequence.
+     *
+     * @param   seq  a sequence
+     *
+     * @return  the bitset of observations
+     */
+    public long[] getExtentBitSet(Comparable seq) {
+        long[] objects = BitSetUtils.empty(observations.size());
+        SubstringIndex index = getIndex();
+        if (index == null) {
+            return objects;
+        }
+        long[][] observationsOf = getSequenceObservations();
+        long[] ids = index.getStringIds(seq.toString());
+        for (int id = BitSetUtils.nextSetBit(ids, 0); id >= 0; id = BitSetUtils.nextSetBit(ids, id + 1)) {
+            BitSetUtils.or(objects, observationsOf[id]);
+        }
+        return objects;
+    }
+
+    /**
+     * Returns the observations of the specified bitset of observation ids.
+     *
+     * @param   bits  a bitset of observation ids
+     *
+     * @return  the set of observations
+     */
+    private TreeSet<Comparable> toObservations(long[] bits) {
+        if (observationsById == null) {
+            observationsById = observations.toArray(new Comparable[observations.size()]);
+        }
+        TreeSet<Comparable> objects = new TreeSet<Comparable>();
+        for (int i = BitSetUtils.nextSetBit(bits, 0); i >= 0; i = BitSetUtils.nextSetBit(bits, i + 1)) {
+            objects.add(observationsById[i]);
+        }
+        return objects;
+    }
+
+	/**
+	 * Returns the longest common substrings of the sequences of the specified observations,
+	 * computed on the index of all the sequences.
+	 * 
+	 * @param objects a set of observations
+	 * @return the set of sequences
+	 */
 	public TreeSet<Comparable> getIntent(TreeSet<Comparable> objects){
 		if(objects.size() == 0){
-			return new TreeSet<Comparable>(sequences);
+			return new TreeSet<Comparable>(sequences.getSequences());
 		}
-		TreeSet<Comparable> seqs = new TreeSet<Comparable>();
-			
+		TreeSet<Comparable> rs = new TreeSet<Comparable>();
+		if(sequences.size() == 0){
+			return rs;
+		}
+		SubstringIndex index = getIndex();
+		long[] subset = BitSetUtils.empty(index.getNumberOfStrings());
 		for(Comparable obj: objects){
-			TreeSet<Comparable> seq = getIntent(obj);
-			if(seq.size() > 0){
-				seqs.addAll(seq);				
+			for(Comparable seq: getIntent(obj)){
+				int id = sequences.getId(seq);
+				if(id >= 0){
+					BitSetUtils.set(subset, id);
+				}
 			}
 		}
-		
-		String[] stringsFromSequences = new String[seqs.size()];
-		int i = 0;
-		for(Comparable seq: seqs){
-			stringsFromSequences[i++] = seq.toString();
-		}
-		TreeSet<Comparable> rs = new TreeSet<Comparable>();
-		GeneralizedSuffixTree gst = new GeneralizedSuffixTree(stringsFromSequences);
-		List<String> lcs = gst.getLCS();
+		List<String> lcs = index.getLCS(subset);
 
 		for (String s : lcs) {
 			rs.add(new Sequence(s));
@@ -333,20 +724,104 @@ public class ContextSequence extends Context{
 			extension = filename.substring(index + 1);
 		}
 		BufferedReader file = new BufferedReader(new FileReader(filename));
-		SequencesReaderFactory.get(extension).read(this, file);
+		try {
+			SequencesReaderFactory.get(extension).read(this, file);
+		} finally {
+			file.close();
+		}
 	}
 
 	private String[] getStrings() {
 		if (strings == null) {
 			strings = new String[sequences.size()];
-			int i = 0;
-			for (Comparable comp : sequences) {
-				Sequence seq = (Sequence) comp;
-				strings[i++] = seq.toString();
+			for (int i = 0; i < strings.length; i++) {
+				strings[i] = sequences.get(i).toString();
 			}
 		}
 		return strings;
 	}
+
+	/**
+	 * Returns the engine of the index of the sequences.
+	 * 
+	 * @return the engine
+	 */
+	public IndexEngine getIndexEngine() {
+		return engine;
+	}
+
+	/**
+	 * Sets the engine of the index of the sequences, the index being rebuilt when needed.
+	 * 
+	 * @param engine the engine
+	 */
+	public void setIndexEngine(IndexEngine engine) {
+		this.engine = engine;
+		this.invalidateIndex();
+	}
+
+	/**
+	 * Returns the index of all the sequences, built when needed.
+	 * 
+	 * @return the index of the sequences
+	 */
+	private SubstringIndex getIndex() {
+		if (sequencesIndex == null && sequences.size() > 0) {
+			switch (engine) {
+			case COMPACT_SUFFIX_TREE:
+				sequencesIndex = new CompactSuffixTree(getStrings());
+				break;
+			case SUFFIX_ARRAY:
+				sequencesIndex = new GeneralizedSuffixArray(getStrings());
+				break;
+			default:
+				sequencesIndex = new GeneralizedSuffixTree(getStrings());
+			}
+		}
+		return sequencesIndex;
+	}
+
+	/**
+	 * Returns, for each sequence of the index, the bitset of the ids of the observations having it.
+	 * 
+	 * @return the bitsets of observations
+	 */
+	private long[][] getSequenceObservations() {
+		if (sequenceObservations == null) {
+			getIndex();
+			HashMap<Comparable, Integer> observationIds = new HashMap<Comparable, Integer>();
+			for (Comparable o : observations) {
+				observationIds.put(o, observationIds.size());
+			}
+			sequenceObservations = new long[sequences.size()][];
+			for (int i = 0; i < sequences.size(); i++) {
+				long[] bits = BitSetUtils.empty(observations.size());
+				for (Comparable o : extent.get(i)) {
+					BitSetUtils.set(bits, observationIds.get(o));
+				}
+				sequenceObservations[i] = bits;
+			}
+		}
+		return sequenceObservations;
+	}
+
+	/**
+	 * Discards the extents of the sequences after a modification of the observations.
+	 */
+	private void invalidateExtents() {
+		observationsById = null;
+		sequenceObservations = null;
+	}
+
+	/**
+	 * Discards the index after a modification of the sequences.
+	 */
+	private void invalidateIndex() {
+		this.invalidateExtents();
+		sequencesIndex = null;
+		strings = null;
+	}
+
 	private boolean isSubSequence(Sequence searchSequence, Sequence sequence){
 		return sequence.toString().indexOf(searchSequence.toString()) >= 0;
 	}
@@ -365,6 +840,15 @@ public class ContextSequence extends Context{
             string.append(" ");
         }
 
+        // second line : the symbols of the alphabet separated by a space
+        string.append("\nAttributes: ");
+        Alphabet alphabet = getAlphabet();
+        if (alphabet != null) {
+            for (int i = 0; i < alphabet.size(); i++) {
+                string.append(alphabet.getSymbol(i)).append(" ");
+            }
+        }
+
         // next lines : All intents of observations, one on each line:
         // observation : list of attributes
         // a StringTokenizer is used to delete spaces in the
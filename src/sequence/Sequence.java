@@ -1,10 +1,17 @@
 package sequence;
 
+import java.util.Arrays;
+
 public class Sequence implements Comparable<Sequence>{
 	/**
-	 * A string represented a sequence
+	 * A string represented a sequence, null if the sequence is encoded over an alphabet
 	 */
 	private String sequence;
+	/**
+	 * The codes of the symbols of the sequence over its alphabet
+	 */
+	private byte[] codes;
+	private Alphabet alphabet;
 	private static int id = 0;
 	
 	/**
@@ -15,14 +22,87 @@ public class Sequence implements Comparable<Sequence>{
 		this.sequence = seq;	
 		id++;
 	}
+
+	/**
+	 * Creates a sequence stored as the codes of its symbols over the specified alphabet,
+	 * or as a string if a character is not a symbol of the alphabet
+	 * @param seq
+	 * @param alphabet
+	 */
+	public Sequence(String seq, Alphabet alphabet) {
+		this.codes = alphabet.encode(seq);
+		if (codes == null) {
+			this.sequence = seq;
+		} else {
+			this.alphabet = alphabet;
+		}
+		id++;
+	}
+
+	/**
+	 * @return the alphabet of the sequence, null if it is stored as a string
+	 */
+	public Alphabet getAlphabet() {
+		return alphabet;
+	}
+
+	/**
+	 * @return the number of symbols of the sequence
+	 */
+	public int length() {
+		return codes != null ? codes.length : sequence.length();
+	}
 	/**
 	 * 
 	 * @param seq
 	 * @return true if seq is subsequence(substring) of current sequence
 	 */
 	public boolean containSubsequence(Sequence seq){
+		if (alphabet != null && alphabet == seq.alphabet) {
+			return contains(codes, seq.codes, alphabet.size());
+		}
 		return toString().indexOf(seq.toString()) >= 0;
 	}
+
+	/**
+	 * Searches a pattern of codes in a text of codes.
+	 * Patterns of at most 64 symbols are searched by the bit-parallel Shift-And algorithm,
+	 * in one pass on the text with a word of states.
+	 */
+	private static boolean contains(byte[] text, byte[] pattern, int sigma) {
+		int m = pattern.length;
+		if (m == 0) {
+			return true;
+		}
+		if (m > text.length) {
+			return false;
+		}
+		if (m > 64) {
+			for (int i = 0; i + m <= text.length; i++) {
+				int j = 0;
+				while (j < m && text[i + j] == pattern[j]) {
+					j++;
+				}
+				if (j == m) {
+					return true;
+				}
+			}
+			return false;
+		}
+		long[] masks = new long[sigma];
+		for (int j = 0; j < m; j++) {
+			masks[pattern[j] & 0xFF] |= 1L << j;
+		}
+		long found = 1L << (m - 1);
+		long state = 0;
+		for (int i = 0; i < text.length; i++) {
+			state = ((state << 1) | 1L) & masks[text[i] & 0xFF];
+			if ((state & found) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
 		
 //	@Override
 	public int compareTo2(Sequence o) {
@@ -39,7 +119,7 @@ public class Sequence implements Comparable<Sequence>{
 	public int compareTo(Sequence o) {
 		//@TODO: use contains or indexOf?
 		
-		if(toString().equals(o.toString())){
+		if(equals(o)){
 			return 0;
 		}
 		if(containSubsequence(o)){
@@ -52,9 +132,39 @@ public class Sequence implements Comparable<Sequence>{
 		return toString().compareTo(o.toString());
 	}
 	
+	/**
+	 * Two sequences are equal if they have the same string, as for compareTo
+	 */
+	@Override
+	public boolean equals(Object o){
+		if (!(o instanceof Sequence)) {
+			return false;
+		}
+		Sequence seq = (Sequence) o;
+		if (alphabet != null && alphabet == seq.alphabet) {
+			return Arrays.equals(codes, seq.codes);
+		}
+		return toString().equals(seq.toString());
+	}
+
+	/**
+	 * The hash code of the string of the sequence, computed on the codes without decoding them
+	 */
+	@Override
+	public int hashCode(){
+		if (codes == null) {
+			return sequence.hashCode();
+		}
+		int h = 0;
+		for (byte code : codes) {
+			h = 31 * h + alphabet.getSymbol(code & 0xFF);
+		}
+		return h;
+	}
+
 	@Override
 	public String toString(){
-		return sequence;
+		return sequence != null ? sequence : alphabet.decode(codes);
 	}
 
 
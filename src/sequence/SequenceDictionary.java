@@ -0,0 +1,113 @@
+package sequence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * This class interns sequences: each distinct sequence is stored once,
+ * and identified by a dense id given in the order of insertion.
+ * 
+ * Sequences are found in a hash map, so that interning n sequences
+ * costs a time linear in their total length, whatever the order of Sequence is.
+ * When an alphabet is given, new sequences are stored as codes over the alphabet.
+ */
+public class SequenceDictionary {
+	/**
+	 * The id of each sequence
+	 */
+	private HashMap<Sequence, Integer> ids = new HashMap<Sequence, Integer>();
+
+	/**
+	 * The sequences, in the order of their ids
+	 */
+	private ArrayList<Sequence> sequences = new ArrayList<Sequence>();
+
+	/**
+	 * The alphabet of new sequences, null to store them as strings
+	 */
+	private Alphabet alphabet;
+
+	/**
+	 * @return the alphabet of new sequences, null if they are stored as strings
+	 */
+	public Alphabet getAlphabet(){
+		return alphabet;
+	}
+
+	/**
+	 * Sets the alphabet of the sequences interned from now on
+	 * @param alphabet an alphabet, null to store sequences as strings
+	 */
+	public void setAlphabet(Alphabet alphabet){
+		this.alphabet = alphabet;
+	}
+
+	/**
+	 * Interns the specified string
+	 * @param seq
+	 * @return the id of the sequence
+	 */
+	public int add(String seq){
+		return add(alphabet == null ? new Sequence(seq) : new Sequence(seq, alphabet));
+	}
+
+	/**
+	 * Interns the specified sequence, the sequence being stored if it is new
+	 * @param seq
+	 * @return the id of the sequence
+	 */
+	public int add(Sequence seq){
+		Integer id = ids.get(seq);
+		if(id == null){
+			id = sequences.size();
+			ids.put(seq, id);
+			sequences.add(seq);
+		}
+		return id;
+	}
+
+	/**
+	 * @param seq a sequence or its string
+	 * @return the id of the sequence, or -1 if it has not been interned
+	 */
+	public int getId(Comparable seq){
+		Integer id = ids.get(toSequence(seq));
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * @param seq a sequence or its string
+	 * @return true if the sequence has been interned
+	 */
+	public boolean contains(Comparable seq){
+		return ids.containsKey(toSequence(seq));
+	}
+
+	private Sequence toSequence(Comparable seq){
+		return seq instanceof Sequence ? (Sequence) seq : new Sequence(seq.toString());
+	}
+
+	/**
+	 * @param id
+	 * @return the sequence of the specified id
+	 */
+	public Sequence get(int id){
+		return sequences.get(id);
+	}
+
+	/**
+	 * @return the number of sequences
+	 */
+	public int size(){
+		return sequences.size();
+	}
+
+	/**
+	 * @return the sequences, in the order of their ids
+	 */
+	public List<Sequence> getSequences(){
+		return Collections.unmodifiableList(sequences);
+	}
+}
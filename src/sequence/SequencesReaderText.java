@@ -2,41 +2,106 @@ package sequence;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.util.StringTokenizer;
-
-import utils.TextUtils;
+import java.io.Reader;
+import java.util.ArrayList;
 
+/**
+ * This class reads a context of sequences in the text format:
+ *
+ * Observations: o1 o2 ...
+ * Attributes: a b ...
+ * o1 : seq1
+ * o2 : seq2
+ *
+ * The file is parsed by a single pass on a buffer of characters, and sequences are interned
+ * by the context, so that reading n lines costs a time linear in the size of the file.
+ * Reading stops at the first empty line.
+ */
 public class SequencesReaderText implements SequencesReader{
 
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	//buffer of characters read from the file
+	private char[] buffer = new char[BUFFER_SIZE];
+	//position of the next character in the buffer
+	private int position;
+	//number of characters in the buffer
+	private int limit;
+	//the file being read
+	private Reader reader;
+
 	@Override
 	public void read(ContextSequence sequences, BufferedReader file) throws IOException {
-        StringTokenizer st =  new StringTokenizer(file.readLine());
-        st.nextToken(); // first token corresponds to the string "Observations:"
-        while (st.hasMoreTokens()) {
-            String n = new String(st.nextToken());
-            sequences.addObservation(n);
-        }
-        
-        // second line : All attributes separated by a space
-        // a StringTokenizer is used to divide the line into different token,
-        // considering spaces as separator.
-        st =  new StringTokenizer(file.readLine());
-        st.nextToken(); // first token corresponds to the string "Attributes:"
-        while (st.hasMoreTokens()) {
-            String n = new String(st.nextToken());
-            //sequences.addAttribute(new Sequence(n));
-        }
-        
-		String line = file.readLine();
-		while(!TextUtils.isNullOrEmpty(line)){
-            st = new StringTokenizer(line);
-            String o = st.nextToken();
-            st.nextToken();
-            String seq = st.nextToken();
-            Sequence sequence = new Sequence(seq);
-			sequences.addSequence(sequence);
-			sequences.addExtentIntent(o, sequence);
-			line = file.readLine();
+		reader = file;
+		position = 0;
+		limit = 0;
+		ArrayList<String> tokens = new ArrayList<String>();
+		// first line : "Observations:" followed by all observations separated by a space
+		if (!readLine(tokens)) {
+			return;
+		}
+		for (int i = 1; i < tokens.size(); i++) {
+			sequences.addObservation(tokens.get(i));
+		}
+		// second line : "Attributes:" followed by the symbols of the sequences,
+		// which are then stored as codes over this alphabet
+		if (!readLine(tokens)) {
+			return;
+		}
+		sequences.setAlphabet(Alphabet.fromTokens(tokens.subList(1, tokens.size())));
+		// next lines : "observation : sequence"
+		while (readLine(tokens) && !tokens.isEmpty()) {
+			if (tokens.size() < 3) {
+				throw new IOException("Invalid line: " + tokens);
+			}
+			Sequence sequence = sequences.addSequence(tokens.get(2));
+			sequences.addExtentIntent(tokens.get(0), sequence);
+		}
+	}
+
+	/**
+	 * Reads the tokens of the next line, separated by spaces or tabulations
+	 * @param tokens the list receiving the tokens
+	 * @return false at the end of the file
+	 * @throws IOException
+	 */
+	private boolean readLine(ArrayList<String> tokens) throws IOException {
+		tokens.clear();
+		if (!fill()) {
+			return false;
+		}
+		StringBuilder token = new StringBuilder();
+		while (fill()) {
+			char c = buffer[position++];
+			if (c == '\n') {
+				break;
+			}
+			if (c == ' ' || c == '\t' || c == '\r') {
+				if (token.length() > 0) {
+					tokens.add(token.toString());
+					token.setLength(0);
+				}
+			} else {
+				token.append(c);
+			}
+		}
+		if (token.length() > 0) {
+			tokens.add(token.toString());
+		}
+		return true;
+	}
+
+	/**
+	 * Refills the buffer when all its characters have been read
+	 * @return false at the end of the file
+	 * @throws IOException
+	 */
+	private boolean fill() throws IOException {
+		if (position < limit) {
+			return true;
 		}
+		limit = reader.read(buffer, 0, buffer.length);
+		position = 0;
+		return limit > 0;
 	}
 }
@@ -0,0 +1,542 @@
+package suffixtree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import utils.BitSetUtils;
+/**
+ * This class is a compact implementation of the generalized suffix tree built by Ukkonen algorithm.
+ *
+ * Nodes are integers, the root being 0, and their edge label, suffix link and children are stored
+ * in parallel arrays of integers, so that the tree does not allocate any object per node.
+ * The child of a node beginning by a character is found in an open addressing hash table
+ * keyed by the node and the character, shared by all the nodes. When an alphabet is given,
+ * children beginning by a character of the alphabet are found in a direct indexed table
+ * of one entry per character and per node, the hash table only containing the terminators.
+ * Children of a node are also chained in a list of siblings in order to be enumerated.
+ *
+ * Common substrings are computed by counting, for each node, the strings having a suffix
+ * in its subtree, lowest common ancestors of consecutive leafs of a same string being given
+ * by an offline Tarjan algorithm on a union-find of the nodes.
+ */
+public class CompactSuffixTree implements SubstringIndex {
+
+	//no node
+	private static final int NONE = -1;
+	private static final int ROOT = 0;
+	//end of the edge of a leaf
+	private static final int OPEN = Integer.MAX_VALUE;
+	//empty entry of the hash table
+	private static final long EMPTY = -1L;
+
+	//original Strings
+	private ArrayList<String> sequences;
+	//Concatenation of all String, with a distinct terminator after each of them
+	private SymbolText text;
+	private int textLength;
+
+	//number of nodes
+	private int size;
+	//label of the edge reaching a node is text[start, end)
+	private int[] start;
+	private int[] end;
+	private int[] suffixLink;
+	private int[] firstChild;
+	private int[] nextSibling;
+	private int[] previousSibling;
+
+	//hash table of children, keyed by node << 32 | symbol
+	private long[] keys;
+	private int[] values;
+	private int edges;
+
+	//index of each character in the alphabet, or -1
+	private int[] symbols;
+	private int sigma;
+	//children of the direct indexed mode, sigma entries per node
+	private int[] direct;
+
+	//state of the construction
+	private int position;
+	private int activeNode;
+	private int activeEdge;
+	private int activeLength;
+	private int remainder;
+	private int needSuffixLink;
+
+	/**
+	 * Builds the tree of the strings, children being found in the hash table.
+	 * @param seqs
+	 */
+	public CompactSuffixTree(String[] seqs){
+		this(seqs, "");
+	}
+
+	/**
+	 * Builds the tree of the strings, children beginning by a character of the alphabet
+	 * being found in a direct indexed table.
+	 * @param seqs
+	 * @param alphabet the characters of the direct indexed mode, should be small
+	 */
+	public CompactSuffixTree(String[] seqs, String alphabet){
+		sequences = new ArrayList<String>(Arrays.asList(seqs));
+		text = new SymbolText(seqs);
+		textLength = text.length();
+		int max = 0;
+		for (int i = 0; i < alphabet.length(); i++) {
+			max = Math.max(max, alphabet.charAt(i) + 1);
+		}
+		symbols = new int[max];
+		Arrays.fill(symbols, -1);
+		for (int i = 0; i < alphabet.length(); i++) {
+			if(symbols[alphabet.charAt(i)] == -1){
+				symbols[alphabet.charAt(i)] = sigma++;
+			}
+		}
+		int capacity = textLength + 2;
+		start = new int[capacity];
+		end = new int[capacity];
+		suffixLink = new int[capacity];
+		firstChild = new int[capacity];
+		nextSibling = new int[capacity];
+		previousSibling = new int[capacity];
+		direct = new int[capacity * sigma];
+		keys = new long[16];
+		Arrays.fill(keys, EMPTY);
+		values = new int[16];
+		buildTree();
+	}
+
+	/**
+	 * @return the number of strings of this tree
+	 */
+	public int getNumberOfStrings(){
+		return sequences.size();
+	}
+
+	/**
+	 * @return the number of nodes of this tree
+	 */
+	public int sizeNodes(){
+		return size;
+	}
+
+	/**
+	 * @return true if the children are found in a direct indexed table
+	 */
+	public boolean isDirectIndexed(){
+		return sigma > 0;
+	}
+
+	/**
+	 * Appends a string to the tree, the construction of Ukkonen being online.
+	 * The cost is linear in the length of the string for a constant alphabet.
+	 * @param seq
+	 * @return the id of the string
+	 */
+	public int addString(String seq){
+		sequences.add(seq);
+		int id = text.append(seq);
+		int from = textLength;
+		textLength = text.length();
+		for(int i = from; i < textLength; i++){
+			extend(i);
+		}
+		return id;
+	}
+
+	/**
+	 * Ukkonen construction, performed in O(n) for a constant alphabet.
+	 */
+	private void buildTree(){
+		newNode(0, 0);
+		activeNode = ROOT;
+		activeEdge = 0;
+		activeLength = 0;
+		remainder = 0;
+		for(int i = 0; i < textLength; i++){
+			extend(i);
+		}
+	}
+
+	/**
+	 * Adds the character text[i] to all the suffixes of text[0, i)
+	 * @param i
+	 */
+	private void extend(int i){
+		int c = text.symbolAt(i);
+		position = i;
+		needSuffixLink = NONE;
+		remainder++;
+		while(remainder > 0){
+			if(activeLength == 0){
+				activeEdge = i;
+			}
+			int next = getChild(activeNode, text.symbolAt(activeEdge));
+			if(next == NONE){
+				//a leaf
+				addChild(activeNode, text.symbolAt(activeEdge), newNode(i, OPEN));
+				addSuffixLink(activeNode);
+			}else{
+				int length = getEdgeLength(next);
+				if(activeLength >= length){
+					//walk down
+					activeEdge += length;
+					activeLength -= length;
+					activeNode = next;
+					continue;
+				}
+				if(text.symbolAt(start[next] + activeLength) == c){
+					//rule 3
+					activeLength++;
+					addSuffixLink(activeNode);
+					break;
+				}
+				int split = newNode(start[next], start[next] + activeLength);
+				replaceChild(activeNode, text.symbolAt(activeEdge), next, split);
+				addChild(split, c, newNode(i, OPEN));
+				start[next] += activeLength;
+				addChild(split, text.symbolAt(start[next]), next);
+				addSuffixLink(split);
+			}
+			remainder--;
+			if(activeNode == ROOT && activeLength > 0){
+				activeLength--;
+				activeEdge = i - remainder + 1;
+			}else{
+				activeNode = suffixLink[activeNode];
+			}
+		}
+	}
+
+	private void addSuffixLink(int node){
+		if(needSuffixLink != NONE){
+			suffixLink[needSuffixLink] = node;
+		}
+		needSuffixLink = node;
+	}
+
+	private int newNode(int from, int to){
+		if(size == start.length){
+			int capacity = 2 * size;
+			start = Arrays.copyOf(start, capacity);
+			end = Arrays.copyOf(end, capacity);
+			suffixLink = Arrays.copyOf(suffixLink, capacity);
+			firstChild = Arrays.copyOf(firstChild, capacity);
+			nextSibling = Arrays.copyOf(nextSibling, capacity);
+			previousSibling = Arrays.copyOf(previousSibling, capacity);
+			direct = Arrays.copyOf(direct, capacity * sigma);
+		}
+		int node = size++;
+		start[node] = from;
+		end[node] = to;
+		suffixLink[node] = ROOT;
+		firstChild[node] = NONE;
+		nextSibling[node] = NONE;
+		previousSibling[node] = NONE;
+		Arrays.fill(direct, node * sigma, (node + 1) * sigma, NONE);
+		return node;
+	}
+
+	private int getEdgeLength(int node){
+		return Math.min(end[node], position + 1) - start[node];
+	}
+
+	/**
+	 * @param node
+	 * @param c
+	 * @return the child of node whose edge begins by c, or -1
+	 */
+	private int getChild(int node, int c){
+		if(c < symbols.length && symbols[c] >= 0){
+			return direct[node * sigma + symbols[c]];
+		}
+		long key = ((long) node << 32) | c;
+		int mask = keys.length - 1;
+		for(int i = hash(key) & mask; keys[i] != EMPTY; i = (i + 1) & mask){
+			if(keys[i] == key){
+				return values[i];
+			}
+		}
+		return NONE;
+	}
+
+	/**
+	 * Sets the child of node whose edge begins by c
+	 * @param node
+	 * @param c
+	 * @param child
+	 */
+	private void setChild(int node, int c, int child){
+		if(c < symbols.length && symbols[c] >= 0){
+			direct[node * sigma + symbols[c]] = child;
+			return;
+		}
+		if(2 * (edges + 1) > keys.length){
+			rehash();
+		}
+		long key = ((long) node << 32) | c;
+		int mask = keys.length - 1;
+		int i = hash(key) & mask;
+		while(keys[i] != EMPTY && keys[i] != key){
+			i = (i + 1) & mask;
+		}
+		if(keys[i] == EMPTY){
+			keys[i] = key;
+			edges++;
+		}
+		values[i] = child;
+	}
+
+	private void rehash(){
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new long[2 * oldKeys.length];
+		Arrays.fill(keys, EMPTY);
+		values = new int[keys.length];
+		int mask = keys.length - 1;
+		for(int j = 0; j < oldKeys.length; j++){
+			if(oldKeys[j] != EMPTY){
+				int i = hash(oldKeys[j]) & mask;
+				while(keys[i] != EMPTY){
+					i = (i + 1) & mask;
+				}
+				keys[i] = oldKeys[j];
+				values[i] = oldValues[j];
+			}
+		}
+	}
+
+	private static int hash(long key){
+		key *= 0x9E3779B97F4A7C15L;
+		return (int) (key ^ (key >>> 32));
+	}
+
+	private void addChild(int node, int c, int child){
+		setChild(node, c, child);
+		previousSibling[child] = NONE;
+		nextSibling[child] = firstChild[node];
+		if(firstChild[node] != NONE){
+			previousSibling[firstChild[node]] = child;
+		}
+		firstChild[node] = child;
+	}
+
+	/**
+	 * Replaces the child of node whose edge begins by c, keeping its place among the siblings
+	 */
+	private void replaceChild(int node, int c, int child, int replacement){
+		setChild(node, c, replacement);
+		int previous = previousSibling[child];
+		int next = nextSibling[child];
+		previousSibling[replacement] = previous;
+		nextSibling[replacement] = next;
+		if(previous == NONE){
+			firstChild[node] = replacement;
+		}else{
+			nextSibling[previous] = replacement;
+		}
+		if(next != NONE){
+			previousSibling[next] = replacement;
+		}
+	}
+
+	/**
+	 * @param position a position in the text
+	 * @return the id of the string containing the position
+	 */
+	private int getStringId(int position){
+		return text.getStringId(position);
+	}
+
+	/**
+	 * Returns the maximal common substrings of all the strings.
+	 * @return a list of lcs
+	 */
+	public List<String> getLCS(){
+		long[] subset = BitSetUtils.empty(sequences.size());
+		for(int i = 0; i < sequences.size(); i++){
+			BitSetUtils.set(subset, i);
+		}
+		return getLCS(subset);
+	}
+
+	/**
+	 * Returns the maximal common substrings of a subset of the strings, i.e. the common substrings
+	 * that are not a substring of another common substring.
+	 *
+	 * The number of strings of the subset having a suffix below a node v is S(v) - H(v), where S(v)
+	 * is the number of their leafs below v and H(v) the number of consecutive leafs of a same string
+	 * whose lca is below v. A common node with no common child is maximal unless it is the suffix link
+	 * of another one. When no character is common, the list only contains the empty string.
+	 * This treatment is performed in O(n) for a tree of n nodes, without allocating objects per node.
+	 *
+	 * @param subset a bitset of string ids
+	 * @return a list of lcs
+	 */
+	public List<String> getLCS(long[] subset){
+		List<String> substrings = new ArrayList<String>();
+		int k = BitSetUtils.cardinality(subset);
+		if(k == 0){
+			return substrings;
+		}
+		if(k == 1){
+			substrings.add(sequences.get(BitSetUtils.nextSetBit(subset, 0)));
+			return substrings;
+		}
+		int[] depth = new int[size];
+		int[] s = new int[size];
+		int[] sigmaH = new int[size];
+		//union-find of the offline lca, and the ancestor of each set
+		int[] union = new int[size];
+		int[] ancestor = new int[size];
+		int[] cursor = new int[size];
+		boolean[] extended = new boolean[size];
+		boolean[] linked = new boolean[size];
+		int[] lastLeaf = new int[sequences.size()];
+		Arrays.fill(lastLeaf, NONE);
+		List<Integer> candidates = new ArrayList<Integer>();
+		int[] stack = new int[size];
+		int top = 0;
+		stack[top++] = ROOT;
+		cursor[ROOT] = firstChild[ROOT];
+		union[ROOT] = ROOT;
+		ancestor[ROOT] = ROOT;
+		while(top > 0){
+			int node = stack[top - 1];
+			int child = cursor[node];
+			if(child != NONE){
+				cursor[node] = nextSibling[child];
+				union[child] = child;
+				ancestor[child] = child;
+				if(firstChild[child] == NONE){
+					int id = getStringId(start[child] - depth[node]);
+					if(BitSetUtils.get(subset, id)){
+						s[child] = 1;
+						if(lastLeaf[id] != NONE){
+							sigmaH[ancestor[find(union, lastLeaf[id])]]++;
+						}
+						lastLeaf[id] = child;
+					}
+					finish(child, node, k, s, sigmaH, union, ancestor, extended, linked, candidates);
+				}else{
+					depth[child] = depth[node] + getEdgeLength(child);
+					cursor[child] = firstChild[child];
+					stack[top++] = child;
+				}
+			}else{
+				top--;
+				finish(node, top > 0 ? stack[top - 1] : NONE, k, s, sigmaH, union, ancestor, extended, linked, candidates);
+			}
+		}
+		for(int node: candidates){
+			if(!linked[node]){
+				substrings.add(text.substring(end[node] - depth[node], end[node]));
+			}
+		}
+		return substrings;
+	}
+
+	/**
+	 * Ends the traversal of the subtree of node
+	 */
+	private void finish(int node, int parent, int k, int[] s, int[] sigmaH, int[] union, int[] ancestor,
+			boolean[] extended, boolean[] linked, List<Integer> candidates){
+		if(s[node] - sigmaH[node] == k){
+			if(!extended[node]){
+				candidates.add(node);
+				if(node != ROOT){
+					linked[suffixLink[node]] = true;
+				}
+			}
+			if(parent != NONE){
+				extended[parent] = true;
+			}
+		}
+		if(parent != NONE){
+			s[parent] += s[node];
+			sigmaH[parent] += sigmaH[node];
+			union[find(union, node)] = find(union, parent);
+			ancestor[find(union, parent)] = parent;
+		}
+	}
+
+	private static int find(int[] union, int node){
+		int root = node;
+		while(union[root] != root){
+			root = union[root];
+		}
+		while(union[node] != root){
+			int next = union[node];
+			union[node] = root;
+			node = next;
+		}
+		return root;
+	}
+
+	/**
+	 * Get all strings that contains the search string
+	 * @param str
+	 * @return
+	 */
+	public List<String> getStringContains(String str){
+		List<String> contains = new ArrayList<String>();
+		long[] ids = getStringIds(str);
+		for(int id = BitSetUtils.nextSetBit(ids, 0); id >= 0; id = BitSetUtils.nextSetBit(ids, id + 1)){
+			contains.add(sequences.get(id));
+		}
+		return contains;
+	}
+
+	/**
+	 * Returns the ids of the strings that contain str, in O(|str| + occ)
+	 * @param str
+	 * @return a bitset of string ids
+	 */
+	public long[] getStringIds(String str){
+		long[] ids = BitSetUtils.empty(sequences.size());
+		int node = ROOT;
+		//string depth of the parent of node
+		int parentDepth = 0;
+		int i = 0;
+		while(i < str.length()){
+			if(node != ROOT){
+				parentDepth += getEdgeLength(node);
+			}
+			node = getChild(node, str.charAt(i));
+			if(node == NONE){
+				return ids;
+			}
+			int to = Math.min(end[node], textLength);
+			for(int j = start[node]; j < to && i < str.length(); j++, i++){
+				if(text.symbolAt(j) != str.charAt(i)){
+					return ids;
+				}
+			}
+		}
+		//strings of the leafs below the locus, with a stack growing with the subtree only
+		int[] stack = new int[16];
+		int[] depths = new int[16];
+		int top = 0;
+		stack[top] = node;
+		depths[top++] = parentDepth;
+		while(top > 0){
+			top--;
+			int n = stack[top];
+			int depth = depths[top];
+			if(firstChild[n] == NONE){
+				BitSetUtils.set(ids, getStringId(start[n] - depth));
+			}
+			for(int child = firstChild[n]; child != NONE; child = nextSibling[child]){
+				if(top == stack.length){
+					stack = Arrays.copyOf(stack, 2 * top);
+					depths = Arrays.copyOf(depths, 2 * top);
+				}
+				stack[top] = child;
+				depths[top++] = depth + getEdgeLength(n);
+			}
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,475 @@
+package suffixtree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import utils.BitSetUtils;
+/**
+ * This class is a generalized suffix array of a set of strings, an alternative to the generalized suffix tree.
+ *
+ * Given a set of strings {S1,S2,S3, ..., Sn}, the suffix array of the concatenation S1$1S2$2...Sn$n,
+ * where each $i is a distinct symbol, is built by the SA-IS algorithm of Nong, Zhang and Chan,
+ * and the longest common prefix of consecutive suffixes by the algorithm of Kasai et al.
+ * Both are performed in linear time and only use arrays of integers.
+ *
+ * Common substrings of k strings are given by the lcp-intervals of the array, i.e. the nodes of the
+ * suffix tree, containing suffixes of the k strings: the number of strings having a suffix in an interval
+ * is computed while scanning the array from left to right with a stack of intervals,
+ * the previous suffix of each string in the scan window giving the duplicates.
+ */
+public class GeneralizedSuffixArray implements SubstringIndex {
+
+	//original Strings
+	private String[] sequences;
+	//position of the first symbol of each string in the text
+	private int[] stringStarts;
+	//concatenation of all strings, characters being replaced by their rank
+	private int[] text;
+	private int textLength;
+	//distinct characters of the strings, sorted
+	private char[] alphabet;
+	//suffixes sorted in lexicographic order
+	private int[] suffixArray;
+	//rank of each suffix in the suffix array
+	private int[] rank;
+	//lcp[i] is the length of the longest common prefix of the suffixes of rank i - 1 and i
+	private int[] lcp;
+
+	public GeneralizedSuffixArray(String[] seqs){
+		sequences = seqs;
+		int numberOfString = seqs.length;
+		stringStarts = new int[numberOfString];
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < numberOfString; i++) {
+			stringStarts[i] = sb.length() + i;
+			sb.append(seqs[i]);
+		}
+		char[] chars = sb.toString().toCharArray();
+		Arrays.sort(chars);
+		int sigma = 0;
+		for (int i = 0; i < chars.length; i++) {
+			if (i == 0 || chars[i] != chars[i - 1]) {
+				chars[sigma++] = chars[i];
+			}
+		}
+		alphabet = Arrays.copyOf(chars, sigma);
+		//the sentinel of Si is i + 1, the character c is numberOfString + 1 + its rank, 0 ends the text
+		textLength = sb.length() + numberOfString;
+		text = new int[textLength + 1];
+		int p = 0;
+		for (int i = 0; i < numberOfString; i++) {
+			for (int j = 0; j < seqs[i].length(); j++) {
+				text[p++] = getSymbol(seqs[i].charAt(j));
+			}
+			text[p++] = i + 1;
+		}
+		int[] sa = new int[textLength + 1];
+		sais(text, sa, textLength + 1, numberOfString + 1 + sigma);
+		//the first suffix is the one of the final 0
+		suffixArray = Arrays.copyOfRange(sa, 1, textLength + 1);
+		computeLcp();
+	}
+
+	/**
+	 * @param c a character
+	 * @return the symbol of the character, or -1 if it does not occur in the strings
+	 */
+	private int getSymbol(char c){
+		int index = Arrays.binarySearch(alphabet, c);
+		return index >= 0 ? sequences.length + 1 + index : -1;
+	}
+
+	/**
+	 * SA-IS construction of the suffix array of s[0, n), s[n - 1] being the unique smallest symbol 0.
+	 * @param s a text over the symbols [0, k)
+	 * @param sa the suffix array to fill
+	 * @param n
+	 * @param k
+	 */
+	private static void sais(int[] s, int[] sa, int n, int k){
+		if(n == 1){
+			sa[0] = 0;
+			return;
+		}
+		//S-type (true) or L-type (false) of each suffix
+		boolean[] t = new boolean[n];
+		t[n - 1] = true;
+		for(int i = n - 2; i >= 0; i--){
+			t[i] = s[i] < s[i + 1] || (s[i] == s[i + 1] && t[i + 1]);
+		}
+		int[] bucket = new int[k];
+		//sort the LMS substrings
+		getBuckets(s, bucket, n, k, true);
+		Arrays.fill(sa, 0, n, -1);
+		for(int i = 1; i < n; i++){
+			if(isLMS(t, i)){
+				sa[--bucket[s[i]]] = i;
+			}
+		}
+		induce(s, sa, t, bucket, n, k);
+		//name the LMS substrings
+		int n1 = 0;
+		for(int i = 0; i < n; i++){
+			if(isLMS(t, sa[i])){
+				sa[n1++] = sa[i];
+			}
+		}
+		Arrays.fill(sa, n1, n, -1);
+		int name = 0;
+		int previous = -1;
+		for(int i = 0; i < n1; i++){
+			int position = sa[i];
+			boolean different = false;
+			for(int d = 0; d < n; d++){
+				if(previous == -1 || s[position + d] != s[previous + d] || t[position + d] != t[previous + d]){
+					different = true;
+					break;
+				}else if(d > 0 && (isLMS(t, position + d) || isLMS(t, previous + d))){
+					break;
+				}
+			}
+			if(different){
+				name++;
+				previous = position;
+			}
+			sa[n1 + position / 2] = name - 1;
+		}
+		for(int i = n - 1, j = n - 1; i >= n1; i--){
+			if(sa[i] >= 0){
+				sa[j--] = sa[i];
+			}
+		}
+		//sort the LMS suffixes, recursively if their names are not unique
+		int[] s1 = Arrays.copyOfRange(sa, n - n1, n);
+		int[] sa1 = new int[n1];
+		if(name < n1){
+			sais(s1, sa1, n1, name);
+		}else{
+			for(int i = 0; i < n1; i++){
+				sa1[s1[i]] = i;
+			}
+		}
+		//induce the suffix array from the sorted LMS suffixes
+		for(int i = 1, j = 0; i < n; i++){
+			if(isLMS(t, i)){
+				s1[j++] = i;
+			}
+		}
+		getBuckets(s, bucket, n, k, true);
+		Arrays.fill(sa, 0, n, -1);
+		for(int i = n1 - 1; i >= 0; i--){
+			int j = s1[sa1[i]];
+			sa[--bucket[s[j]]] = j;
+		}
+		induce(s, sa, t, bucket, n, k);
+	}
+
+	private static boolean isLMS(boolean[] t, int i){
+		return i > 0 && t[i] && !t[i - 1];
+	}
+
+	/**
+	 * Computes the start or the end of the bucket of each symbol
+	 */
+	private static void getBuckets(int[] s, int[] bucket, int n, int k, boolean end){
+		Arrays.fill(bucket, 0);
+		for(int i = 0; i < n; i++){
+			bucket[s[i]]++;
+		}
+		int sum = 0;
+		for(int i = 0; i < k; i++){
+			sum += bucket[i];
+			bucket[i] = end ? sum : sum - bucket[i];
+		}
+	}
+
+	/**
+	 * Induces the order of L-type suffixes, then of S-type suffixes
+	 */
+	private static void induce(int[] s, int[] sa, boolean[] t, int[] bucket, int n, int k){
+		getBuckets(s, bucket, n, k, false);
+		for(int i = 0; i < n; i++){
+			int j = sa[i] - 1;
+			if(j >= 0 && !t[j]){
+				sa[bucket[s[j]]++] = j;
+			}
+		}
+		getBuckets(s, bucket, n, k, true);
+		for(int i = n - 1; i >= 0; i--){
+			int j = sa[i] - 1;
+			if(j >= 0 && t[j]){
+				sa[--bucket[s[j]]] = j;
+			}
+		}
+	}
+
+	/**
+	 * Kasai computation of the lcp array
+	 */
+	private void computeLcp(){
+		rank = new int[textLength];
+		for(int i = 0; i < textLength; i++){
+			rank[suffixArray[i]] = i;
+		}
+		lcp = new int[textLength];
+		int h = 0;
+		for(int i = 0; i < textLength; i++){
+			if(rank[i] > 0){
+				int j = suffixArray[rank[i] - 1];
+				while(i + h < textLength && j + h < textLength && text[i + h] == text[j + h]){
+					h++;
+				}
+				lcp[rank[i]] = h;
+				if(h > 0){
+					h--;
+				}
+			}else{
+				h = 0;
+			}
+		}
+	}
+
+	/**
+	 * @param position a position in the text
+	 * @return the id of the string containing the position
+	 */
+	private int getStringId(int position){
+		int index = Arrays.binarySearch(stringStarts, position);
+		return index >= 0 ? index : -index - 2;
+	}
+
+	/**
+	 * @return the suffix array of the concatenation of the strings
+	 */
+	public int[] getSuffixArray(){
+		return suffixArray.clone();
+	}
+
+	/**
+	 * @return the lcp array of the concatenation of the strings
+	 */
+	public int[] getLcp(){
+		return lcp.clone();
+	}
+
+	@Override
+	public int getNumberOfStrings(){
+		return sequences.length;
+	}
+
+	@Override
+	public List<String> getLCS(){
+		long[] subset = BitSetUtils.empty(sequences.length);
+		for(int i = 0; i < sequences.length; i++){
+			BitSetUtils.set(subset, i);
+		}
+		return getLCS(subset);
+	}
+
+	/**
+	 * Returns the maximal common substrings of a subset of k strings.
+	 *
+	 * lcp-intervals are enumerated bottom up with a stack. The number of strings having a suffix in
+	 * an interval is the number of its suffixes of the subset, minus the number of pairs of consecutive
+	 * suffixes of a same string whose deepest common interval is below it: this interval is found
+	 * on the stack by a binary search on the left bounds when the second suffix is scanned.
+	 * Common intervals with no common child are right maximal, and are pairwise disjoint; such an interval
+	 * is maximal unless its string without the first character is one of them.
+	 * This treatment is performed in O(n log n) for a text of length n.
+	 *
+	 * @param subset a bitset of string ids
+	 * @return a list of lcs
+	 */
+	@Override
+	public List<String> getLCS(long[] subset){
+		List<String> substrings = new ArrayList<String>();
+		int k = BitSetUtils.cardinality(subset);
+		if(k == 0){
+			return substrings;
+		}
+		if(k == 1){
+			substrings.add(sequences[BitSetUtils.nextSetBit(subset, 0)]);
+			return substrings;
+		}
+		//number of suffixes of the subset before each rank
+		int[] prefix = new int[textLength + 1];
+		for(int i = 0; i < textLength; i++){
+			prefix[i + 1] = prefix[i] + (BitSetUtils.get(subset, getStringId(suffixArray[i])) ? 1 : 0);
+		}
+		//stack of intervals, with their lcp, left bound, number of duplicates and whether a child is common
+		int[] stackLcp = new int[textLength + 1];
+		int[] stackLeft = new int[textLength + 1];
+		int[] stackDuplicates = new int[textLength + 1];
+		boolean[] stackExtended = new boolean[textLength + 1];
+		int top = 0;
+		stackLcp[0] = 0;
+		stackLeft[0] = 0;
+		int[] lastRank = new int[sequences.length];
+		Arrays.fill(lastRank, -1);
+		//common intervals with no common child, sorted by left bound
+		List<int[]> candidates = new ArrayList<int[]>();
+		for(int i = 0; i <= textLength; i++){
+			int current = i < textLength ? lcp[i] : 0;
+			int left = i - 1;
+			int duplicates = 0;
+			boolean extended = false;
+			//close the intervals ending at i - 1
+			while(i > 0 && current < stackLcp[top]){
+				left = stackLeft[top];
+				if(finish(subset, k, prefix, stackLcp[top], left, i - 1, stackDuplicates[top], stackExtended[top], candidates)){
+					extended = true;
+				}
+				duplicates += stackDuplicates[top];
+				top--;
+				if(current <= stackLcp[top]){
+					stackDuplicates[top] += duplicates;
+					stackExtended[top] = stackExtended[top] || extended;
+					duplicates = 0;
+					extended = false;
+				}
+			}
+			if(i > 0 && current > stackLcp[top]){
+				top++;
+				stackLcp[top] = current;
+				stackLeft[top] = left;
+				stackDuplicates[top] = duplicates;
+				stackExtended[top] = extended;
+			}
+			if(i == textLength){
+				break;
+			}
+			int id = getStringId(suffixArray[i]);
+			if(BitSetUtils.get(subset, id)){
+				if(lastRank[id] >= 0){
+					//deepest interval of the stack whose left bound is not after the previous suffix
+					int lo = 0;
+					int hi = top;
+					while(lo < hi){
+						int mid = (lo + hi + 1) >>> 1;
+						if(stackLeft[mid] <= lastRank[id]){
+							lo = mid;
+						}else{
+							hi = mid - 1;
+						}
+					}
+					stackDuplicates[lo]++;
+				}
+				lastRank[id] = i;
+			}
+		}
+		finish(subset, k, prefix, 0, 0, textLength - 1, stackDuplicates[0], stackExtended[0], candidates);
+		//remove the candidates whose string is the one of another candidate without its first character
+		boolean[] linked = new boolean[candidates.size()];
+		for(int[] candidate: candidates){
+			if(candidate[2] > 0){
+				int r = rank[suffixArray[candidate[0]] + 1];
+				int lo = 0;
+				int hi = candidates.size() - 1;
+				while(lo < hi){
+					int mid = (lo + hi + 1) >>> 1;
+					if(candidates.get(mid)[0] <= r){
+						lo = mid;
+					}else{
+						hi = mid - 1;
+					}
+				}
+				int[] other = candidates.get(lo);
+				if(other[0] <= r && r <= other[1] && other[2] == candidate[2] - 1){
+					linked[lo] = true;
+				}
+			}
+		}
+		for(int i = 0; i < candidates.size(); i++){
+			if(!linked[i]){
+				int[] candidate = candidates.get(i);
+				int position = suffixArray[candidate[0]];
+				int id = getStringId(position);
+				int offset = position - stringStarts[id];
+				substrings.add(sequences[id].substring(offset, offset + candidate[2]));
+			}
+		}
+		return substrings;
+	}
+
+	/**
+	 * Ends the scan of the interval [left, right] with the specified lcp
+	 * @return true if the interval is common
+	 */
+	private boolean finish(long[] subset, int k, int[] prefix, int length, int left, int right, int duplicates,
+			boolean extended, List<int[]> candidates){
+		boolean common = prefix[right + 1] - prefix[left] - duplicates == k;
+		if(common && !extended){
+			candidates.add(new int[]{left, right, length});
+		}
+		return common;
+	}
+
+	@Override
+	public List<String> getStringContains(String str){
+		List<String> contains = new ArrayList<String>();
+		long[] ids = getStringIds(str);
+		for(int id = BitSetUtils.nextSetBit(ids, 0); id >= 0; id = BitSetUtils.nextSetBit(ids, id + 1)){
+			contains.add(sequences[id]);
+		}
+		return contains;
+	}
+
+	/**
+	 * Returns the ids of the strings that contain str, in O(|str| log n + occ):
+	 * the occurrences are the range of suffixes beginning by str.
+	 * @param str
+	 * @return a bitset of string ids
+	 */
+	@Override
+	public long[] getStringIds(String str){
+		long[] ids = BitSetUtils.empty(sequences.length);
+		int[] pattern = new int[str.length()];
+		for(int i = 0; i < pattern.length; i++){
+			pattern[i] = getSymbol(str.charAt(i));
+			if(pattern[i] == -1){
+				return ids;
+			}
+		}
+		int from = bound(pattern, false);
+		int to = bound(pattern, true);
+		for(int i = from; i < to; i++){
+			BitSetUtils.set(ids, getStringId(suffixArray[i]));
+		}
+		return ids;
+	}
+
+	/**
+	 * @return the first rank whose suffix is greater than the pattern (upper),
+	 * or not lower than the pattern (not upper), only comparing the first symbols of the suffix.
+	 */
+	private int bound(int[] pattern, boolean upper){
+		int lo = 0;
+		int hi = textLength;
+		while(lo < hi){
+			int mid = (lo + hi) >>> 1;
+			int cmp = compare(suffixArray[mid], pattern);
+			if(cmp < 0 || (upper && cmp == 0)){
+				lo = mid + 1;
+			}else{
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	/**
+	 * Compares the prefix of the suffix of length |pattern| to the pattern
+	 */
+	private int compare(int suffix, int[] pattern){
+		for(int i = 0; i < pattern.length; i++){
+			if(suffix + i >= textLength){
+				return -1;
+			}
+			if(text[suffix + i] != pattern[i]){
+				return text[suffix + i] < pattern[i] ? -1 : 1;
+			}
+		}
+		return 0;
+	}
+}
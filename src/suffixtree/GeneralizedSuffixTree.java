@@ -4,11 +4,14 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+
+import utils.BitSetUtils;
 /**
  * This class is an implementation of generalized suffix tree by Ukkonnen algorithm and also 
  * an implement of largest common substring with a complexity O(m).
@@ -17,14 +20,12 @@ import java.util.TreeSet;
  *  
  *
  */
-public class GeneralizedSuffixTree {
+public class GeneralizedSuffixTree implements SubstringIndex {
 	
-	//Begin of sentinel, sentinel of Si is SENTINEL_BEGIN + i
-	private static char SENTINEL_BEGIN = '\ud800';
 	//original Strings
 	String []sequences;
-	//Concatenation of all String
-	protected String text;
+	//Concatenation of all String, with a distinct terminator after each of them
+	protected SymbolText text;
 	//length of concatenation
 	protected int textLength;
 	//root node
@@ -38,58 +39,38 @@ public class GeneralizedSuffixTree {
 	int numberOfString = 0;
 	
 	private int currentString = 0;
-	private ArrayList<Integer> stringLimits;
 	
 	//A list of list of ordered leafs by string si
 	private List<ArrayList<Node>> orderedLeafs = new ArrayList<ArrayList<Node>>();
 	
-	//list of node which contains the longest common substrings
-	private List<Node> result = new LinkedList<Node>();
-	
-	private Node previousNode;
+	//true when leafs are numbered and H values are computed
+	private boolean counted = false;
 
 	public GeneralizedSuffixTree(List<String> strings){
-		StringBuilder sb = new StringBuilder();
-		numberOfString = strings.size();
-		stringLimits = new ArrayList<Integer>();
-		for (int i = 0; i < numberOfString; i++) {
-			sb.append(strings.get(i));
-			sb.append((char)(SENTINEL_BEGIN + i));
-			stringLimits.add(sb.length());
-
-			//A list content the ordered leafs of a string
-			ArrayList<Node> leafsOfString = new ArrayList<Node>();
-			orderedLeafs.add(leafsOfString);
-		}
-		text = sb.toString();
-		textLength = text.length();
-		sequences = new String[strings.size()];
-		sequences = strings.toArray(sequences);
-		buildTree();
+		this(strings.toArray(new String[strings.size()]));
 	}
 	
 	public GeneralizedSuffixTree(String[] seqs){
-		StringBuilder sb = new StringBuilder();
 		numberOfString = seqs.length;
-		stringLimits = new ArrayList<Integer>();
 		for (int i = 0; i < numberOfString; i++) {
-			sb.append(seqs[i]);
-			sb.append((char)(SENTINEL_BEGIN + i));
-			stringLimits.add(sb.length());
-
 			//A list content the ordered leafs of a string
 			ArrayList<Node> leafsOfString = new ArrayList<Node>();
 			orderedLeafs.add(leafsOfString);
 		}
-		text = sb.toString();
+		text = new SymbolText(seqs);
 		textLength = text.length();
 		sequences = seqs;
 		//initial
 		buildTree();
 	}
+
+	/**
+	 * Builds the suffix tree of a single string.
+	 * Contrary to the first versions of this class, the tree is built by this constructor.
+	 * @param text
+	 */
 	public GeneralizedSuffixTree(String text) {
-		this.text = text;
-		textLength = text.length();
+		this(new String[] {text});
 	}
 
 	public Node getRoot() {
@@ -102,20 +83,21 @@ public class GeneralizedSuffixTree {
 
 	
 	public void buildTree(){
+		currentString = 0;
 		root = new Node(0, 0);
 		root.setSuffixLink(root);
 		//addSuffixLink(root, root);
 		activeNode = root;
 		//int j = 1;
-		char firstChar = text.charAt(0);
+		int firstChar = text.symbolAt(0);
 		Node node = new Node(0, textLength);
 		root.addChild(node, firstChar);
 		boolean needWalk = true;
 		needSuffixLink = null;
 		for(int i = 0, j = 1; i < textLength - 1; ++i){
 			//phase i + 1
-			char nextChar = text.charAt(i + 1);
-			if(i + 1 > stringLimits.get(currentString)){
+			int nextChar = text.symbolAt(i + 1);
+			if(i + 1 >= text.getLimit(currentString)){
 				currentString++;
 			}
 			//extension j
@@ -149,7 +131,7 @@ public class GeneralizedSuffixTree {
 					// String s[j...i] ends at some place in the edge that reaches current node.
 					int where = node.getStart() + currentDepth - node.getParentDepth();
 					// The next character in the path after string s[j...i] is s[where]
-					if (text.charAt(where) == nextChar){ //Either rule 3 or rule 1
+					if (text.symbolAt(where) == nextChar){ //Either rule 3 or rule 1
 						addSuffixLink(node);
 						if (!node.isLeaf() || j != node.getStart() - node.getParentDepth()){
 							// Rule 3
@@ -158,11 +140,11 @@ public class GeneralizedSuffixTree {
 						}
 					}else{
 						Node split = new Node(node.getStart(), where);						
-						node.getParent().addChild(split, text.charAt(node.getStart()));
+						node.getParent().addChild(split, text.symbolAt(node.getStart()));
 						//modify active node start edge
 						node.setStart(where);
 
-						split.addChild(node, text.charAt(where));
+						split.addChild(node, text.symbolAt(where));
 						//add next character, a leaf
 						Node newNode = new Node(i + 1, textLength);
 						newNode.setFromString(currentString);
@@ -196,7 +178,7 @@ public class GeneralizedSuffixTree {
 			while (!node.isInEdge(i - j)){
 				//node.printChildren();
 				//result.add(node);
-				node = node.getChildren().get(text.charAt(k));
+				node = node.getChildren().get(text.symbolAt(k));
 				k += node.getEdgeLength();
 			}
 		}
@@ -208,9 +190,9 @@ public class GeneralizedSuffixTree {
 		if(node.isLeaf()){
 			//System.out.println(suffix);
 		}		
-		Map<Character, Node> children = node.getChildren();
+		Map<Integer, Node> children = node.getChildren();
 		if(children != null){			
-			for (Map.Entry<Character, Node> data : children.entrySet()) {
+			for (Map.Entry<Integer, Node> data : children.entrySet()) {
 				walk(data.getValue());
 			}		
 		}
@@ -221,16 +203,42 @@ public class GeneralizedSuffixTree {
 	 * @param node
 	 */
 	public void numberingLeafs(Node node, int currentNumber){
-		if(node.isLeaf()){
-			orderedLeafs.get(node.getFromString()).add(node);
-		}else{//internal node
-			for (Map.Entry<Character, Node> data : node.getChildren().entrySet()) {
-				numberingLeafs(data.getValue(), currentNumber);
-			}		
-		}		
+		for(Node n: depthFirstOrder(node)){
+			if(n.isLeaf()){
+				orderedLeafs.get(n.getFromString()).add(n);
+			}
+		}
 	}
 
 	/**
+	 * An iterative depth first search traversal, children being visited in the order of their first character
+	 * @param node
+	 * @return nodes of the subtree of node in prefix order
+	 */
+	private List<Node> depthFirstOrder(Node node){
+		List<Node> order = new ArrayList<Node>();
+		ArrayList<Node> stack = new ArrayList<Node>();
+		stack.add(node);
+		while(!stack.isEmpty()){
+			Node n = stack.remove(stack.size() - 1);
+			order.add(n);
+			List<Node> children = new ArrayList<Node>(n.getChildren().values());
+			for(int i = children.size() - 1; i >= 0; i--){
+				stack.add(children.get(i));
+			}
+		}
+		return order;
+	}
+
+	/**
+	 * Returns the maximal common substrings of all the strings, i.e. the common substrings
+	 * that are not a substring of another common substring.
+	 * 
+	 * The number of strings C(v) having a suffix below a node v is S(v) - H(v), where S(v) is the number
+	 * of leafs below v and H(v) the number of consecutive leafs of a same string whose lca is below v.
+	 * S and H are computed by a single bottom up traversal, nodes being visited in reverse prefix order.
+	 * A common node without common child is maximal unless it is the suffix link of another one.
+	 * When there is no common character, the list only contains the empty string.
 	 * 
 	 * @return a list of lcs
 	 */
@@ -240,108 +248,270 @@ public class GeneralizedSuffixTree {
 			substrings.add(sequences[0]);
 			return substrings;
 		}
-		
-		numberingLeafs(root, 0);
-		updateH();
-		bottomUpTraversal(root);
-		for(Node n: result){
-			String s = text.substring(n.getEnd() - n.getDepth(), n.getEnd());
-			substrings.add(s);
+		List<Node> order = depthFirstOrder(root);
+		if(!counted){
+			updateH(order);
+			counted = true;
+		}
+		//nodes are indexed by their depth first number, given by their prefix order
+		int size = order.size() + 1;
+		int[] depth = new int[size];
+		int[] s = new int[size];
+		int[] sigmaH = new int[size];
+		boolean[] extended = new boolean[size];
+		for(Node n: order){
+			if(n != root){
+				depth[n.getDfNumber()] = depth[n.getParent().getDfNumber()] + n.getEdgeLength();
+			}
+		}
+		List<Node> candidates = new ArrayList<Node>();
+		Set<Node> linked = new HashSet<Node>();
+		for(int i = order.size() - 1; i >= 0; i--){
+			Node node = order.get(i);
+			int id = node.getDfNumber();
+			if(node.isLeaf()){
+				s[id] = 1;
+			}
+			sigmaH[id] += node.getH();
+			int c = s[id] - sigmaH[id];
+			//this is a common substring
+			if(c == numberOfString){
+				if(!extended[id]){
+					candidates.add(node);
+					if(node != root && node.getSuffixLink() != null){
+						linked.add(node.getSuffixLink());
+					}
+				}
+				if(node != root){
+					extended[node.getParent().getDfNumber()] = true;
+				}
+			}
+			if(node != root){
+				s[node.getParent().getDfNumber()] += s[id];
+				sigmaH[node.getParent().getDfNumber()] += sigmaH[id];
+			}
+			//obsolete
+			node.setC(c);
+			//for testing
+			node.setTotalH(sigmaH[id]);
+		}
+		for(int i = candidates.size() - 1; i >= 0; i--){
+			Node node = candidates.get(i);
+			if(!linked.contains(node)){
+				substrings.add(text.substring(node.getEnd() - depth[node.getDfNumber()], node.getEnd()));
+			}
 		}
 		return substrings;
 	}
+	/**
+	 * Returns the maximal common substrings of a subset of the strings, i.e. the common substrings
+	 * that are not a substring of another common substring.
+	 * 
+	 * The tree is shared by all the queries: each node is annotated once by the bitset of the strings
+	 * having a suffix in its subtree, and the query only visits the nodes common to the subset.
+	 * A node with no common child is maximal unless it is the suffix link of another such node.
+	 * When no character is common, the list only contains the empty string.
+	 * 
+	 * @param subset a bitset of string ids
+	 * @return a list of lcs
+	 */
+	public List<String> getLCS(long[] subset){
+		List<String> substrings = new ArrayList<String>();
+		int k = BitSetUtils.cardinality(subset);
+		if(k == 0){
+			return substrings;
+		}
+		if(k == 1){
+			substrings.add(sequences[BitSetUtils.nextSetBit(subset, 0)]);
+			return substrings;
+		}
+		computeColors();
+		//common nodes with no common child, and their string depth
+		List<Node> candidates = new ArrayList<Node>();
+		List<Integer> candidateDepths = new ArrayList<Integer>();
+		Set<Node> linked = new HashSet<Node>();
+		ArrayList<Node> stack = new ArrayList<Node>();
+		ArrayList<Integer> depths = new ArrayList<Integer>();
+		stack.add(root);
+		depths.add(0);
+		while(!stack.isEmpty()){
+			Node node = stack.remove(stack.size() - 1);
+			int depth = depths.remove(depths.size() - 1);
+			boolean extended = false;
+			for (Node child : node.getChildren().values()) {
+				if(BitSetUtils.isSubset(subset, child.getColors())){
+					extended = true;
+					stack.add(child);
+					depths.add(depth + child.getEdgeLength());
+				}
+			}
+			if(!extended){
+				candidates.add(node);
+				candidateDepths.add(depth);
+				if(node != root && node.getSuffixLink() != null){
+					linked.add(node.getSuffixLink());
+				}
+			}
+		}
+		for(int i = 0; i < candidates.size(); i++){
+			Node node = candidates.get(i);
+			if(!linked.contains(node)){
+				substrings.add(text.substring(node.getEnd() - candidateDepths.get(i), node.getEnd()));
+			}
+		}
+		return substrings;
+	}
+
+	/**
+	 * @return the number of strings of this tree
+	 */
+	public int getNumberOfStrings(){
+		return numberOfString;
+	}
+
+	/**
+	 * Annotates once each node by the bitset of the strings having a suffix in its subtree.
+	 * The string of a leaf is given by the start of its suffix.
+	 */
+	private void computeColors(){
+		if(root.getColors() != null){
+			return;
+		}
+		//internal nodes in a depth first order
+		ArrayList<Node> order = new ArrayList<Node>();
+		ArrayList<Node> stack = new ArrayList<Node>();
+		ArrayList<Integer> depths = new ArrayList<Integer>();
+		stack.add(root);
+		depths.add(0);
+		while(!stack.isEmpty()){
+			Node node = stack.remove(stack.size() - 1);
+			int depth = depths.remove(depths.size() - 1);
+			order.add(node);
+			for (Node child : node.getChildren().values()) {
+				if(child.isLeaf()){
+					long[] colors = BitSetUtils.empty(numberOfString);
+					BitSetUtils.set(colors, getStringId(child.getStart() - depth));
+					child.setColors(colors);
+				}else{
+					stack.add(child);
+					depths.add(depth + child.getEdgeLength());
+				}
+			}
+		}
+		//children are annotated before their parent
+		for(int i = order.size() - 1; i >= 0; i--){
+			Node node = order.get(i);
+			long[] colors = BitSetUtils.empty(numberOfString);
+			for (Node child : node.getChildren().values()) {
+				BitSetUtils.or(colors, child.getColors());
+			}
+			node.setColors(colors);
+		}
+	}
+
+	/**
+	 * @param position a position in the text
+	 * @return the id of the string containing the position
+	 */
+	private int getStringId(int position){
+		return text.getStringId(position);
+	}
+
 	/**
 	 * Get all strings that contains the search string
-	 * Bad methode, must be improve
 	 * @param str
 	 * @return
 	 */
 	public List<String> getStringContains(String str){
 		List<String> contains = new ArrayList<String>();
-		for(String s: sequences){
-			if(s.indexOf(str) >= 0){
-				contains.add(s);
-			}
+		long[] ids = getStringIds(str);
+		for(int id = BitSetUtils.nextSetBit(ids, 0); id >= 0; id = BitSetUtils.nextSetBit(ids, id + 1)){
+			contains.add(sequences[id]);
 		}
 		return contains;
 	}
 	
-	private void updateH(){
-		//
-		LowestCommonAncestor lca = new LowestCommonAncestor(this.root);
-		//Process leafs of each string
-		for(ArrayList<Node>leafs: orderedLeafs){
-			for(int i = 0; i < leafs.size() - 1; i++){
-				//Common ancestor of consecutive pair of leaves
-				Node commonAncestor = lca.getLca(leafs.get(i).getDfNumber(), leafs.get(i + 1).getDfNumber());
-				commonAncestor.setH(commonAncestor.getH() + 1);
-			}
-		}
-	}
 	/**
-	 * A bottom up traversal for compute S(v) and C(v)
-	 * return S(v)
+	 * Counts, for each node, the consecutive leafs of a same string whose lca is this node.
+	 * Nodes are numbered in prefix order, and the lca of all the pairs of leafs are computed
+	 * by a single batch on the flat array of the parents.
+	 * @param order the nodes in prefix order
 	 */
-	private int[] bottomUpTraversal(Node node){
-		Map<Character, Node> children = node.getChildren();
-		if(children == null || children.size() == 0){
-			return new int[]{1,0};
-		}
-		int s = 0;
-		int sigmaH = node.getH();
-		for (Map.Entry<Character, Node> data : children.entrySet()) {			
-			s += bottomUpTraversal(data.getValue())[0];
-			sigmaH += bottomUpTraversal(data.getValue())[1];
+	private void updateH(List<Node> order){
+		int n = order.size();
+		for(int i = 0; i < n; i++){
+			order.get(i).setDfNumber(i + 1);
 		}
-		//compute c
-		int c = s - sigmaH;
-		//this is a common substring
-		if(c == numberOfString){
-			if(previousNode == null || previousNode.getParent() != node){
-				boolean isSubstring = false;
-				//stupid solution, we can do better
-				List<Node> temp = new LinkedList<Node>(result);
-				for(Node n: result){
-					String str = text.substring(n.getEnd() - n.getDepth(), n.getEnd());
-					String currentString = text.substring(node.getEnd() - node.getDepth(), node.getEnd());
-					if (str.indexOf(currentString) >= 0) {
-						isSubstring = true;
-						continue;
-					}
-					if(currentString.indexOf(str) >= 0){
-						temp.remove(n);
-					}
-				}
-				if(!isSubstring){
-					temp.add(node);
+		int[] parent = new int[n];
+		int[] lastLeaf = new int[numberOfString];
+		Arrays.fill(lastLeaf, -1);
+		int[] first = new int[n];
+		int[] second = new int[n];
+		int pairs = 0;
+		for(int i = 0; i < n; i++){
+			Node node = order.get(i);
+			parent[i] = node == root ? -1 : node.getParent().getDfNumber() - 1;
+			if(node.isLeaf()){
+				//consecutive pair of leaves
+				int s = node.getFromString();
+				if(lastLeaf[s] >= 0){
+					first[pairs] = lastLeaf[s];
+					second[pairs++] = i;
 				}
-				//result = new ArrayList<Node>(temp);
-				result = temp;
-			}
-			previousNode = node;
-			/*					
-			int currentDepth = node.getDepth();
-			if(currentDepth > maxDepth){
-				result.clear();
-				result.add(node);
-				maxDepth = currentDepth; 
-			}else if(currentDepth == maxDepth){
-				result.add(node);
+				lastLeaf[s] = i;
 			}
-			*/
 		}
-		//obsolete
-		node.setC(s - sigmaH);
-		//for testing
-		node.setTotalH(sigmaH);
-		return new int[]{s, sigmaH};
+		int[] commonAncestors = new int[pairs];
+		RmqLowestCommonAncestor lca = new RmqLowestCommonAncestor(parent);
+		lca.getLca(Arrays.copyOf(first, pairs), Arrays.copyOf(second, pairs), commonAncestors);
+		for(int k = 0; k < pairs; k++){
+			Node commonAncestor = order.get(commonAncestors[k]);
+			commonAncestor.setH(commonAncestor.getH() + 1);
+		}
 	}
 	/**
+	 * Returns the ids of the strings that contain queryString, in O(|queryString| + occ):
+	 * the path of queryString is followed from the root, and the leafs below its end are the occurrences.
 	 * @param queryString
-	 * @return List of Ids of string that contain queryString
+	 * @return a bitset of the ids of the strings that contain queryString
 	 */
-	public List<Integer> getStringIds(String queryString){
-		return null;
+	public long[] getStringIds(String queryString){
+		long[] ids = BitSetUtils.empty(numberOfString);
+		Node node = root;
+		//string depth of the parent of node
+		int parentDepth = 0;
+		int depth = 0;
+		int i = 0;
+		while(i < queryString.length()){
+			Node child = node.getChildren().get((int) queryString.charAt(i));
+			if(child == null){
+				return ids;
+			}
+			for(int j = child.getStart(); j < child.getEnd() && i < queryString.length(); j++, i++){
+				if(text.symbolAt(j) != queryString.charAt(i)){
+					return ids;
+				}
+			}
+			parentDepth = depth;
+			depth += child.getEdgeLength();
+			node = child;
+		}
+		ArrayList<Node> stack = new ArrayList<Node>();
+		ArrayList<Integer> depths = new ArrayList<Integer>();
+		stack.add(node);
+		depths.add(parentDepth);
+		while(!stack.isEmpty()){
+			Node n = stack.remove(stack.size() - 1);
+			int d = depths.remove(depths.size() - 1);
+			if(n.isLeaf()){
+				BitSetUtils.set(ids, getStringId(n.getStart() - d));
+			}
+			for (Node child : n.getChildren().values()) {
+				stack.add(child);
+				depths.add(d + n.getEdgeLength());
+			}
+		}
+		return ids;
 	}
 	/**
 	 * use for debug
@@ -349,12 +519,12 @@ public class GeneralizedSuffixTree {
 	 * @param s
 	 */
 	public void show(Node node){
-		Map<Character, Node> children = node.getChildren();
+		Map<Integer, Node> children = node.getChildren();
 System.out.println("H:" + node.getH());
 System.out.println(text.substring(node.getStart(), node.getEnd()));
 		if(children != null){
 			node.printChildren();
-			for (Map.Entry<Character, Node> data : children.entrySet()) {
+			for (Map.Entry<Integer, Node> data : children.entrySet()) {
 				show(data.getValue());
 			}		
 		}
@@ -390,7 +560,7 @@ System.out.println(text.substring(node.getStart(), node.getEnd()));
             out.println("\tnode" + node.getDfNumber() + " [label=\"" + "" + node.getFromString() + "\",shape=circle]");
         else {
 
-			for (Map.Entry<Character, Node> data : node.getChildren().entrySet()) {
+			for (Map.Entry<Integer, Node> data : node.getChildren().entrySet()) {
 				printLeaves(data.getValue(), out);
 			}		
         }
@@ -400,13 +570,13 @@ System.out.println(text.substring(node.getStart(), node.getEnd()));
         if (node.getChildren().size() > 0)
             out.println("\tnode" + node.getDfNumber() + " [label=\"" + "H:" + node.getH() + "," + node.getTotalH() + "," + node.getC() + "\",style=filled,fillcolor=lightgrey,shape=circle,width=.07,height=.07]");
 
-		for (Map.Entry<Character, Node> data : node.getChildren().entrySet()) {
+		for (Map.Entry<Integer, Node> data : node.getChildren().entrySet()) {
             printInternalNodes(data.getValue(), out);
 		}
     }
 
     void printEdges(Node node, PrintWriter out) {
-		for (Map.Entry<Character, Node> data : node.getChildren().entrySet()) {
+		for (Map.Entry<Integer, Node> data : node.getChildren().entrySet()) {
             out.println("\tnode" + node.getDfNumber() + " -> node" + data.getValue().getDfNumber() +
             		" [label=\"" + text.substring(data.getValue().getStart(), data.getValue().getEnd()) + 
             		"\",weight=3]");
@@ -416,20 +586,41 @@ System.out.println(text.substring(node.getStart(), node.getEnd()));
     
 	public TreeSet<String> getAllDistinctSubstrings(Node node){
 		TreeSet<String> subStrings = new TreeSet<String>();
-		Map<Character, Node> children = node.getChildren();
+		Map<Integer, Node> children = node.getChildren();
 		if(node != root){
 			subStrings.add(text.substring(node.getDepth(), node.getEnd() - node.getDepth()));
 		}
-		for (Map.Entry<Character, Node> data : children.entrySet()) {
+		for (Map.Entry<Integer, Node> data : children.entrySet()) {
 			getAllDistinctSubstrings(data.getValue());
 		}
 		return subStrings;
 	}
 	
 	public String getText() {
+		return text.toString();
+	}
+
+	/**
+	 * @return the text of this tree, with a terminator after each string
+	 */
+	public SymbolText getSymbolText() {
 		return text;
 	}
+
+	/**
+	 * Replaces the indexed strings by the specified string, without building the tree,
+	 * which has to be built by buildTree()
+	 * @param text
+	 * @deprecated use the constructor GeneralizedSuffixTree(String), that builds the tree
+	 */
+	@Deprecated
 	public void setText(String text) {
-		this.text = text;
+		sequences = new String[] {text};
+		numberOfString = 1;
+		orderedLeafs = new ArrayList<ArrayList<Node>>();
+		orderedLeafs.add(new ArrayList<Node>());
+		this.text = new SymbolText(sequences);
+		textLength = this.text.length();
+		counted = false;
 	}
 }
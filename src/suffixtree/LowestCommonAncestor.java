@@ -91,8 +91,8 @@ public class LowestCommonAncestor {
 		int zeroCount = MathHelpers.countConsecutiveTrailingZeroBits(inLabel);
 		
 		//loop through children of node
-		Map<Character, Node> children = node.getChildren();
-		for (Map.Entry<Character, Node> childData: children.entrySet()) {
+		Map<Integer, Node> children = node.getChildren();
+		for (Map.Entry<Integer, Node> childData: children.entrySet()) {
 			Node child = childData.getValue();
 			int childNumber = nextDepthFirstNumber;
 			//recursive call
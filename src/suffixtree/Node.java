@@ -16,7 +16,9 @@ public class Node {
 	//for debug only, @TODO: remove when the code is stable
 	private int c = 0;
 	private int dfNumber;
-	Map<Character, Node> children = new TreeMap<Character, Node>();
+	//the set of strings having a suffix in the subtree of this node, as a bitset
+	private long[] colors;
+	Map<Integer, Node> children = new TreeMap<Integer, Node>();
 
 	public Node(int start, int end) {
 		this.start = start;
@@ -24,16 +26,16 @@ public class Node {
 		this.parent = null;
 	}
 	
-    public void addChild(Node child, char c) {
+    public void addChild(Node child, int c) {
         children.put(c, child);
         child.setParent(this);
     }
 
-	public Map<Character, Node> getChildren() {
+	public Map<Integer, Node> getChildren() {
 		return children;
 	}
 
-	public void setChildren(Map<Character, Node> children) {
+	public void setChildren(Map<Integer, Node> children) {
 		this.children = children;
 	}
 
@@ -129,6 +131,14 @@ public class Node {
 		this.c = c;
 	}
 
+	public long[] getColors() {
+		return colors;
+	}
+
+	public void setColors(long[] colors) {
+		this.colors = colors;
+	}
+
 	public int getTotalH() {
 		return totalH;
 	}
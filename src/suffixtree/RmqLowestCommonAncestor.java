@@ -0,0 +1,186 @@
+package suffixtree;
+
+import java.util.Arrays;
+
+/**
+ * This class answers lowest common ancestor queries on a tree in constant time, using primitive arrays only.
+ *
+ * Nodes of the tree are the integers 0, ..., n-1 given with their parent. The lca of two distinct nodes u and v
+ * whose prefix numbers are pu < pv is the parent of the node of lowest depth among the nodes numbered pu+1, ..., pv,
+ * which is a range minimum query on the depths of the nodes in prefix order, as on an Euler tour.
+ * Range minima are given by a sparse table on blocks of 64 positions, and inside a block by a bitmask
+ * of the positions of the stack of minima, so that the structure uses O(n) words.
+ */
+public class RmqLowestCommonAncestor {
+
+	private static final int BLOCK = 64;
+
+	//parent of each node, -1 for the root
+	private int[] parent;
+	//prefix number of each node
+	private int[] prefix;
+	//nodes in prefix order
+	private int[] order;
+	//depth of the nodes in prefix order
+	private int[] depth;
+	//for each position, the positions of its block that are minima of the range ending at it
+	private long[] masks;
+	//table[k][b] is the position of the minimum of the blocks b, ..., b + 2^k - 1
+	private int[][] table;
+
+	/**
+	 * Preprocesses the tree in O(n)
+	 * @param parent the parent of each node, -1 for the root
+	 */
+	public RmqLowestCommonAncestor(int[] parent){
+		this.parent = parent;
+		int n = parent.length;
+		//children in a compressed array
+		int[] offsets = new int[n + 1];
+		int root = -1;
+		for(int u = 0; u < n; u++){
+			if(parent[u] < 0){
+				root = u;
+			}else{
+				offsets[parent[u] + 1]++;
+			}
+		}
+		for(int u = 0; u < n; u++){
+			offsets[u + 1] += offsets[u];
+		}
+		int[] children = new int[Math.max(n - 1, 0)];
+		int[] next = Arrays.copyOf(offsets, n);
+		for(int u = 0; u < n; u++){
+			if(parent[u] >= 0){
+				children[next[parent[u]]++] = u;
+			}
+		}
+		//prefix order
+		prefix = new int[n];
+		order = new int[n];
+		depth = new int[n];
+		int[] nodeDepth = new int[n];
+		int[] stack = new int[n];
+		int top = 0;
+		int count = 0;
+		if(root >= 0){
+			stack[top++] = root;
+		}
+		while(top > 0){
+			int u = stack[--top];
+			prefix[u] = count;
+			order[count] = u;
+			depth[count++] = nodeDepth[u];
+			for(int k = offsets[u + 1] - 1; k >= offsets[u]; k--){
+				int v = children[k];
+				nodeDepth[v] = nodeDepth[u] + 1;
+				stack[top++] = v;
+			}
+		}
+		buildRmq(n);
+	}
+
+	private void buildRmq(int n){
+		masks = new long[n];
+		int blocks = (n + BLOCK - 1) / BLOCK;
+		int[] stack = new int[BLOCK];
+		int[] minima = new int[blocks];
+		for(int b = 0; b < blocks; b++){
+			int from = b * BLOCK;
+			int to = Math.min(from + BLOCK, n);
+			int top = 0;
+			long mask = 0;
+			for(int i = from; i < to; i++){
+				while(top > 0 && depth[stack[top - 1]] >= depth[i]){
+					mask &= ~(1L << (stack[--top] - from));
+				}
+				stack[top++] = i;
+				mask |= 1L << (i - from);
+				masks[i] = mask;
+			}
+			minima[b] = stack[0];
+		}
+		int levels = 1;
+		while((1 << levels) <= blocks){
+			levels++;
+		}
+		table = new int[levels][];
+		table[0] = minima;
+		for(int k = 1; k < levels; k++){
+			int length = blocks - (1 << k) + 1;
+			table[k] = new int[length];
+			for(int b = 0; b < length; b++){
+				table[k][b] = min(table[k - 1][b], table[k - 1][b + (1 << (k - 1))]);
+			}
+		}
+	}
+
+	private int min(int i, int j){
+		return depth[j] < depth[i] ? j : i;
+	}
+
+	/**
+	 * @return the position of the minimum of the range [from, to] of a same block
+	 */
+	private int inBlock(int from, int to){
+		int start = to - to % BLOCK;
+		return start + Long.numberOfTrailingZeros(masks[to] & (-1L << (from - start)));
+	}
+
+	/**
+	 * @return the position of the minimum of the depths of the range [from, to]
+	 */
+	private int rangeMinimum(int from, int to){
+		int first = from / BLOCK;
+		int last = to / BLOCK;
+		if(first == last){
+			return inBlock(from, to);
+		}
+		int m = min(inBlock(from, first * BLOCK + BLOCK - 1), inBlock(last * BLOCK, to));
+		if(first + 1 < last){
+			int k = 31 - Integer.numberOfLeadingZeros(last - first - 1);
+			m = min(m, min(table[k][first + 1], table[k][last - (1 << k)]));
+		}
+		return m;
+	}
+
+	/**
+	 * @param u a node
+	 * @return the depth of the node, the root having depth 0
+	 */
+	public int getDepth(int u){
+		return depth[prefix[u]];
+	}
+
+	/**
+	 * get lca of two nodes
+	 * @param u
+	 * @param v
+	 * @return
+	 */
+	public int getLca(int u, int v){
+		if(u == v){
+			return u;
+		}
+		int pu = prefix[u];
+		int pv = prefix[v];
+		if(pu > pv){
+			int swap = pu;
+			pu = pv;
+			pv = swap;
+		}
+		return parent[order[rangeMinimum(pu + 1, pv)]];
+	}
+
+	/**
+	 * get lca of pairs of nodes: out[i] is the lca of a[i] and b[i]
+	 * @param a
+	 * @param b
+	 * @param out
+	 */
+	public void getLca(int[] a, int[] b, int[] out){
+		for(int i = 0; i < a.length; i++){
+			out[i] = getLca(a[i], b[i]);
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package suffixtree;
+
+import java.util.List;
+
+/**
+ * This interface is implemented by the indexes of a set of strings answering
+ * common substring and containment queries, strings being identified by their rank.
+ */
+public interface SubstringIndex {
+
+	/**
+	 * @return the number of strings of this index
+	 */
+	public int getNumberOfStrings();
+
+	/**
+	 * Returns the maximal common substrings of all the strings.
+	 * @return a list of lcs
+	 */
+	public List<String> getLCS();
+
+	/**
+	 * Returns the maximal common substrings of a subset of the strings, i.e. the common substrings
+	 * that are not a substring of another common substring.
+	 * The list is empty for an empty subset, and contains the string itself for a singleton.
+	 * When no character is common, the list only contains the empty string.
+	 * @param subset a bitset of string ids
+	 * @return a list of lcs
+	 */
+	public List<String> getLCS(long[] subset);
+
+	/**
+	 * Returns the ids of the strings that contain the search string
+	 * @param str
+	 * @return a bitset of string ids
+	 */
+	public long[] getStringIds(String str);
+
+	/**
+	 * Get all strings that contains the search string, in the order of their ids
+	 * @param str
+	 * @return
+	 */
+	public List<String> getStringContains(String str);
+}
@@ -36,14 +36,14 @@ public class SuffixTree {
 		//addSuffixLink(root, root);
 		activeNode = root;
 		//int j = 1;
-		char firstChar = text.charAt(0);
+		int firstChar = text.charAt(0);
 		Node node = new Node(0, textLength);
 		root.addChild(node, firstChar);
 		boolean needWalk = true;
 		needSuffixLink = null;
 		for(int i = 0, j = 1; i < textLength - 1; ++i){
 			//phase i + 1
-			char nextChar = text.charAt(i + 1);
+			int nextChar = text.charAt(i + 1);
 			//extension j
 			for(; j <= i + 1; j++){
 				if (needWalk){
@@ -119,7 +119,7 @@ public class SuffixTree {
 		if (i - j + 1 > 0){
 			while (!node.isInEdge(i - j)){
 				node.printChildren();
-				node = node.getChildren().get(text.charAt(k));
+				node = node.getChildren().get((int) text.charAt(k));
 				k += node.getEdgeLength();
 			}
 		}
@@ -131,9 +131,9 @@ public class SuffixTree {
 		if(node.isLeaf()){
 			System.out.println(suffix);
 		}		
-		Map<Character, Node> children = node.getChildren();
+		Map<Integer, Node> children = node.getChildren();
 		if(children != null){			
-			for (Map.Entry<Character, Node> data : children.entrySet()) {
+			for (Map.Entry<Integer, Node> data : children.entrySet()) {
 				walk(data.getValue());
 			}		
 		}
@@ -143,10 +143,10 @@ public class SuffixTree {
 		if(node.isLeaf()){
 			System.out.println(s);
 		}
-		Map<Character, Node> children = node.getChildren();
+		Map<Integer, Node> children = node.getChildren();
 		if(children != null){
 			node.printChildren();
-			for (Map.Entry<Character, Node> data : children.entrySet()) {
+			for (Map.Entry<Integer, Node> data : children.entrySet()) {
 				show(data.getValue(), s);
 			}		
 		}
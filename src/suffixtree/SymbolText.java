@@ -0,0 +1,128 @@
+package suffixtree;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class is the text of a generalized suffix tree, over an integer alphabet.
+ *
+ * Given a set of strings {S1,S2,S3, ..., Sn}, the text is the concatenation S1$1S2$2...Sn$n stored
+ * as an array of symbols: a character is its own code, and the terminator $i of Si is TERMINATOR_BEGIN + i,
+ * greater than all the characters. Terminators are thus distinct whatever the number of strings is.
+ * Strings can be appended to the text, the arrays growing by doubling.
+ */
+public class SymbolText {
+
+	//terminator of Si is TERMINATOR_BEGIN + i
+	public static final int TERMINATOR_BEGIN = Character.MAX_VALUE + 1;
+
+	//the symbols of the concatenation
+	private int[] symbols;
+	private int length;
+	//position following the terminator of each string
+	private int[] limits;
+	private int numberOfStrings;
+
+	public SymbolText(List<String> strings){
+		this(strings.toArray(new String[strings.size()]));
+	}
+
+	public SymbolText(String[] strings){
+		int capacity = strings.length;
+		for (String s : strings) {
+			capacity += s.length();
+		}
+		symbols = new int[capacity];
+		limits = new int[strings.length];
+		for (String s : strings) {
+			append(s);
+		}
+	}
+
+	/**
+	 * Appends a string and its terminator to the text
+	 * @param s
+	 * @return the id of the string
+	 */
+	public int append(String s){
+		if (length + s.length() + 1 > symbols.length) {
+			symbols = Arrays.copyOf(symbols, Math.max(2 * symbols.length, length + s.length() + 1));
+		}
+		if (numberOfStrings == limits.length) {
+			limits = Arrays.copyOf(limits, Math.max(2 * limits.length, 1));
+		}
+		for (int j = 0; j < s.length(); j++) {
+			symbols[length++] = s.charAt(j);
+		}
+		symbols[length++] = TERMINATOR_BEGIN + numberOfStrings;
+		limits[numberOfStrings] = length;
+		return numberOfStrings++;
+	}
+
+	/**
+	 * @return the number of symbols of the text
+	 */
+	public int length(){
+		return length;
+	}
+
+	/**
+	 * @param position
+	 * @return the symbol at the specified position
+	 */
+	public int symbolAt(int position){
+		return symbols[position];
+	}
+
+	/**
+	 * @param position
+	 * @return true if the symbol at the specified position is a terminator
+	 */
+	public boolean isTerminator(int position){
+		return symbols[position] >= TERMINATOR_BEGIN;
+	}
+
+	/**
+	 * @return the number of strings of the text
+	 */
+	public int getNumberOfStrings(){
+		return numberOfStrings;
+	}
+
+	/**
+	 * @param i a string id
+	 * @return the position following the terminator of the string
+	 */
+	public int getLimit(int i){
+		return limits[i];
+	}
+
+	/**
+	 * @param position a position in the text
+	 * @return the id of the string containing the position
+	 */
+	public int getStringId(int position){
+		int index = Arrays.binarySearch(limits, 0, numberOfStrings, position);
+		//limits contains the position following the terminator of each string
+		return index >= 0 ? index + 1 : -index - 1;
+	}
+
+	/**
+	 * Returns the characters between two positions, a terminator being written $
+	 * @param from
+	 * @param to
+	 * @return the substring
+	 */
+	public String substring(int from, int to){
+		StringBuilder sb = new StringBuilder(Math.max(to - from, 0));
+		for (int p = from; p < to; p++) {
+			sb.append(symbols[p] >= TERMINATOR_BEGIN ? '$' : (char) symbols[p]);
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public String toString(){
+		return substring(0, length);
+	}
+}
@@ -0,0 +1,375 @@
+package utils;
+
+/*
+ * BitSetUtils.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+/**
+ * This class provides static methods handling sets of integers stored as arrays of words.
+ *
+ * A set of integers included between `0` and `n - 1` is stored in an array of
+ * {@link #words} `long`, where bit `i % 64` of word `i / 64` is set
+ * when `i` belongs to the set.
+ *
+ * Contrary to `java.util.BitSet`, the size of the arrays is fixed by the caller,
+ * so that binary operations can be performed in place, without any allocation.
+ * All the arrays given to a binary operation have to be of the same length.
+ */
+public final class BitSetUtils {
+    /**
+     * Number of bits in a word.
+     */
+    public static final int WORD_SIZE = 64;
+
+    /**
+     * This class is not designed to be instantiated.
+     */
+    private BitSetUtils() {
+    }
+
+    /**
+     * Returns the number of words needed to store a set of integers lower than `n`.
+     *
+     * @param   n  the number of integers
+     *
+     * @return  the number of words
+     */
+    public static int words(int n) {
+        return (n + WORD_SIZE - 1) / WORD_SIZE;
+    }
+
+    /**
+     * Returns a new empty set of integers lower than `n`.
+     *
+     * @param   n  the number of integers
+     *
+     * @return  the empty set
+     */
+    public static long[] empty(int n) {
+        return new long[words(n)];
+    }
+
+    /**
+     * Returns a new set containing all the integers lower than `n`.
+     *
+     * @param   n  the number of integers
+     *
+     * @return  the full set
+     */
+    public static long[] full(int n) {
+        long[] set = new long[words(n)];
+        fill(set, n);
+        return set;
+    }
+
+    /**
+     * Replaces the specified set by the set of all the integers lower than `n`.
+     *
+     * @param   set  the set to fill
+     * @param   n    the number of integers
+     */
+    public static void fill(long[] set, int n) {
+        int full = n / WORD_SIZE;
+        for (int w = 0; w < full; w++) {
+            set[w] = -1L;
+        }
+        for (int w = full; w < set.length; w++) {
+            set[w] = 0L;
+        }
+        if (n % WORD_SIZE != 0) {
+            set[full] = (1L << (n % WORD_SIZE)) - 1;
+        }
+    }
+
+    /**
+     * Removes all the integers from the specified set.
+     *
+     * @param   set  the set to clear
+     */
+    public static void clear(long[] set) {
+        for (int w = 0; w < set.length; w++) {
+            set[w] = 0L;
+        }
+    }
+
+    /**
+     * Checks if the specified integer belongs to the set.
+     *
+     * @param   set  the set
+     * @param   i    the integer
+     *
+     * @return  true if `i` belongs to the set
+     */
+    public static boolean get(long[] set, int i) {
+        return (set[i / WORD_SIZE] & (1L << i)) != 0;
+    }
+
+    /**
+     * Adds the specified integer to the set.
+     *
+     * @param   set  the set
+     * @param   i    the integer
+     */
+    public static void set(long[] set, int i) {
+        set[i / WORD_SIZE] |= 1L << i;
+    }
+
+    /**
+     * Removes the specified integer from the set.
+     *
+     * @param   set  the set
+     * @param   i    the integer
+     */
+    public static void clear(long[] set, int i) {
+        set[i / WORD_SIZE] &= ~(1L << i);
+    }
+
+    /**
+     * Copies the source set into the target set.
+     *
+     * @param   source  the set to copy
+     * @param   target  the set to overwrite
+     */
+    public static void copy(long[] source, long[] target) {
+        System.arraycopy(source, 0, target, 0, source.length);
+    }
+
+    /**
+     * Replaces the target set by its intersection with the specified set.
+     *
+     * @param   target  the set to overwrite
+     * @param   set     the other set
+     */
+    public static void and(long[] target, long[] set) {
+        for (int w = 0; w < target.length; w++) {
+            target[w] &= set[w];
+        }
+    }
+
+    /**
+     * Replaces the target set by its union with the specified set.
+     *
+     * @param   target  the set to overwrite
+     * @param   set     the other set
+     */
+    public static void or(long[] target, long[] set) {
+        for (int w = 0; w < target.length; w++) {
+            target[w] |= set[w];
+        }
+    }
+
+    /**
+     * Replaces the target set by its difference with the specified set.
+     *
+     * @param   target  the set to overwrite
+     * @param   set     the set to remove
+     */
+    public static void andNot(long[] target, long[] set) {
+        for (int w = 0; w < target.length; w++) {
+            target[w] &= ~set[w];
+        }
+    }
+
+    /**
+     * Checks if the first set is included in the second one.
+     *
+     * @param   set    the included set
+     * @param   other  the including set
+     *
+     * @return  true if all the integers of `set` belong to `other`
+     */
+    public static boolean isSubset(long[] set, long[] other) {
+        for (int w = 0; w < set.length; w++) {
+            if ((set[w] & ~other[w]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the two specified sets have a common integer.
+     *
+     * @param   set    a set
+     * @param   other  another set
+     *
+     * @return  true if the intersection is not empty
+     */
+    public static boolean intersects(long[] set, long[] other) {
+        for (int w = 0; w < set.length; w++) {
+            if ((set[w] & other[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the two specified sets are equal.
+     *
+     * @param   set    a set
+     * @param   other  another set
+     *
+     * @return  true if the sets contain the same integers
+     */
+    public static boolean equals(long[] set, long[] other) {
+        for (int w = 0; w < set.length; w++) {
+            if (set[w] != other[w]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the specified set is empty.
+     *
+     * @param   set  the set
+     *
+     * @return  true if the set contains no integer
+     */
+    public static boolean isEmpty(long[] set) {
+        for (int w = 0; w < set.length; w++) {
+            if (set[w] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of integers of the specified set.
+     *
+     * @param   set  the set
+     *
+     * @return  the cardinality of the set
+     */
+    public static int cardinality(long[] set) {
+        int size = 0;
+        for (int w = 0; w < set.length; w++) {
+            size += Long.bitCount(set[w]);
+        }
+        return size;
+    }
+
+    /**
+     * Returns the smallest integer of the set greater or equal to `from`, or -1 if there is none.
+     *
+     * @param   set   the set
+     * @param   from  the first integer to consider
+     *
+     * @return  the next integer of the set or -1
+     */
+    public static int nextSetBit(long[] set, int from) {
+        int w = from / WORD_SIZE;
+        if (w >= set.length) {
+            return -1;
+        }
+        long word = set[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return w * WORD_SIZE + Long.numberOfTrailingZeros(word);
+            }
+            w++;
+            if (w == set.length) {
+                return -1;
+            }
+            word = set[w];
+        }
+    }
+
+    /**
+     * Returns the smallest integer lower than `n` not belonging to the set
+     * and greater or equal to `from`, or -1 if there is none.
+     *
+     * @param   set   the set
+     * @param   from  the first integer to consider
+     * @param   n     the number of integers
+     *
+     * @return  the next integer not in the set or -1
+     */
+    public static int nextClearBit(long[] set, int from, int n) {
+        for (int i = from; i < n; i++) {
+            long word = ~set[i / WORD_SIZE] & (-1L << i);
+            if (word != 0) {
+                i = (i / WORD_SIZE) * WORD_SIZE + Long.numberOfTrailingZeros(word);
+                if (i < n) {
+                    return i;
+                }
+                return -1;
+            }
+            i = (i / WORD_SIZE) * WORD_SIZE + WORD_SIZE - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if the two sets contain the same integers lower than `i`.
+     *
+     * @param   set    a set
+     * @param   other  another set
+     * @param   i      the upper bound (excluded)
+     *
+     * @return  true if the sets are equal on the integers lower than `i`
+     */
+    public static boolean equalsBefore(long[] set, long[] other, int i) {
+        int w = i / WORD_SIZE;
+        for (int k = 0; k < w; k++) {
+            if (set[k] != other[k]) {
+                return false;
+            }
+        }
+        if (i % WORD_SIZE == 0) {
+            return true;
+        }
+        long mask = (1L << i) - 1;
+        return (set[w] & mask) == (other[w] & mask);
+    }
+
+    /**
+     * Compares two sets according to the lectic order.
+     *
+     * The smallest integer of the symmetric difference decides:
+     * the set that does not contain it is the smallest one.
+     *
+     * @param   set    a set
+     * @param   other  another set
+     *
+     * @return  a negative integer, zero, or a positive integer as `set` is less than,
+     * equal to, or greater than `other`
+     */
+    public static int compare(long[] set, long[] other) {
+        for (int w = 0; w < set.length; w++) {
+            long diff = set[w] ^ other[w];
+            if (diff != 0) {
+                if ((other[w] & Long.lowestOneBit(diff)) != 0) {
+                    return -1;
+                }
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns a hash code for the specified set.
+     *
+     * @param   set  the set
+     *
+     * @return  a hash code consistent with {@link #equals}
+     */
+    public static int hashCode(long[] set) {
+        long h = 1234;
+        for (int w = set.length; --w >= 0;) {
+            h ^= set[w] * (w + 1);
+        }
+        return (int) ((h >> 32) ^ h);
+    }
+}
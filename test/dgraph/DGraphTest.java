@@ -230,6 +230,40 @@ public class DGraphTest {
         assertEquals(graph.getNodeByIdentifier(0), null);
     }
 
+    /**
+     * Test the indexed lookup of nodes.
+     */
+    @Test
+    public void testIndexed() {
+        Node node1 = new Node("1");
+        Node node2 = new Node("2");
+        Node node3 = new Node("1");
+        DGraph graph = new DGraph();
+        graph.addNode(node1);
+        assertFalse(graph.isIndexed());
+        graph.setIndexed(true);
+        assertTrue(graph.isIndexed());
+        graph.addNode(node2);
+        graph.addNode(node3);
+        assertEquals(graph.getNodeByContent("1"), node1);
+        assertEquals(graph.getNodeByContent("2"), node2);
+        assertEquals(graph.getNodeByIdentifier(node2.getIdentifier()), node2);
+        assertEquals(graph.getNode(node3), node3);
+        assertEquals(graph.getNode("1"), null);
+        graph.removeNode(node1);
+        assertEquals(graph.getNodeByContent("1"), node3);
+        assertEquals(graph.getNodeByIdentifier(node1.getIdentifier()), null);
+        assertEquals(graph.getNode(node1), null);
+        assertTrue(graph.setContent(node2, "3"));
+        assertFalse(graph.setContent(node1, "3"));
+        assertEquals(graph.getNodeByContent("2"), null);
+        assertEquals(graph.getNodeByContent("3"), node2);
+        assertTrue(new DGraph(graph).isIndexed());
+        graph.setIndexed(false);
+        assertFalse(graph.isIndexed());
+        assertEquals(graph.getNodeByContent("3"), node2);
+    }
+
     /**
      * Test the sizeNodes method.
      */
@@ -912,5 +946,31 @@ public class DGraphTest {
         assertTrue(dag.containsEdge(set1, set3));
         assertTrue(dag.containsEdge(set2, set3));
     }
-}
 
+    /**
+     * Test the getStronglyConnectedComponent method on a cycle reached by a transitive edge.
+     */
+    @Test
+    public void testGetStronglyConnectedComponentCycle() {
+        DGraph graph = new DGraph();
+        Node[] nodes = new Node[5];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new Node();
+            graph.addNode(nodes[i]);
+        }
+        // 1 -> 4 -> 3 -> 2 -> 1 with the transitive edges 0 -> 1 and 0 -> 3
+        graph.addEdge(nodes[0], nodes[1]);
+        graph.addEdge(nodes[0], nodes[3]);
+        graph.addEdge(nodes[1], nodes[4]);
+        graph.addEdge(nodes[4], nodes[3]);
+        graph.addEdge(nodes[3], nodes[2]);
+        graph.addEdge(nodes[2], nodes[1]);
+        DAGraph dag = graph.getStronglyConnectedComponent();
+        assertEquals(dag.sizeNodes(), 2);
+        assertEquals(dag.sizeEdges(), 1);
+        assertEquals(((TreeSet<Node>) dag.getNodes().first().getContent()).size(), 1);
+        assertEquals(((TreeSet<Node>) dag.getNodes().last().getContent()).size(), 4);
+        assertTrue(dag.containsEdge(dag.getNodes().first(), dag.getNodes().last()));
+        assertTrue(dag.isAcyclic());
+    }
+}
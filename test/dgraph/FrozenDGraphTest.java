@@ -0,0 +1,183 @@
+package dgraph;
+
+/*
+ * FrozenDGraphTest.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import org.junit.Test;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.TreeSet;
+
+/**
+ * Test the dgraph.FrozenDGraph class.
+ */
+public class FrozenDGraphTest {
+    /**
+     * Checks that the specified frozen graph has the nodes and the edges of the specified graph.
+     *
+     * @param   frozen  a frozen graph
+     * @param   graph   a directed graph
+     */
+    private void check(FrozenDGraph frozen, DGraph graph) {
+        assertEquals(frozen.sizeNodes(), graph.sizeNodes());
+        assertEquals(frozen.sizeEdges(), graph.sizeEdges());
+        for (Edge edge : graph.getEdges()) {
+            assertTrue(frozen.containsEdge(frozen.getId(edge.getFrom()), frozen.getId(edge.getTo())));
+        }
+    }
+
+    /**
+     * Test the constructor and the accessors.
+     */
+    @Test
+    public void testConstructor() {
+        Node node1 = new Node("1");
+        Node node2 = new Node("2");
+        Node node3 = new Node("3");
+        DGraph graph = new DGraph();
+        graph.addNode(node1);
+        graph.addNode(node2);
+        graph.addNode(node3);
+        graph.addEdge(node1, node3, "a");
+        graph.addEdge(node1, node2, "b");
+        graph.addEdge(node2, node3);
+        FrozenDGraph frozen = graph.freeze();
+        this.check(frozen, graph);
+        assertEquals(frozen.getNode(0), node1);
+        assertEquals(frozen.getId(node3), 2);
+        assertEquals(frozen.getId(new Node()), -1);
+        assertEquals(frozen.outDegree(0), 2);
+        assertEquals(frozen.getSuccessor(0, 0), 1);
+        assertEquals(frozen.getSuccessorContent(0, 0), "b");
+        assertEquals(frozen.getSuccessorContent(0, 1), "a");
+        assertEquals(frozen.inDegree(2), 2);
+        assertEquals(frozen.getPredecessor(2, 1), 1);
+        assertEquals(frozen.getPredecessorContent(2, 0), "a");
+        assertFalse(frozen.containsEdge(2, 0));
+        this.check(frozen, frozen.toDGraph());
+    }
+
+    /**
+     * Test the topologicalSort method.
+     */
+    @Test
+    public void testTopologicalSort() {
+        DAGraph graph = DAGraph.random(20, 0.2);
+        FrozenDGraph frozen = graph.freeze();
+        ArrayList<Node> expected = graph.topologicalSort();
+        int[] sort = frozen.topologicalSort();
+        assertEquals(sort.length, expected.size());
+        for (int i = 0; i < sort.length; i++) {
+            assertEquals(frozen.getNode(sort[i]), expected.get(i));
+        }
+        assertTrue(frozen.isAcyclic());
+        graph.addEdge(frozen.getNode(sort[0]), frozen.getNode(sort[0]));
+        assertFalse(graph.freeze().isAcyclic());
+    }
+
+    /**
+     * Test the transitiveClosure method.
+     */
+    @Test
+    public void testTransitiveClosure() {
+        DGraph graph = DGraph.random(20, 0.1);
+        FrozenDGraph closure = graph.freeze().transitiveClosure();
+        graph.transitiveClosure();
+        this.check(closure, graph);
+    }
+
+    /**
+     * Test the transitiveReduction method.
+     */
+    @Test
+    public void testTransitiveReduction() {
+        DAGraph graph = DAGraph.random(20, 0.3);
+        FrozenDGraph reduction = graph.freeze().transitiveReduction();
+        graph.transitiveReduction();
+        this.check(reduction, graph);
+        DGraph cycle = DGraph.random(10, 1);
+        assertEquals(cycle.freeze().transitiveReduction().sizeEdges(), 0);
+    }
+
+    /**
+     * Test the majorants and minorants methods.
+     */
+    @Test
+    public void testMajorantsMinorants() {
+        DAGraph graph = DAGraph.random(20, 0.2);
+        FrozenDGraph frozen = graph.freeze();
+        for (Node node : graph.getNodes()) {
+            assertEquals(frozen.majorants(node), graph.majorants(node));
+            assertEquals(frozen.minorants(node), graph.minorants(node));
+        }
+    }
+
+    /**
+     * Test the getStronglyConnectedComponent method.
+     */
+    @Test
+    public void testGetStronglyConnectedComponent() {
+        Node[] nodes = new Node[8];
+        DGraph graph = new DGraph();
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new Node(i + 1);
+            graph.addNode(nodes[i]);
+        }
+        int[][] edges = {{2, 8}, {3, 7}, {4, 7}, {5, 4}, {7, 2}, {7, 4}, {8, 1}, {8, 4}};
+        for (int[] edge : edges) {
+            graph.addEdge(nodes[edge[0] - 1], nodes[edge[1] - 1]);
+        }
+        FrozenDGraph cc = graph.freeze().getStronglyConnectedComponent();
+        assertEquals(cc.sizeNodes(), 5);
+        assertEquals(cc.sizeEdges(), 5);
+        TreeSet<Node> cycle = new TreeSet<Node>();
+        cycle.add(nodes[1]);
+        cycle.add(nodes[3]);
+        cycle.add(nodes[6]);
+        cycle.add(nodes[7]);
+        int[] sort = cc.topologicalSort();
+        assertEquals(sort.length, 5);
+        for (int i = 0; i < sort.length; i++) {
+            assertEquals(sort[i], i);
+        }
+        int c = 0;
+        while (!cc.getNode(c).getContent().equals(cycle)) {
+            c++;
+        }
+        assertEquals(cc.inDegree(c), 2);
+        assertEquals(cc.outDegree(c), 1);
+        assertEquals(cc.getNode(cc.getSuccessor(c, 0)).getContent(), new TreeSet<Node>(Collections.singleton(nodes[0])));
+    }
+
+    /**
+     * Test the stronglyConnectedComponents method.
+     */
+    @Test
+    public void testStronglyConnectedComponents() {
+        DGraph graph = DGraph.random(30, 0.05);
+        FrozenDGraph frozen = graph.freeze();
+        FrozenDGraph closure = frozen.transitiveClosure();
+        int[] component = frozen.stronglyConnectedComponents();
+        for (int u = 0; u < frozen.sizeNodes(); u++) {
+            for (int v = 0; v < frozen.sizeNodes(); v++) {
+                boolean same = u == v || closure.containsEdge(u, v) && closure.containsEdge(v, u);
+                assertEquals(component[u] == component[v], same);
+                if (closure.containsEdge(u, v)) {
+                    assertTrue(component[u] <= component[v]);
+                }
+            }
+        }
+    }
+}
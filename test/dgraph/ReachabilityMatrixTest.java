@@ -0,0 +1,86 @@
+package dgraph;
+
+/*
+ * ReachabilityMatrixTest.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import org.junit.Test;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test the dgraph.ReachabilityMatrix class.
+ */
+public class ReachabilityMatrixTest {
+    /**
+     * Test the reaches method.
+     */
+    @Test
+    public void testReaches() {
+        Node node1 = new Node();
+        Node node2 = new Node();
+        Node node3 = new Node();
+        Node node4 = new Node();
+        DGraph graph = new DGraph();
+        graph.addNode(node1);
+        graph.addNode(node2);
+        graph.addNode(node3);
+        graph.addNode(node4);
+        graph.addEdge(node1, node2);
+        graph.addEdge(node2, node3);
+        graph.addEdge(node3, node2);
+        ReachabilityMatrix matrix = new ReachabilityMatrix(graph);
+        assertTrue(matrix.reaches(node1, node3));
+        assertTrue(matrix.reaches(node2, node2));
+        assertFalse(matrix.reaches(node1, node1));
+        assertFalse(matrix.reaches(node3, node1));
+        assertFalse(matrix.reaches(node1, node4));
+        assertFalse(matrix.reaches(node1, new Node()));
+        assertFalse(matrix.isAcyclic());
+        assertEquals(matrix.sizeEdges(), 6);
+        assertEquals(matrix.majorants(node1).size(), 2);
+        assertEquals(matrix.transitiveReduction().sizeEdges(), 0);
+    }
+
+    /**
+     * Test the transitiveClosure method.
+     */
+    @Test
+    public void testTransitiveClosure() {
+        DGraph graph = DGraph.random(30, 0.05);
+        FrozenDGraph expected = graph.freeze().transitiveClosure();
+        FrozenDGraph closure = new ReachabilityMatrix(graph).transitiveClosure();
+        assertEquals(closure.sizeEdges(), expected.sizeEdges());
+        for (int u = 0; u < closure.sizeNodes(); u++) {
+            for (int k = 0; k < closure.outDegree(u); k++) {
+                assertTrue(expected.containsEdge(u, closure.getSuccessor(u, k)));
+            }
+        }
+    }
+
+    /**
+     * Test the transitiveReduction method.
+     */
+    @Test
+    public void testTransitiveReduction() {
+        DAGraph graph = DAGraph.random(30, 0.3);
+        ReachabilityMatrix matrix = new ReachabilityMatrix(graph);
+        assertTrue(matrix.isAcyclic());
+        FrozenDGraph expected = graph.freeze().transitiveReduction();
+        FrozenDGraph reduction = matrix.transitiveReduction();
+        assertEquals(reduction.sizeEdges(), expected.sizeEdges());
+        for (int u = 0; u < reduction.sizeNodes(); u++) {
+            for (int k = 0; k < reduction.outDegree(u); k++) {
+                assertTrue(expected.containsEdge(u, reduction.getSuccessor(u, k)));
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package lattice;
+
+/*
+ * BitMatrixContextTest.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import java.util.TreeSet;
+import java.util.Vector;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test the BitMatrixContext class.
+ */
+public class BitMatrixContextTest {
+    /**
+     * Returns a small context.
+     *
+     * @return  a context
+     */
+    private Context context() {
+        Context context = new Context();
+        context.addToAttributes("a");
+        context.addToAttributes("b");
+        context.addToAttributes("c");
+        context.addToAttributes("d");
+        context.addToObservations("1");
+        context.addToObservations("2");
+        context.addToObservations("3");
+        context.addExtentIntent("1", "a");
+        context.addExtentIntent("1", "b");
+        context.addExtentIntent("2", "a");
+        context.addExtentIntent("3", "b");
+        context.addExtentIntent("3", "c");
+        return context;
+    }
+
+    /**
+     * Test the conversions between Context and BitMatrixContext.
+     */
+    @Test
+    public void testConversion() {
+        Context context = this.context();
+        BitMatrixContext matrix = new BitMatrixContext(context);
+        assertEquals(matrix.sizeObservations(), 3);
+        assertEquals(matrix.sizeAttributes(), 4);
+        assertEquals(matrix.getAttributeId("c"), 2);
+        assertEquals(matrix.getAttributeId("e"), -1);
+        assertEquals(matrix.getObservation(1), "2");
+        assertTrue(matrix.containAsIntent(0, 1));
+        assertFalse(matrix.containAsIntent(1, 1));
+        assertEquals(matrix.getContext().toString(), context.toString());
+        assertEquals(matrix.getSet(), context.getSet());
+    }
+
+    /**
+     * Test the derivation and closure operators on bitsets.
+     */
+    @Test
+    public void testBitSetClosure() {
+        Context context = this.context();
+        BitMatrixContext matrix = new BitMatrixContext(context);
+        TreeSet<Comparable> set = new TreeSet<Comparable>();
+        set.add("c");
+        long[] bits = matrix.getAttributeSet(set);
+        assertEquals(matrix.getObservations(matrix.getExtent(bits)), context.getExtent(set));
+        assertEquals(matrix.getAttributes(matrix.closure(bits)), context.closure(set));
+        long[] extent = matrix.newObservationSet();
+        long[] result = matrix.newAttributeSet();
+        matrix.closure(matrix.newAttributeSet(), extent, result);
+        assertTrue(matrix.getAttributes(result).isEmpty());
+        assertEquals(matrix.getObservations(extent), context.getObservations());
+        set.add("e");
+        assertEquals(matrix.closure(set), context.closure(set));
+    }
+
+    /**
+     * Test the closed sets and the lattice of a BitMatrixContext.
+     */
+    @Test
+    public void testLattice() {
+        Context context = Context.random(20, 4, 3);
+        BitMatrixContext matrix = new BitMatrixContext(context);
+        Vector<Concept> expected = context.allClosures();
+        Vector<Concept> closures = matrix.allClosures();
+        assertEquals(closures.size(), expected.size());
+        for (int i = 0; i < closures.size(); i++) {
+            assertEquals(closures.get(i).getSetA(), expected.get(i).getSetA());
+        }
+        ConceptLattice lattice = matrix.conceptLattice(true);
+        ConceptLattice other = context.closedSetLattice(true);
+        assertEquals(lattice.sizeNodes(), other.sizeNodes());
+        assertEquals(lattice.sizeEdges(), other.sizeEdges());
+        Concept top = (Concept) lattice.top();
+        assertEquals(top.getSetB(), new ComparableSet(context.getExtent(top.getSetA())));
+    }
+}
@@ -0,0 +1,50 @@
+package lattice;
+
+/*
+ * BitSetRuleTest.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test the BitSetRule class.
+ */
+public class BitSetRuleTest {
+    /**
+     * Test the conversions and the order of rules.
+     */
+    @Test
+    public void testRules() {
+        ImplicationalSystem system = ImplicationalSystem.random(12, 30);
+        ElementDictionary dictionary = system.getDictionary();
+        BitSetRule[] rules = system.getBitSetRules();
+        assertEquals(rules.length, system.sizeRules());
+        List<Rule> converted = new ArrayList<Rule>();
+        int i = 0;
+        for (Rule r : system.getRules()) {
+            assertEquals(rules[i], dictionary.getRule(r));
+            assertEquals(rules[i].toRule(), r);
+            assertEquals(rules[i].toString(), r.toString());
+            if (i > 0) {
+                assertTrue(rules[i - 1].compareTo(rules[i]) < 0);
+            }
+            converted.add(rules[i].toRule());
+            i++;
+        }
+        Collections.shuffle(converted);
+        assertEquals(new ArrayList<Rule>(new TreeSet<Rule>(converted)), new ArrayList<Rule>(system.getRules()));
+    }
+}
@@ -0,0 +1,106 @@
+package lattice;
+
+/*
+ * CanonicalBasisTest.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test the CanonicalBasis class.
+ */
+public class CanonicalBasisTest {
+    /**
+     * Checks that the canonical basis of a closure system has the same closures,
+     * and is unchanged by method makeCanonicalBasis.
+     *
+     * @param   system  a closure system
+     */
+    private void check(ClosureSystem system) {
+        ImplicationalSystem basis = system.canonicalBasis();
+        assertEquals(basis.getSet(), system.getSet());
+        Random random = new Random(23);
+        for (int t = 0; t < 200; t++) {
+            TreeSet<Comparable> set = new TreeSet<Comparable>();
+            for (Comparable e : system.getSet()) {
+                if (random.nextInt(4) == 0) {
+                    set.add(e);
+                }
+            }
+            assertEquals(basis.closure(set), system.closure(set));
+        }
+        for (Rule r : basis.getRules()) {
+            TreeSet<Comparable> closure = system.closure(r.getPremise());
+            closure.removeAll(r.getPremise());
+            assertEquals(new ComparableSet(closure), r.getConclusion());
+        }
+        ImplicationalSystem canonical = new ImplicationalSystem(basis);
+        canonical.makeCanonicalBasis();
+        assertEquals(canonical.getRules(), basis.getRules());
+    }
+
+    /**
+     * Test the canonical basis of a small context.
+     */
+    @Test
+    public void testSmallContext() {
+        Context context = new Context();
+        context.addToAttributes("a");
+        context.addToAttributes("b");
+        context.addToAttributes("c");
+        context.addToObservations("1");
+        context.addToObservations("2");
+        context.addExtentIntent("1", "a");
+        context.addExtentIntent("1", "b");
+        context.addExtentIntent("1", "c");
+        context.addExtentIntent("2", "a");
+        context.addExtentIntent("2", "b");
+        CanonicalBasis basis = context.canonicalBasisIterator();
+        assertTrue(basis.hasNext());
+        Rule rule = basis.next();
+        assertTrue(rule.getPremise().isEmpty());
+        assertEquals(rule.getConclusion().toString(), "[a,b]");
+        assertEquals(basis.getElements(basis.getConclusion()), rule.getConclusion());
+        assertFalse(basis.hasNext());
+        assertFalse(basis.advance());
+        try {
+            basis.next();
+            assertTrue(false);
+        } catch (NoSuchElementException e) {
+            assertTrue(true);
+        }
+    }
+
+    /**
+     * Test the canonical basis of random contexts.
+     */
+    @Test
+    public void testContext() {
+        for (int i = 0; i < 5; i++) {
+            this.check(Context.random(20, 4, 4));
+        }
+    }
+
+    /**
+     * Test the canonical basis of random implicational systems.
+     */
+    @Test
+    public void testImplicationalSystem() {
+        for (int i = 0; i < 5; i++) {
+            this.check(ImplicationalSystem.random(10, 15));
+        }
+    }
+}
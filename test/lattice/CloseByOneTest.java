@@ -0,0 +1,86 @@
+package lattice;
+
+/*
+ * CloseByOneTest.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import java.util.TreeSet;
+import java.util.Vector;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test the CloseByOne class.
+ */
+public class CloseByOneTest {
+    /**
+     * Returns the closed sets generated by the NextClosure algorithm.
+     *
+     * @param   system  a closure system
+     *
+     * @return  the closed sets in the lectic order
+     */
+    private Vector<Concept> expected(ClosureSystem system) {
+        Vector<Concept> expected = new Vector<Concept>();
+        NextClosure enumerator = system.closureIterator();
+        while (enumerator.hasNext()) {
+            expected.add(enumerator.next());
+        }
+        return expected;
+    }
+
+    /**
+     * Test the ordered generation of the closed sets of a context.
+     */
+    @Test
+    public void testOrdered() {
+        Context context = Context.random(40, 5, 4);
+        Vector<Concept> expected = this.expected(context);
+        for (int parallelism = 1; parallelism <= 4; parallelism++) {
+            Vector<Concept> closures = context.allClosures(parallelism, true);
+            assertEquals(closures.size(), expected.size());
+            for (int i = 0; i < closures.size(); i++) {
+                assertEquals(closures.get(i).getSetA(), expected.get(i).getSetA());
+            }
+        }
+    }
+
+    /**
+     * Test the unordered generation of the closed sets of an implicational system.
+     */
+    @Test
+    public void testUnordered() {
+        ImplicationalSystem system = ImplicationalSystem.random(8, 6);
+        TreeSet<ComparableSet> expected = new TreeSet<ComparableSet>();
+        for (Concept c : this.expected(system)) {
+            expected.add(new ComparableSet(c.getSetA()));
+        }
+        CloseByOne cbo = new CloseByOne(system.getBitSetClosure(), 3, false);
+        assertEquals(cbo.getParallelism(), 3);
+        Vector<Concept> closures = cbo.getClosures();
+        assertEquals(closures.size(), expected.size());
+        for (Concept c : closures) {
+            assertTrue(expected.contains(new ComparableSet(c.getSetA())));
+        }
+    }
+
+    /**
+     * Test the generation of the complete lattice on several threads.
+     */
+    @Test
+    public void testCompleteLattice() {
+        Context context = Context.random(20, 4, 3);
+        ConceptLattice lattice = ConceptLattice.completeLattice(context, 2);
+        ConceptLattice expected = ConceptLattice.completeLattice(context);
+        assertEquals(lattice.sizeNodes(), expected.sizeNodes());
+        assertEquals(lattice.sizeEdges(), expected.sizeEdges());
+    }
+}
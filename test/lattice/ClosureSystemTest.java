@@ -193,4 +193,34 @@ public class ClosureSystemTest {
         assertEquals(context.precedenceGraph().getNodes().size(), 3);
         assertEquals(context.precedenceGraph().getEdges().size(), 1);
     }
+    /**
+     * Test for the cache of the precedence graph and of its strongly connected components.
+     */
+    @Test
+    public void testPrecedenceGraphCache() {
+        ImplicationalSystem is = new ImplicationalSystem();
+        TreeSet<Comparable> elements = new TreeSet<Comparable>();
+        elements.add(0);
+        elements.add(1);
+        elements.add(2);
+        is.addAllElements(elements);
+        Rule r1 = new Rule();
+        r1.addToPremise(0);
+        r1.addToConclusion(1);
+        is.addRule(r1);
+        Rule r2 = new Rule();
+        r2.addToPremise(1);
+        r2.addToConclusion(0);
+        is.addRule(r2);
+        assertTrue(is.getPrecedenceGraph() == is.getPrecedenceGraph());
+        assertEquals(is.getAcyclicPrecedenceGraph().getNodes().size(), 2);
+        assertTrue(is.getComponent(0) == is.getComponent(1));
+        assertTrue(is.getComponentMinorants(is.getComponent(2)).isEmpty());
+        Rule r3 = new Rule();
+        r3.addToPremise(2);
+        r3.addToConclusion(0);
+        is.addRule(r3);
+        assertEquals(is.getPrecedenceGraph().getEdges().size(), 4);
+        assertTrue(is.getComponentMinorants(is.getComponent(2)).contains(is.getComponent(0)));
+    }
 }
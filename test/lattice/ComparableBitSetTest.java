@@ -0,0 +1,106 @@
+package lattice;
+
+/*
+ * ComparableBitSetTest.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import java.util.Random;
+import java.util.TreeSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test the ComparableBitSet and ElementDictionary classes.
+ */
+public class ComparableBitSetTest {
+    /**
+     * Returns a dictionary of the integers 0, ..., n-1.
+     *
+     * @param   n  the number of elements
+     *
+     * @return  a dictionary
+     */
+    private ElementDictionary dictionary(int n) {
+        TreeSet<Comparable> set = new TreeSet<Comparable>();
+        for (int i = 0; i < n; i++) {
+            set.add(i);
+        }
+        return new ElementDictionary(set);
+    }
+
+    /**
+     * Test the dictionary.
+     */
+    @Test
+    public void testDictionary() {
+        TreeSet<Comparable> set = new TreeSet<Comparable>();
+        set.add("c");
+        set.add("a");
+        set.add("b");
+        ElementDictionary dictionary = new ElementDictionary(set);
+        assertEquals(dictionary.size(), 3);
+        assertEquals(dictionary.getElement(1), "b");
+        assertEquals(dictionary.getId("c"), 2);
+        assertEquals(dictionary.getId("d"), -1);
+        assertTrue(dictionary.getEmptySet().isEmpty());
+        set.remove("b");
+        ComparableBitSet bits = dictionary.getSet(set);
+        assertEquals(bits.toString(), "[a,c]");
+        assertEquals(bits.size(), 2);
+        assertTrue(bits.contains("c"));
+        assertFalse(bits.contains("b"));
+        assertFalse(bits.contains("d"));
+        assertTrue(bits.contains(0));
+        assertEquals(bits.toSet(), new ComparableSet(set));
+    }
+
+    /**
+     * Test the operations and the lectic order against ComparableSet.
+     */
+    @Test
+    public void testOperations() {
+        Random random = new Random(22);
+        ElementDictionary dictionary = this.dictionary(100);
+        for (int t = 0; t < 500; t++) {
+            ComparableSet a = new ComparableSet();
+            ComparableSet b = new ComparableSet();
+            for (int i = 0; i < 100; i++) {
+                if (random.nextInt(3) == 0) {
+                    a.add(i);
+                }
+                if (random.nextInt(3) == 0 || (t % 2 == 0 && a.contains(i))) {
+                    b.add(i);
+                }
+            }
+            ComparableBitSet bitsA = dictionary.getSet(a);
+            ComparableBitSet bitsB = dictionary.getSet(b);
+            assertEquals(Integer.signum(bitsA.compareTo(bitsB)), Integer.signum(a.compareTo(b)));
+            assertEquals(Integer.signum(bitsB.compareTo(bitsA)), Integer.signum(b.compareTo(a)));
+            assertEquals(bitsA.isSubsetOf(bitsB), b.containsAll(a));
+            assertEquals(bitsA.equals(bitsB), a.equals(b));
+            TreeSet<Comparable> union = new TreeSet<Comparable>(a);
+            union.addAll(b);
+            assertEquals(bitsA.union(bitsB).toSet(), new ComparableSet(union));
+            TreeSet<Comparable> intersection = new TreeSet<Comparable>(a);
+            intersection.retainAll(b);
+            assertEquals(bitsA.intersection(bitsB).toSet(), new ComparableSet(intersection));
+            assertEquals(bitsA.intersects(bitsB), !intersection.isEmpty());
+            TreeSet<Comparable> minus = new TreeSet<Comparable>(a);
+            minus.removeAll(b);
+            assertEquals(bitsA.minus(bitsB).toSet(), new ComparableSet(minus));
+            // operands are not modified
+            assertEquals(bitsA.toSet(), a);
+            assertEquals(bitsA, dictionary.getSet(bitsA.toBitSet()));
+            assertEquals(bitsA.hashCode(), dictionary.getSet(a).hashCode());
+        }
+    }
+}
@@ -350,6 +350,27 @@ public class ConceptLatticeTest {
         assertEquals(null, result.getNodes().first().getContent());
     }
 
+    /**
+     * Test of diagramLattice method with several workers, of class ConceptLattice.
+     */
+    @Test
+    public void testDiagramLatticeWorkers() {
+        Context context = Context.random(30, 4, 4);
+        ConceptLattice expected = ConceptLattice.diagramLattice(context);
+        ConceptLattice result = ConceptLattice.diagramLattice(context, 4);
+        assertEquals(expected.sizeNodes(), result.sizeNodes());
+        assertEquals(expected.sizeEdges(), result.sizeEdges());
+        TreeSet<ComparableSet> closedSets = new TreeSet<ComparableSet>();
+        for (Node n : expected.getNodes()) {
+            closedSets.add(new ComparableSet(((Concept) n).getSetA()));
+        }
+        for (Node n : result.getNodes()) {
+            assertTrue(closedSets.contains(new ComparableSet(((Concept) n).getSetA())));
+        }
+        assertEquals(expected.getDependencyGraph().sizeEdges(), result.getDependencyGraph().sizeEdges());
+        assertEquals(expected.getDependencyGraph().getEdges().toString(), result.getDependencyGraph().getEdges().toString());
+    }
+
     /**
      * Test of immediateSuccessors method, of class ConceptLattice.
      */
@@ -432,6 +432,18 @@ public class ConceptTest {
     public void testEquals() {
         Concept c = new Concept(true, true);
         assertTrue(c.equals(c));
+        TreeSet<Comparable> setA = new TreeSet<Comparable>();
+        setA.add("a");
+        TreeSet<Comparable> setB = new TreeSet<Comparable>();
+        setB.add("1");
+        Concept onlyA = new Concept(setA, false);
+        Concept both = new Concept(setA, setB);
+        assertTrue(onlyA.equals(new Concept(new TreeSet<Comparable>(setA), false)));
+        assertEquals(onlyA.hashCode(), new Concept(new TreeSet<Comparable>(setA), false).hashCode());
+        assertTrue(both.equals(new Concept(setA, new TreeSet<Comparable>(setB))));
+        assertEquals(both.hashCode(), new Concept(setA, new TreeSet<Comparable>(setB)).hashCode());
+        assertFalse(onlyA.equals(both));
+        assertFalse(both.equals(onlyA));
     }
     /**
      * Test the immediateSuccessorsLOA method.
@@ -90,6 +90,46 @@ public class ContextTest {
         }
     }
 
+    /**
+     * Test the bulk loading of a context with a builder.
+     */
+    @Test
+    public void testBuilder() {
+        Context.Builder builder = new Context.Builder();
+        builder.addToAttributes("a");
+        builder.addToAttributes("b");
+        builder.addToAttributes("c");
+        builder.addToObservations("1");
+        builder.addToObservations("2");
+        builder.addToObservations("3");
+        builder.addExtentIntent("1", "a");
+        builder.addExtentIntent("1", "b");
+        builder.addExtentIntent("2", "a");
+        builder.addExtentIntent("3", "b");
+        builder.addExtentIntent("3", "c");
+        assertFalse(builder.addExtentIntent("4", "a"));
+        Context context = builder.build();
+        Context expected = new Context();
+        expected.addToAttributes("a");
+        expected.addToAttributes("b");
+        expected.addToAttributes("c");
+        expected.addToObservations("1");
+        expected.addToObservations("2");
+        expected.addToObservations("3");
+        expected.addExtentIntent("1", "a");
+        expected.addExtentIntent("1", "b");
+        expected.addExtentIntent("2", "a");
+        expected.addExtentIntent("3", "b");
+        expected.addExtentIntent("3", "c");
+        assertEquals(expected.toString(), context.toString());
+        TreeSet<Comparable> set = new TreeSet<Comparable>();
+        set.add("a");
+        assertEquals(context.getExtentNb(set), 2);
+        set.add("b");
+        assertEquals(context.getExtentNb(set), 1);
+        assertEquals(context.allClosures().size(), expected.allClosures().size());
+    }
+
     /**
      * Test random method.
      */
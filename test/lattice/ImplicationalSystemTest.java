@@ -407,6 +407,38 @@ public class ImplicationalSystemTest {
         is.makeDirect();
         assertTrue(is.isDirect());
     }
+    /**
+     * Test for the makeDirect method against the saturation of all pairs of rules.
+     */
+    @Test
+    public void testmakeDirectSaturation() {
+        for (int i = 0; i < 5; i++) {
+            ImplicationalSystem is = ImplicationalSystem.random(10, 10);
+            ImplicationalSystem expected = new ImplicationalSystem(is);
+            expected.makeUnary();
+            expected.makeProper();
+            boolean ok = true;
+            while (ok) {
+                ImplicationalSystem sauv = new ImplicationalSystem(expected);
+                for (Rule r1 : sauv.getRules()) {
+                    for (Rule r2 : sauv.getRules()) {
+                        if (!r1.getPremise().containsAll(r2.getConclusion())
+                                && r2.getPremise().containsAll(r1.getConclusion())) {
+                            ComparableSet c = new ComparableSet(r2.getPremise());
+                            c.removeAll(r1.getConclusion());
+                            c.addAll(r1.getPremise());
+                            expected.addRule(new Rule(c, r2.getConclusion()));
+                        }
+                    }
+                }
+                ok = expected.sizeRules() > sauv.sizeRules();
+            }
+            expected.makeLeftMinimal();
+            is.makeDirect();
+            assertTrue(is.isDirect());
+            assertEquals(is.getRules(), expected.getRules());
+        }
+    }
     /**
      * Test for the makeMinimum methods.
      */
@@ -416,6 +448,30 @@ public class ImplicationalSystemTest {
         is.makeMinimum();
         assertTrue(is.isMinimum());
     }
+    /**
+     * Test for the makeMinimum methods against a copy of the component for each rule.
+     */
+    @Test
+    public void testmakeMinimumParallel() {
+        for (int i = 0; i < 5; i++) {
+            ImplicationalSystem is = ImplicationalSystem.random(20, 150);
+            ImplicationalSystem expected = new ImplicationalSystem(is);
+            expected.makeRightMaximal();
+            ImplicationalSystem sauv = new ImplicationalSystem(expected);
+            for (Rule r : sauv.getRules()) {
+                ImplicationalSystem epsylon = new ImplicationalSystem(expected);
+                epsylon.removeRule(r);
+                if (epsylon.closure(r.getPremise()).equals(expected.closure(r.getPremise()))) {
+                    expected.removeRule(r);
+                }
+            }
+            ImplicationalSystem parallel = new ImplicationalSystem(is);
+            is.makeMinimum();
+            parallel.makeMinimum(4);
+            assertEquals(is.getRules(), expected.getRules());
+            assertEquals(parallel.getRules(), expected.getRules());
+        }
+    }
     /**
      * Test for the makeCanonicalDirectBasis methods.
      */
@@ -434,6 +490,21 @@ public class ImplicationalSystemTest {
         is.makeCanonicalBasis();
         assertTrue(is.isCanonicalBasis());
     }
+    /**
+     * Test for the makeCanonicalBasis methods against the canonical basis generated from the closure system.
+     */
+    @Test
+    public void testmakeCanonicalBasisParallel() {
+        for (int i = 0; i < 5; i++) {
+            ImplicationalSystem is = ImplicationalSystem.random(20, 150);
+            ImplicationalSystem expected = is.canonicalBasis();
+            ImplicationalSystem parallel = new ImplicationalSystem(is);
+            is.makeCanonicalBasis();
+            parallel.makeCanonicalBasis(4);
+            assertEquals(is.getRules(), expected.getRules());
+            assertEquals(parallel.getRules(), expected.getRules());
+        }
+    }
     /**
      * Test for the representativeGraph method.
      */
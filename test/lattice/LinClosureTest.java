@@ -0,0 +1,145 @@
+package lattice;
+
+/*
+ * LinClosureTest.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import java.util.Random;
+import java.util.TreeSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+import utils.BitSetUtils;
+
+/**
+ * Test the LinClosure class.
+ */
+public class LinClosureTest {
+    /**
+     * Returns a random implicational system.
+     *
+     * @param   random  the generator
+     * @param   nbS     the number of elements
+     * @param   nbR     the number of rules
+     *
+     * @return  an implicational system
+     */
+    private ImplicationalSystem random(Random random, int nbS, int nbR) {
+        ImplicationalSystem system = new ImplicationalSystem();
+        for (int i = 0; i < nbS; i++) {
+            system.addElement(i);
+        }
+        for (int r = 0; r < nbR; r++) {
+            TreeSet<Comparable> premise = new TreeSet<Comparable>();
+            TreeSet<Comparable> conclusion = new TreeSet<Comparable>();
+            for (int k = random.nextInt(4); k > 0; k--) {
+                premise.add(random.nextInt(nbS));
+            }
+            for (int k = 1 + random.nextInt(2); k > 0; k--) {
+                conclusion.add(random.nextInt(nbS));
+            }
+            system.addRule(new Rule(premise, conclusion));
+        }
+        return system;
+    }
+
+    /**
+     * Returns the closure of a set by iterations over all the rules.
+     *
+     * @param   system  an implicational system
+     * @param   set     a set of elements
+     *
+     * @return  the closure
+     */
+    private TreeSet<Comparable> naiveClosure(ImplicationalSystem system, TreeSet<Comparable> set) {
+        TreeSet<Comparable> closure = new TreeSet<Comparable>(set);
+        boolean modified = true;
+        while (modified) {
+            modified = false;
+            for (Rule r : system.getRules()) {
+                if (closure.containsAll(r.getPremise()) && !closure.containsAll(r.getConclusion())) {
+                    closure.addAll(r.getConclusion());
+                    modified = true;
+                }
+            }
+        }
+        return closure;
+    }
+
+    /**
+     * Test the closures on a small system.
+     */
+    @Test
+    public void testClosure() {
+        ImplicationalSystem system = new ImplicationalSystem();
+        for (String e : new String[] {"a", "b", "c", "d", "e"}) {
+            system.addElement(e);
+        }
+        TreeSet<Comparable> premise = new TreeSet<Comparable>();
+        TreeSet<Comparable> conclusion = new TreeSet<Comparable>();
+        conclusion.add("e");
+        system.addRule(new Rule(premise, conclusion));
+        premise.add("a");
+        premise.add("b");
+        conclusion = new TreeSet<Comparable>();
+        conclusion.add("c");
+        system.addRule(new Rule(premise, conclusion));
+        premise = new TreeSet<Comparable>();
+        premise.add("c");
+        premise.add("e");
+        conclusion = new TreeSet<Comparable>();
+        conclusion.add("d");
+        system.addRule(new Rule(premise, conclusion));
+        LinClosure engine = new LinClosure(system);
+        assertEquals(engine.size(), 5);
+        assertEquals(engine.sizeRules(), 3);
+        assertEquals(engine.getElementId("c"), 2);
+        assertEquals(engine.getElementId("f"), -1);
+        TreeSet<Comparable> set = new TreeSet<Comparable>();
+        assertEquals(engine.closure(set).toString(), "[e]");
+        set.add("a");
+        assertEquals(engine.closure(set).toString(), "[a, e]");
+        set.add("b");
+        assertEquals(engine.closure(set).toString(), "[a, b, c, d, e]");
+        set.add("f");
+        assertEquals(engine.closure(set).toString(), "[a, b, c, d, e, f]");
+        assertEquals(system.closure(set).toString(), "[a, b, c, d, e, f]");
+        assertSame(system.getBitSetClosure(), system.getBitSetClosure());
+        system.removeRule(system.getRules().first());
+        assertEquals(system.closure(new TreeSet<Comparable>()).toString(), "[]");
+    }
+
+    /**
+     * Test the closures on random systems.
+     */
+    @Test
+    public void testRandom() {
+        Random random = new Random(21);
+        for (int t = 0; t < 50; t++) {
+            ImplicationalSystem system = this.random(random, 2 + random.nextInt(30), random.nextInt(40));
+            LinClosure engine = new LinClosure(system);
+            long[] result = engine.newSet();
+            for (int k = 0; k < 20; k++) {
+                TreeSet<Comparable> set = new TreeSet<Comparable>();
+                for (Comparable e : system.getSet()) {
+                    if (random.nextInt(5) == 0) {
+                        set.add(e);
+                    }
+                }
+                TreeSet<Comparable> expected = this.naiveClosure(system, set);
+                engine.closure(engine.getSet(set), result);
+                assertEquals(engine.getElements(result), expected);
+                assertEquals(BitSetUtils.cardinality(result), expected.size());
+                assertEquals(system.closure(set), expected);
+            }
+        }
+    }
+}
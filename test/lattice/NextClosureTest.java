@@ -0,0 +1,92 @@
+package lattice;
+
+/*
+ * NextClosureTest.java
+ *
+ * Copyright: 2013-2014 Karell Bertet, France
+ *
+ * License: http://www.cecill.info/licences/Licence_CeCILL-B_V1-en.html CeCILL-B license
+ *
+ * This file is part of java-lattices, free package. You can redistribute it and/or modify
+ * it under the terms of CeCILL-B license.
+ */
+
+import java.util.NoSuchElementException;
+import java.util.Vector;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test the NextClosure class.
+ */
+public class NextClosureTest {
+    /**
+     * Checks that the enumerator generates the closed sets of allClosures in the same order.
+     *
+     * When the closure of the empty set is not empty, allClosures ends with the empty set,
+     * which is not closed and is therefore ignored.
+     *
+     * @param   system  a closure system
+     */
+    private void check(ClosureSystem system) {
+        Vector<Concept> expected = new Vector<Concept>();
+        for (Concept c : system.allClosures()) {
+            if (system.closure(c.getSetA()).equals(c.getSetA())) {
+                expected.add(c);
+            }
+        }
+        NextClosure enumerator = system.closureIterator();
+        int i = 0;
+        while (enumerator.hasNext()) {
+            assertEquals(enumerator.next().getSetA(), expected.get(i).getSetA());
+            i++;
+        }
+        assertEquals(i, expected.size());
+        assertFalse(enumerator.advance());
+    }
+
+    /**
+     * Test the enumeration of the closed sets of a context.
+     */
+    @Test
+    public void testContext() {
+        this.check(Context.random(30, 5, 4));
+    }
+
+    /**
+     * Test the enumeration of the closed sets of an implicational system.
+     */
+    @Test
+    public void testImplicationalSystem() {
+        this.check(ImplicationalSystem.random(8, 6));
+    }
+
+    /**
+     * Test the enumeration on bitsets.
+     */
+    @Test
+    public void testAdvance() {
+        Context context = new Context();
+        context.addToAttributes("a");
+        context.addToAttributes("b");
+        context.addToObservations("1");
+        context.addToObservations("2");
+        context.addExtentIntent("1", "a");
+        context.addExtentIntent("2", "b");
+        NextClosure enumerator = new NextClosure(context);
+        int count = 0;
+        while (enumerator.advance()) {
+            count++;
+        }
+        assertEquals(count, 4);
+        assertEquals(enumerator.getElements(enumerator.getCurrent()), context.getAttributes());
+        try {
+            enumerator.next();
+            assertTrue(false);
+        } catch (NoSuchElementException e) {
+            assertFalse(enumerator.hasNext());
+        }
+    }
+}
@@ -2,9 +2,22 @@ package sequence;
 
 import static org.junit.Assert.*;
 
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Random;
 import java.util.TreeSet;
 
+import lattice.Concept;
+import lattice.ConceptLattice;
+
+import dgraph.Edge;
+import dgraph.Node;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -38,4 +51,190 @@ public class ContextSequenceTest {
 		
 	}
 
+	@Test
+	public void testAlphabet() {
+		assertEquals(cs.getAlphabet().toString(), "adgr");
+		Comparable first = cs.getSequences().get(0);
+		assertEquals(((Sequence) first).getAlphabet(), cs.getAlphabet());
+		assertTrue(cs.containsSequence(new Sequence(first.toString())));
+		assertTrue(cs.toString().contains("Attributes: a d g r"));
+	}
+
+	@Test
+	public void testGetIntent() {
+		TreeSet<Comparable> observations = new TreeSet<Comparable>();
+		observations.add("1");
+		observations.add("2");
+		TreeSet<Comparable> intent = cs.getIntent(observations);
+		assertEquals(intent.size(), 1);
+		assertEquals(intent.first().toString(), "drga");
+		observations.add("4");
+		assertEquals(cs.getIntent(observations).size(), 3);
+	}
+
+	@Test
+	public void testIndexEngine() {
+		assertEquals(cs.getIndexEngine(), ContextSequence.IndexEngine.SUFFIX_TREE);
+		TreeSet<Comparable> observations = new TreeSet<Comparable>(cs.getSet());
+		TreeSet<Comparable> expected = cs.getIntent(observations);
+		observations.remove(observations.first());
+		TreeSet<Comparable> expectedSubset = cs.getIntent(observations);
+		for (ContextSequence.IndexEngine engine : ContextSequence.IndexEngine.values()) {
+			cs.setIndexEngine(engine);
+			assertEquals(cs.getIndexEngine(), engine);
+			assertEquals(cs.getIntent(observations).toString(), expectedSubset.toString());
+			assertEquals(cs.getIntent(cs.getSet()).toString(), expected.toString());
+		}
+	}
+
+	@Test
+	public void testGetExtent() {
+		TreeSet<Comparable> seqs = new TreeSet<Comparable>();
+		assertEquals(cs.getExtent(seqs), cs.getSet());
+		seqs.add(new Sequence("drg"));
+		TreeSet<Comparable> extent = cs.getExtent(seqs);
+		assertEquals(extent.toString(), "[1, 2]");
+		assertEquals(cs.getExtent(new Sequence("rag")).toString(), "[3, 4]");
+		seqs.add(new Sequence("ga"));
+		assertEquals(cs.getExtent(seqs).toString(), "[1, 2]");
+		seqs.add(new Sequence("aa"));
+		assertEquals(cs.getExtent(seqs).toString(), "[1]");
+		assertTrue(cs.getExtent(new Sequence("x")).isEmpty());
+		long[] bits = cs.getExtentBitSet(new Sequence("dr"));
+		assertEquals(utils.BitSetUtils.cardinality(bits), 3);
+	}
+
+	@Test(timeout = 60000)
+	public void testReadLarge() throws IOException {
+		//duplicated sequences and sequences contained in others, on many lines
+		int n = 100000;
+		Random random = new Random(18);
+		HashMap<String, HashSet<String>> expected = new HashMap<String, HashSet<String>>();
+		HashSet<String> distinct = new HashSet<String>();
+		File file = File.createTempFile("sequences", ".txt");
+		file.deleteOnExit();
+		Writer writer = new FileWriter(file);
+		writer.write("Observations:");
+		for (int o = 0; o < n / 2; o++) {
+			writer.write(" o" + o);
+		}
+		writer.write("\nAttributes: a b c d\n");
+		String previous = "abcd";
+		for (int i = 0; i < n; i++) {
+			String o = "o" + random.nextInt(n / 2);
+			String seq;
+			switch (random.nextInt(3)) {
+			case 0:
+				seq = previous;
+				break;
+			case 1:
+				seq = previous.substring(random.nextInt(previous.length()));
+				break;
+			default:
+				StringBuilder sb = new StringBuilder();
+				for (int j = random.nextInt(8); j >= 0; j--) {
+					sb.append("abcd".charAt(random.nextInt(4)));
+				}
+				seq = sb.toString();
+			}
+			writer.write(o + " : " + seq + "\n");
+			if (!expected.containsKey(o)) {
+				expected.put(o, new HashSet<String>());
+			}
+			expected.get(o).add(seq);
+			distinct.add(seq);
+			previous = seq;
+		}
+		writer.close();
+
+		ContextSequence large = new ContextSequence(file.getPath(), ContextSequence.IndexEngine.SUFFIX_ARRAY);
+		assertEquals(large.getSet().size(), n / 2);
+		assertEquals(large.getSequences().size(), distinct.size());
+		for (String seq : distinct) {
+			int id = large.getSequences().getId(seq);
+			assertEquals(large.getSequences().get(id).toString(), seq);
+		}
+		for (String o : expected.keySet()) {
+			HashSet<String> intent = new HashSet<String>();
+			for (Comparable seq : large.getIntent(o)) {
+				intent.add(seq.toString());
+			}
+			assertEquals(intent, expected.get(o));
+		}
+	}
+
+	@Test
+	public void testAddObservation() {
+		ContextSequence inc = new ContextSequence();
+		String[] seqs = {"drdrgaarg", "drgadrgdr", "ragararrr"};
+		for (int i = 0; i < seqs.length; i++) {
+			inc.addObservation(String.valueOf(i + 1));
+			inc.addExtentIntent(String.valueOf(i + 1), inc.addSequence(seqs[i]));
+		}
+		ConceptLattice lattice = inc.conceptLatticeSequence(true);
+		Concept concept = inc.addObservation("4", "rrrardrag", lattice);
+		assertEquals(concept.getSetA().toString(), "[4]");
+		assertEquals(describe(lattice), describe(cs.conceptLatticeSequence(true)));
+		assertNull(inc.addObservation("4", "rrrardrag", lattice));
+	}
+
+	@Test
+	public void testAddObservationRandom() {
+		Random random = new Random(20);
+		for (ContextSequence.IndexEngine engine : ContextSequence.IndexEngine.values()) {
+			ContextSequence inc = new ContextSequence();
+			inc.setIndexEngine(engine);
+			ConceptLattice lattice = new ConceptLattice();
+			for (int i = 0; i < 25; i++) {
+				StringBuilder sb = new StringBuilder();
+				for (int j = random.nextInt(6); j >= 0; j--) {
+					sb.append("abc".charAt(random.nextInt(i < 10 ? 2 : 3)));
+				}
+				inc.addObservation("o" + i, sb.toString(), lattice);
+				assertEquals(describe(lattice), describe(inc.conceptLatticeSequence(true)));
+			}
+		}
+	}
+
+	@Test
+	public void testAddObservationIndexed() {
+		Random random = new Random(21);
+		ContextSequence inc = new ContextSequence();
+		ConceptLattice lattice = new ConceptLattice();
+		lattice.setIndexed(true);
+		for (int i = 0; i < 25; i++) {
+			StringBuilder sb = new StringBuilder();
+			for (int j = random.nextInt(6); j >= 0; j--) {
+				sb.append("abc".charAt(random.nextInt(3)));
+			}
+			inc.addObservation("o" + i, sb.toString(), lattice);
+			assertEquals(describe(lattice), describe(inc.conceptLatticeSequence(true)));
+			for (Node node : lattice.getNodes()) {
+				assertSame(lattice.getNode(node), node);
+				assertSame(lattice.getNodeByIdentifier(node.getIdentifier()), node);
+			}
+		}
+	}
+
+	/**
+	 * Describes the concepts and edges of a lattice by their extents and intents
+	 */
+	private static TreeSet<String> describe(ConceptLattice lattice) {
+		TreeSet<String> description = new TreeSet<String>();
+		for (Node node : lattice.getNodes()) {
+			description.add(describe((Concept) node));
+		}
+		for (Edge edge : lattice.getEdges()) {
+			description.add(describe((Concept) edge.getFrom()) + " -> " + describe((Concept) edge.getTo()));
+		}
+		return description;
+	}
+
+	private static String describe(Concept concept) {
+		TreeSet<String> intent = new TreeSet<String>();
+		for (Comparable seq : concept.getSetB()) {
+			intent.add(seq.toString());
+		}
+		return concept.getSetA() + "-" + intent;
+	}
 }
@@ -2,6 +2,8 @@ package sequence;
 
 import static org.junit.Assert.*;
 
+import java.util.Random;
+
 import org.junit.Test;
 
 public class SequenceTest {
@@ -20,4 +22,65 @@ public class SequenceTest {
 		assertTrue(seq1.compareTo(seq2) < 0);
 	}
 
+	@Test
+	public void testAlphabet() {
+		Alphabet alphabet = new Alphabet("flnst");
+		assertEquals(alphabet.size(), 5);
+		assertEquals(alphabet.getCode('n'), 2);
+		assertEquals(alphabet.getCode('x'), -1);
+		Sequence packed = new Sequence("sffffnnftfnn", alphabet);
+		assertEquals(packed.getAlphabet(), alphabet);
+		assertEquals(packed.toString(), "sffffnnftfnn");
+		assertEquals(packed.length(), 12);
+		Sequence string = new Sequence("sffffnnftfnn");
+		assertEquals(packed, string);
+		assertEquals(packed.hashCode(), string.hashCode());
+		assertEquals(packed.compareTo(string), 0);
+		//a character out of the alphabet
+		assertNull(new Sequence("abc", alphabet).getAlphabet());
+		assertNull(Alphabet.fromTokens(java.util.Arrays.asList("ab", "c")));
+	}
+
+	@Test
+	public void testAlphabetBeyondLatin1() {
+		Alphabet alphabet = new Alphabet("ab\u0100\u0101");
+		assertEquals(alphabet.size(), 4);
+		assertEquals(alphabet.getCode('\u0100'), 2);
+		assertEquals(alphabet.getCode('\u0101'), 3);
+		assertEquals(alphabet.getCode('\u0102'), -1);
+		Alphabet tokens = Alphabet.fromTokens(java.util.Arrays.asList("a", "\u0100"));
+		assertEquals(tokens.getCode('\u0100'), 1);
+		Sequence packed = new Sequence("\u0100ab\u0101", alphabet);
+		assertEquals(packed.getAlphabet(), alphabet);
+		assertEquals(packed.toString(), "\u0100ab\u0101");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAlphabetRepeatedBeyondLatin1() {
+		new Alphabet("a\u0100b\u0100");
+	}
+
+	@Test
+	public void testContainSubsequence() {
+		Alphabet alphabet = new Alphabet("flnst");
+		Random random = new Random(19);
+		for (int k = 0; k < 1000; k++) {
+			String text = randomString(random, random.nextInt(200));
+			String pattern = random.nextBoolean() && text.length() > 0
+					? text.substring(random.nextInt(text.length()))
+					: randomString(random, random.nextInt(100));
+			pattern = pattern.substring(0, random.nextInt(pattern.length() + 1));
+			boolean expected = text.indexOf(pattern) >= 0;
+			assertEquals(new Sequence(text, alphabet).containSubsequence(new Sequence(pattern, alphabet)), expected);
+			assertEquals(new Sequence(text, alphabet).containSubsequence(new Sequence(pattern)), expected);
+		}
+	}
+
+	private static String randomString(Random random, int length) {
+		StringBuilder sb = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			sb.append("flnst".charAt(random.nextInt(random.nextBoolean() ? 2 : 5)));
+		}
+		return sb.toString();
+	}
 }
@@ -0,0 +1,141 @@
+package suffixtree;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import utils.BitSetUtils;
+
+public class CompactSuffixTreeTest {
+
+	@Test
+	public void testLCS() {
+		String[] seqs = new String[] {"drdrgaargf", "drgadrgdrf"};
+		for (CompactSuffixTree tree : new CompactSuffixTree[] {new CompactSuffixTree(seqs), new CompactSuffixTree(seqs, "adfgr")}) {
+			List<String> lcs = tree.getLCS();
+			assertTrue(lcs.contains("drga"));
+			assertTrue(!lcs.contains("ga"));
+			assertTrue(lcs.contains("f"));
+		}
+		assertFalse(new CompactSuffixTree(seqs).isDirectIndexed());
+		assertTrue(new CompactSuffixTree(seqs, "adfgr").isDirectIndexed());
+	}
+
+	@Test
+	public void testLCSSubset() {
+		Random random = new Random(5);
+		for (int t = 0; t < 30; t++) {
+			int n = 1 + random.nextInt(8);
+			String[] seqs = new String[n];
+			for (int i = 0; i < n; i++) {
+				seqs[i] = GeneralizedSuffixTreeTest.randomString(random, random.nextInt(20), "flnst");
+			}
+			// direct indexed mode on a part of the alphabet only
+			CompactSuffixTree hashed = new CompactSuffixTree(seqs);
+			CompactSuffixTree direct = new CompactSuffixTree(seqs, "fln");
+			assertEquals(hashed.sizeNodes(), direct.sizeNodes());
+			for (int q = 0; q < 10; q++) {
+				long[] subset = BitSetUtils.empty(n);
+				List<String> strings = new ArrayList<String>();
+				for (int i = 0; i < n; i++) {
+					if (random.nextBoolean()) {
+						BitSetUtils.set(subset, i);
+						strings.add(seqs[i]);
+					}
+				}
+				for (CompactSuffixTree tree : new CompactSuffixTree[] {hashed, direct}) {
+					List<String> lcs = tree.getLCS(subset);
+					if (strings.isEmpty()) {
+						assertTrue(lcs.isEmpty());
+					} else if (strings.size() == 1) {
+						assertEquals(lcs.get(0), strings.get(0));
+					} else {
+						assertEquals(new TreeSet<String>(lcs), GeneralizedSuffixTreeTest.bruteForceLCS(strings));
+						assertEquals(lcs.size(), new TreeSet<String>(lcs).size());
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testGetStringContains() {
+		Random random = new Random(9);
+		String[] seqs = new String[10];
+		for (int i = 0; i < seqs.length; i++) {
+			seqs[i] = GeneralizedSuffixTreeTest.randomString(random, 5 + random.nextInt(15), "flns");
+		}
+		CompactSuffixTree tree = new CompactSuffixTree(seqs, "flns");
+		for (int t = 0; t < 100; t++) {
+			String pattern = GeneralizedSuffixTreeTest.randomString(random, random.nextInt(5), "flnst");
+			List<String> expected = new ArrayList<String>();
+			for (String s : seqs) {
+				if (s.indexOf(pattern) >= 0) {
+					expected.add(s);
+				}
+			}
+			assertEquals(tree.getStringContains(pattern), expected);
+		}
+	}
+
+	@Test(timeout = 60000)
+	public void testLCSLarge() {
+		Random random = new Random(3);
+		String common = GeneralizedSuffixTreeTest.randomString(random, 50, "xyz");
+		String[] seqs = new String[3];
+		for (int i = 0; i < seqs.length; i++) {
+			String s = GeneralizedSuffixTreeTest.randomString(random, 100000, "flnst");
+			int k = random.nextInt(s.length());
+			seqs[i] = s.substring(0, k) + common + s.substring(k);
+		}
+		CompactSuffixTree tree = new CompactSuffixTree(seqs, "flnst");
+		assertEquals(new TreeSet<String>(tree.getLCS()), new TreeSet<String>(new GeneralizedSuffixTree(seqs).getLCS()));
+		assertTrue(tree.getLCS().contains(common));
+	}
+
+	@Test
+	public void testManyStrings() {
+		Random random = new Random(19);
+		String[] seqs = new String[20000];
+		for (int i = 0; i < seqs.length; i++) {
+			seqs[i] = GeneralizedSuffixTreeTest.randomString(random, 3, "ab") + "\ud900c"
+				+ GeneralizedSuffixTreeTest.randomString(random, 3, "ab");
+		}
+		for (CompactSuffixTree tree : new CompactSuffixTree[] {new CompactSuffixTree(seqs), new CompactSuffixTree(seqs, "abc")}) {
+			assertEquals(tree.getLCS(), java.util.Arrays.asList("\ud900c"));
+			assertEquals(tree.getStringContains("\ud900c").size(), seqs.length);
+		}
+	}
+
+	@Test
+	public void testAddString() {
+		Random random = new Random(20);
+		String[] seqs = new String[40];
+		for (int i = 0; i < seqs.length; i++) {
+			seqs[i] = GeneralizedSuffixTreeTest.randomString(random, random.nextInt(12), "flns");
+		}
+		for (CompactSuffixTree tree : new CompactSuffixTree[] {new CompactSuffixTree(new String[0]), new CompactSuffixTree(new String[0], "fl")}) {
+			for (int i = 0; i < seqs.length; i++) {
+				assertEquals(tree.addString(seqs[i]), i);
+				String[] prefix = java.util.Arrays.copyOf(seqs, i + 1);
+				CompactSuffixTree built = new CompactSuffixTree(prefix);
+				assertEquals(tree.getNumberOfStrings(), i + 1);
+				assertEquals(tree.sizeNodes(), built.sizeNodes());
+				long[] subset = BitSetUtils.empty(i + 1);
+				for (int j = 0; j <= i; j++) {
+					if (random.nextBoolean()) {
+						BitSetUtils.set(subset, j);
+					}
+				}
+				assertEquals(new TreeSet<String>(tree.getLCS(subset)), new TreeSet<String>(built.getLCS(subset)));
+				String pattern = GeneralizedSuffixTreeTest.randomString(random, random.nextInt(3), "flns");
+				assertArrayEquals(tree.getStringIds(pattern), built.getStringIds(pattern));
+			}
+		}
+	}
+}
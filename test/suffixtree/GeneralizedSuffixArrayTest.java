@@ -0,0 +1,123 @@
+package suffixtree;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import utils.BitSetUtils;
+
+public class GeneralizedSuffixArrayTest {
+
+	@Test
+	public void testLCS() {
+		String[] seqs = new String[] {"drdrgaargf", "drgadrgdrf"};
+		List<String> lcs = new GeneralizedSuffixArray(seqs).getLCS();
+		assertTrue(lcs.contains("drga"));
+		assertTrue(!lcs.contains("ga"));
+		assertTrue(lcs.contains("f"));
+		assertEquals(new GeneralizedSuffixArray(new String[] {"ab", "cd"}).getLCS().get(0), "");
+	}
+
+	@Test
+	public void testSuffixArray() {
+		Random random = new Random(1);
+		for (int t = 0; t < 20; t++) {
+			String[] seqs = new String[1 + random.nextInt(5)];
+			for (int i = 0; i < seqs.length; i++) {
+				seqs[i] = GeneralizedSuffixTreeTest.randomString(random, random.nextInt(30), "ab");
+			}
+			GeneralizedSuffixArray array = new GeneralizedSuffixArray(seqs);
+			int[] sa = array.getSuffixArray();
+			int[] lcp = array.getLcp();
+			// suffixes are compared by their symbols, the sentinel of Si being lower than the characters
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < seqs.length; i++) {
+				sb.append(seqs[i]).append((char) (i + 1));
+			}
+			String text = sb.toString();
+			assertEquals(sa.length, text.length());
+			for (int i = 1; i < sa.length; i++) {
+				String previous = text.substring(sa[i - 1]);
+				String current = text.substring(sa[i]);
+				assertTrue(previous.compareTo(current) < 0);
+				int h = 0;
+				while (h < current.length() && h < previous.length() && current.charAt(h) == previous.charAt(h)) {
+					h++;
+				}
+				assertEquals(lcp[i], h);
+			}
+		}
+	}
+
+	@Test
+	public void testLCSSubset() {
+		Random random = new Random(13);
+		for (int t = 0; t < 30; t++) {
+			int n = 1 + random.nextInt(8);
+			String[] seqs = new String[n];
+			for (int i = 0; i < n; i++) {
+				seqs[i] = GeneralizedSuffixTreeTest.randomString(random, random.nextInt(25), "flnst");
+			}
+			GeneralizedSuffixArray array = new GeneralizedSuffixArray(seqs);
+			for (int q = 0; q < 10; q++) {
+				long[] subset = BitSetUtils.empty(n);
+				List<String> strings = new ArrayList<String>();
+				for (int i = 0; i < n; i++) {
+					if (random.nextBoolean()) {
+						BitSetUtils.set(subset, i);
+						strings.add(seqs[i]);
+					}
+				}
+				List<String> lcs = array.getLCS(subset);
+				if (strings.isEmpty()) {
+					assertTrue(lcs.isEmpty());
+				} else if (strings.size() == 1) {
+					assertEquals(lcs.get(0), strings.get(0));
+				} else {
+					assertEquals(new TreeSet<String>(lcs), GeneralizedSuffixTreeTest.bruteForceLCS(strings));
+					assertEquals(lcs.size(), new TreeSet<String>(lcs).size());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testGetStringContains() {
+		Random random = new Random(17);
+		String[] seqs = new String[10];
+		for (int i = 0; i < seqs.length; i++) {
+			seqs[i] = GeneralizedSuffixTreeTest.randomString(random, 5 + random.nextInt(15), "flns");
+		}
+		SubstringIndex index = new GeneralizedSuffixArray(seqs);
+		for (int t = 0; t < 100; t++) {
+			String pattern = GeneralizedSuffixTreeTest.randomString(random, random.nextInt(5), "flnst");
+			List<String> expected = new ArrayList<String>();
+			for (String s : seqs) {
+				if (s.indexOf(pattern) >= 0) {
+					expected.add(s);
+				}
+			}
+			assertEquals(index.getStringContains(pattern), expected);
+		}
+	}
+
+	@Test(timeout = 60000)
+	public void testLCSLarge() {
+		Random random = new Random(3);
+		String common = GeneralizedSuffixTreeTest.randomString(random, 50, "xyz");
+		String[] seqs = new String[3];
+		for (int i = 0; i < seqs.length; i++) {
+			String s = GeneralizedSuffixTreeTest.randomString(random, 100000, "flnst");
+			int k = random.nextInt(s.length());
+			seqs[i] = s.substring(0, k) + common + s.substring(k);
+		}
+		SubstringIndex index = new GeneralizedSuffixArray(seqs);
+		assertEquals(new TreeSet<String>(index.getLCS()), new TreeSet<String>(new CompactSuffixTree(seqs).getLCS()));
+		assertTrue(index.getLCS().contains(common));
+	}
+}
@@ -2,10 +2,15 @@ package suffixtree;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
 
 import org.junit.Test;
 
+import utils.BitSetUtils;
+
 public class GeneralizedSuffixTreeTest {
 
 	@Test
@@ -18,4 +23,177 @@ public class GeneralizedSuffixTreeTest {
 		assertTrue(lcs.contains("f"));
 	}
 
+	@SuppressWarnings("deprecation")
+	@Test
+	public void testSetText() {
+		GeneralizedSuffixTree gst = new GeneralizedSuffixTree(new String[] {"abc", "bcd"});
+		gst.setText("xbcx");
+		gst.buildTree();
+		assertEquals(gst.getStringContains("bc"), new GeneralizedSuffixTree("xbcx").getStringContains("bc"));
+		assertEquals(gst.getStringContains("xb").size(), 1);
+		assertEquals(gst.getStringContains("cd").size(), 0);
+	}
+
+	/**
+	 * Computes the maximal common substrings of the specified strings by brute force.
+	 */
+	static TreeSet<String> bruteForceLCS(List<String> strings) {
+		TreeSet<String> common = new TreeSet<String>();
+		String first = strings.get(0);
+		for (int i = 0; i < first.length(); i++) {
+			for (int j = i + 1; j <= first.length(); j++) {
+				String sub = first.substring(i, j);
+				boolean all = true;
+				for (String s : strings) {
+					all = all && s.indexOf(sub) >= 0;
+				}
+				if (all) {
+					common.add(sub);
+				}
+			}
+		}
+		TreeSet<String> maximal = new TreeSet<String>();
+		for (String sub : common) {
+			boolean isMaximal = true;
+			for (String other : common) {
+				if (other.length() > sub.length() && other.indexOf(sub) >= 0) {
+					isMaximal = false;
+				}
+			}
+			if (isMaximal) {
+				maximal.add(sub);
+			}
+		}
+		if (maximal.isEmpty()) {
+			maximal.add("");
+		}
+		return maximal;
+	}
+
+	@Test
+	public void testLCSSubset() {
+		Random random = new Random(7);
+		String[] seqs = new String[8];
+		for (int i = 0; i < seqs.length; i++) {
+			StringBuilder sb = new StringBuilder();
+			int length = 5 + random.nextInt(20);
+			for (int j = 0; j < length; j++) {
+				sb.append("fln".charAt(random.nextInt(3)));
+			}
+			seqs[i] = sb.toString();
+		}
+		GeneralizedSuffixTree gst = new GeneralizedSuffixTree(seqs);
+		for (int t = 0; t < 50; t++) {
+			long[] subset = BitSetUtils.empty(seqs.length);
+			List<String> strings = new ArrayList<String>();
+			for (int i = 0; i < seqs.length; i++) {
+				if (random.nextInt(3) == 0) {
+					BitSetUtils.set(subset, i);
+					strings.add(seqs[i]);
+				}
+			}
+			List<String> lcs = gst.getLCS(subset);
+			if (strings.isEmpty()) {
+				assertTrue(lcs.isEmpty());
+			} else {
+				assertEquals(new TreeSet<String>(lcs), bruteForceLCS(strings));
+				assertEquals(lcs.size(), new TreeSet<String>(lcs).size());
+			}
+		}
+	}
+
+	/**
+	 * Returns a random string of the specified length over the specified alphabet.
+	 */
+	static String randomString(Random random, int length, String alphabet) {
+		StringBuilder sb = new StringBuilder();
+		for (int j = 0; j < length; j++) {
+			sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return sb.toString();
+	}
+
+	@Test
+	public void testLCSAll() {
+		Random random = new Random(11);
+		for (int t = 0; t < 50; t++) {
+			List<String> strings = new ArrayList<String>();
+			int n = 2 + random.nextInt(5);
+			for (int i = 0; i < n; i++) {
+				strings.add(randomString(random, 1 + random.nextInt(20), "abcd"));
+			}
+			GeneralizedSuffixTree gst = new GeneralizedSuffixTree(strings.toArray(new String[n]));
+			List<String> lcs = gst.getLCS();
+			assertEquals(new TreeSet<String>(lcs), bruteForceLCS(strings));
+			assertEquals(lcs.size(), new TreeSet<String>(lcs).size());
+			// a second call gives the same result
+			assertEquals(lcs, gst.getLCS());
+		}
+	}
+
+	/**
+	 * Regression benchmark: the common substrings of sequences of length 1k to 100k
+	 * are computed in linear time.
+	 */
+	@Test(timeout = 60000)
+	public void testLCSLarge() {
+		Random random = new Random(3);
+		for (int length = 1000; length <= 100000; length *= 10) {
+			String common = randomString(random, 50, "xyz");
+			String[] seqs = new String[3];
+			for (int i = 0; i < seqs.length; i++) {
+				String s = randomString(random, length, "abcdefgh");
+				int k = random.nextInt(length);
+				seqs[i] = s.substring(0, k) + common + s.substring(k);
+			}
+			GeneralizedSuffixTree gst = new GeneralizedSuffixTree(seqs);
+			List<String> lcs = gst.getLCS();
+			assertTrue(lcs.contains(common));
+		}
+	}
+
+	/**
+	 * Terminators do not collide with the characters of the strings, whatever their number is.
+	 */
+	@Test
+	public void testManyStrings() {
+		Random random = new Random(19);
+		String[] seqs = new String[20000];
+		for (int i = 0; i < seqs.length; i++) {
+			seqs[i] = randomString(random, 3, "ab") + "\ud900c" + randomString(random, 3, "ab");
+		}
+		GeneralizedSuffixTree gst = new GeneralizedSuffixTree(seqs);
+		assertEquals(gst.getSymbolText().getNumberOfStrings(), seqs.length);
+		assertEquals(gst.getLCS(), java.util.Arrays.asList("\ud900c"));
+		long[] subset = BitSetUtils.empty(seqs.length);
+		BitSetUtils.set(subset, 300);
+		BitSetUtils.set(subset, 19999);
+		List<String> strings = new ArrayList<String>();
+		strings.add(seqs[300]);
+		strings.add(seqs[19999]);
+		assertEquals(new TreeSet<String>(gst.getLCS(subset)), bruteForceLCS(strings));
+	}
+
+	@Test
+	public void testGetStringIds() {
+		Random random = new Random(23);
+		String[] seqs = new String[12];
+		for (int i = 0; i < seqs.length; i++) {
+			seqs[i] = randomString(random, 3 + random.nextInt(15), "flns");
+		}
+		SubstringIndex[] indexes = new SubstringIndex[] {new GeneralizedSuffixTree(seqs),
+			new CompactSuffixTree(seqs), new GeneralizedSuffixArray(seqs)};
+		for (int t = 0; t < 100; t++) {
+			String pattern = randomString(random, random.nextInt(5), "flnst");
+			long[] expected = BitSetUtils.empty(seqs.length);
+			for (int i = 0; i < seqs.length; i++) {
+				if (seqs[i].indexOf(pattern) >= 0) {
+					BitSetUtils.set(expected, i);
+				}
+			}
+			for (SubstringIndex index : indexes) {
+				assertArrayEquals(index.getStringIds(pattern), expected);
+			}
+		}
+	}
 }
@@ -0,0 +1,67 @@
+package suffixtree;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class RmqLowestCommonAncestorTest {
+
+	/**
+	 * Returns the lca of two nodes by climbing the parents.
+	 */
+	private static int naiveLca(int[] parent, int[] depth, int u, int v) {
+		while (depth[u] > depth[v]) {
+			u = parent[u];
+		}
+		while (depth[v] > depth[u]) {
+			v = parent[v];
+		}
+		while (u != v) {
+			u = parent[u];
+			v = parent[v];
+		}
+		return u;
+	}
+
+	@Test
+	public void testLca() {
+		Random random = new Random(29);
+		for (int n : new int[] {1, 2, 10, 63, 64, 65, 500, 5000}) {
+			// random tree whose root is a random node
+			int[] permutation = new int[n];
+			for (int i = 0; i < n; i++) {
+				int j = random.nextInt(i + 1);
+				permutation[i] = permutation[j];
+				permutation[j] = i;
+			}
+			int[] parent = new int[n];
+			int[] depth = new int[n];
+			parent[permutation[0]] = -1;
+			for (int i = 1; i < n; i++) {
+				// deep trees are built by choosing mostly the previous node
+				int p = random.nextInt(4) == 0 ? permutation[random.nextInt(i)] : permutation[i - 1];
+				parent[permutation[i]] = p;
+				depth[permutation[i]] = depth[p] + 1;
+			}
+			RmqLowestCommonAncestor lca = new RmqLowestCommonAncestor(parent);
+			int queries = 1000;
+			int[] a = new int[queries];
+			int[] b = new int[queries];
+			int[] out = new int[queries];
+			for (int q = 0; q < queries; q++) {
+				a[q] = random.nextInt(n);
+				b[q] = random.nextInt(n);
+			}
+			lca.getLca(a, b, out);
+			for (int q = 0; q < queries; q++) {
+				assertEquals(out[q], naiveLca(parent, depth, a[q], b[q]));
+				assertEquals(lca.getLca(b[q], a[q]), out[q]);
+			}
+			for (int u = 0; u < n; u++) {
+				assertEquals(lca.getDepth(u), depth[u]);
+			}
+		}
+	}
+}
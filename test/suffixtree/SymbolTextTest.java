@@ -0,0 +1,40 @@
+package suffixtree;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class SymbolTextTest {
+
+	@Test
+	public void testSymbols() {
+		SymbolText text = new SymbolText(new String[] {"ab", "", "c"});
+		assertEquals(text.length(), 6);
+		assertEquals(text.getNumberOfStrings(), 3);
+		assertEquals(text.symbolAt(0), 'a');
+		assertEquals(text.symbolAt(2), SymbolText.TERMINATOR_BEGIN);
+		assertEquals(text.symbolAt(3), SymbolText.TERMINATOR_BEGIN + 1);
+		assertTrue(text.isTerminator(5));
+		assertFalse(text.isTerminator(4));
+		assertEquals(text.getLimit(1), 4);
+		assertEquals(text.getStringId(0), 0);
+		assertEquals(text.getStringId(2), 0);
+		assertEquals(text.getStringId(3), 1);
+		assertEquals(text.getStringId(5), 2);
+		assertEquals(text.toString(), "ab$$c$");
+		assertEquals(text.substring(4, 5), "c");
+	}
+
+	@Test
+	public void testAppend() {
+		SymbolText text = new SymbolText(new String[0]);
+		assertEquals(text.append("ab"), 0);
+		assertEquals(text.append(""), 1);
+		assertEquals(text.append("c"), 2);
+		assertEquals(text.length(), 6);
+		assertEquals(text.getNumberOfStrings(), 3);
+		assertEquals(text.getStringId(3), 1);
+		assertEquals(text.getStringId(5), 2);
+		assertEquals(text.toString(), "ab$$c$");
+	}
+}